@@ -0,0 +1,33 @@
+-- Migration from IDENTITY columns to pooled sequences (PostgreSQL)
+-- Run this once against an existing database BEFORE starting the new backend version.
+--
+-- Entities now take their ids from "<table>_seq" sequences with INCREMENT BY 50
+-- (Hibernate pooled optimizer). The optimizer treats the value returned by nextval
+-- as the upper bound of a block of 50 ids, so every sequence is positioned at
+-- MAX(id) + 50: the first block handed out starts right after the existing rows.
+-- Existing identity/serial columns stay as they are; Hibernate now supplies the id.
+
+CREATE SEQUENCE IF NOT EXISTS universities_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS clubs_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS events_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS attendance_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS notification_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS promotion_requests_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS password_reset_tokens_seq INCREMENT BY 50;
+
+SELECT setval('universities_seq', COALESCE((SELECT MAX(id) FROM universities), 0) + 50, false);
+SELECT setval('clubs_seq', COALESCE((SELECT MAX(id) FROM clubs), 0) + 50, false);
+SELECT setval('events_seq', COALESCE((SELECT MAX(id) FROM events), 0) + 50, false);
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+SELECT setval('attendance_seq', COALESCE((SELECT MAX(id) FROM attendance), 0) + 50, false);
+SELECT setval('notification_seq', COALESCE((SELECT MAX(id) FROM notification), 0) + 50, false);
+SELECT setval('promotion_requests_seq', COALESCE((SELECT MAX(id) FROM promotion_requests), 0) + 50, false);
+SELECT setval('password_reset_tokens_seq', COALESCE((SELECT MAX(id) FROM password_reset_tokens), 0) + 50, false);
+
+-- Verify: next block must start above the current maximum id
+SELECT 'events' AS table_name, (SELECT MAX(id) FROM events) AS max_id, last_value FROM events_seq;
+
+-- Optional: drop the now unused identity defaults
+-- ALTER TABLE events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+-- (repeat for the other tables)
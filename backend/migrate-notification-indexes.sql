@@ -0,0 +1,9 @@
+-- Notification inbox indexes (PostgreSQL)
+-- Keyset pagination reads (user_id, created_at DESC, id DESC); the unread badge counts (user_id, read_flag).
+-- CONCURRENTLY avoids locking the table while the indexes are built; run outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notification_user_created ON notification (user_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notification_user_unread ON notification (user_id, read_flag);
+
+-- Replaced by idx_notification_user_created: pooled sequence ids are not chronological across nodes
+DROP INDEX CONCURRENTLY IF EXISTS idx_notification_user_id;
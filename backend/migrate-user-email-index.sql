@@ -0,0 +1,6 @@
+-- Admin user directory e-mail filter (PostgreSQL)
+-- findDirectoryPage matches LOWER(email) LIKE 'prefix%'; text_pattern_ops lets the prefix use the index
+-- under any collation. ddl-auto cannot declare expression indexes.
+-- CONCURRENTLY avoids locking the table while the index is built; run outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_lower ON users (lower(email) text_pattern_ops);
@@ -0,0 +1,37 @@
+package com.etuni.config;
+
+import com.etuni.service.InvalidationTransport;
+import com.etuni.service.PostgresNotifyTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transport of the cluster cache invalidation bus.
+ * etuni.cacheBus.transport is "postgres", "none" or "auto" (default): auto uses
+ * LISTEN/NOTIFY when the datasource is PostgreSQL and nothing otherwise (H2 in
+ * local runs, where there is only one node anyway).
+ */
+@Configuration
+public class CacheBusConfig {
+
+    @Bean
+    public InvalidationTransport invalidationTransport(DataSourceProperties properties,
+            @Value("${etuni.cacheBus.transport:auto}") String transport,
+            @Value("${etuni.cacheBus.channel:etuni_cache}") String channel,
+            @Value("${etuni.cacheBus.pollMs:5000}") int pollMs) {
+        String url = properties.determineUrl();
+        boolean postgres = switch (transport) {
+            case "postgres" -> true;
+            case "none" -> false;
+            case "auto" -> url != null && url.startsWith("jdbc:postgresql:");
+            default -> throw new IllegalArgumentException("Unknown etuni.cacheBus.transport: " + transport);
+        };
+        if (!postgres) {
+            return InvalidationTransport.none();
+        }
+        return new PostgresNotifyTransport(url, properties.determineUsername(),
+                properties.determinePassword(), channel, pollMs);
+    }
+}
@@ -2,6 +2,7 @@ package com.etuni.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +10,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -24,10 +26,12 @@ public class CacheConfig {
 
     /**
      * Caffeine cache manager with default configuration.
-     * Caches expire after 10 minutes, with max 1000 entries.
+     * Caches expire after etuni.cache.ttlMinutes (1 hour), with max 1000 entries.
+     * Writes on other nodes evict through CacheInvalidationBus, so the TTL only
+     * bounds memory and writes that bypass the services.
      */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(@Value("${etuni.cache.ttlMinutes:60}") long ttlMinutes) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(
                 "events",
                 "universities",
@@ -35,7 +39,7 @@ public class CacheConfig {
                 "recommendations",
                 "analytics");
         cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
                 .maximumSize(1000)
                 .recordStats());
         return cacheManager;
@@ -54,4 +58,17 @@ public class CacheConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Scheduler for @Scheduled jobs. More than one thread so that a slow SMTP
+     * batch in the email dispatcher does not delay other jobs.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.setThreadNamePrefix("etuni-scheduled-");
+        scheduler.initialize();
+        return scheduler;
+    }
 }
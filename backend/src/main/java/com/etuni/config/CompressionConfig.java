@@ -0,0 +1,35 @@
+package com.etuni.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * gzip response compression for JSON APIs and static text assets.
+ * text/event-stream is deliberately not listed: compressed SSE frames would be
+ * buffered by the deflater instead of reaching the client immediately.
+ */
+@Configuration
+public class CompressionConfig {
+
+    @Value("${etuni.compression.minResponseSize:1KB}")
+    private DataSize minResponseSize;
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer() {
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(true);
+            compression.setMimeTypes(new String[] {
+                    "application/json", "text/html", "text/css", "text/plain",
+                    "application/javascript", "text/javascript", "image/svg+xml",
+                    "text/csv", "application/x-ndjson" });
+            compression.setMinResponseSize(minResponseSize);
+            factory.setCompression(compression);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.etuni.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dashboard section loading.
+ * Each section is one read query; the pool bounds how many of them run at once
+ * so that a burst of dashboard views cannot take every database connection.
+ * Keep maxThreads below the datasource pool size.
+ */
+@Configuration
+public class DashboardConfig {
+
+    @Value("${etuni.dashboard.maxThreads:8}")
+    private int maxThreads;
+
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxThreads);
+        executor.setMaxPoolSize(maxThreads);
+        // Full queue: the section runs on the request thread instead
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("etuni-dashboard-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.etuni.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC batching configuration.
+ * Entity ids come from pooled sequences (allocationSize = 50), so Hibernate can
+ * group inserts and updates into JDBC batches of the same size.
+ * On PostgreSQL, add reWriteBatchedInserts=true to the JDBC URL so the driver
+ * turns each batch into multi-row INSERT statements.
+ */
+@Configuration
+public class HibernateBatchConfig {
+
+    @Value("${etuni.jpa.batchSize:50}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+            properties.put("hibernate.order_inserts", "true");
+            properties.put("hibernate.order_updates", "true");
+            properties.put("hibernate.jdbc.batch_versioned_data", "true");
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.etuni.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache configuration.
+ * Reference entities (University, Club) and their lookup queries are cached in
+ * JCache regions backed by Caffeine. Region sizes live in application.conf.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", "true");
+            properties.put("hibernate.cache.use_query_cache", "true");
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.provider",
+                    "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+            // Regions not listed in application.conf fall back to the default settings
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+        };
+    }
+}
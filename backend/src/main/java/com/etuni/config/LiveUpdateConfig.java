@@ -0,0 +1,51 @@
+package com.etuni.config;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Live update (SSE) channel configuration.
+ * Idle SSE connections are parked by Tomcat's NIO connector and hold no request
+ * thread, so the connection limit is raised above Tomcat's default of 8192.
+ * The OS file descriptor limit (ulimit -n) must be raised accordingly.
+ */
+@Configuration
+public class LiveUpdateConfig {
+
+    @Value("${etuni.live.maxConnections:20000}")
+    private int maxLiveConnections;
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> liveConnectionLimitCustomizer() {
+        // Live streams on top of regular request traffic
+        int limit = maxLiveConnections + 2000;
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol) {
+                protocol.setMaxConnections(limit);
+            }
+        });
+    }
+
+    /**
+     * Writes SSE frames to clients. Kept apart from taskExecutor so that a burst
+     * of pushes never delays emails or other background work.
+     */
+    @Bean(name = "liveUpdateExecutor")
+    public Executor liveUpdateExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        // Each subscriber has at most one pending drain task
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("etuni-live-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,48 @@
+package com.etuni.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Outbound payment gateway calls.
+ * A dedicated bounded pool: a slow gateway can tie up at most these threads
+ * instead of request threads, and a full queue fails fast.
+ */
+@Configuration
+public class PaymentGatewayConfig {
+
+    @Value("${iyzico.maxConcurrentCalls:16}")
+    private int maxConcurrentCalls;
+
+    @Bean(name = "paymentGatewayExecutor")
+    public Executor paymentGatewayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentCalls);
+        executor.setMaxPoolSize(maxConcurrentCalls);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("etuni-payment-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs PaymentCallbackProcessor right after a callback arrives. Extra kicks
+     * are dropped: one drain covers every pending row, and the scheduled poll
+     * picks up anything missed.
+     */
+    @Bean(name = "paymentCallbackExecutor")
+    public Executor paymentCallbackExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("etuni-payment-callback-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,6 +1,8 @@
 package com.etuni.config;
 
 import com.etuni.security.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,9 +25,10 @@ public class SecurityConfig {
     this.jwtAuthFilter = jwtAuthFilter;
   }
 
+  // Maliyet değişirse eski hash'ler başarılı girişte yükseltilir (PasswordHashingService)
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(@Value("${etuni.password.bcryptStrength:10}") int strength) {
+    return new BCryptPasswordEncoder(strength);
   }
 
   @Bean
@@ -46,12 +49,16 @@ public class SecurityConfig {
         }))
         .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
+            // SSE stream'leri async dispatch ile tamamlanır; kimlik ilk istekte doğrulanmıştır
+            .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
             .requestMatchers("/api/health", "/api/auth/**", "/", "/index.html", "/css/**", "/js/**", "/images/**",
                 "/favicon.ico", "/error", "/events", "/events/**", "/login", "/register", "/api/chat/**",
-                "/api/universities", "/api/attendance/*/qr",
+                "/api/universities", "/api/attendance/*/qr", "/api/events/calendar",
                 "/api/universities/**",
+                // Durum probları (load balancer, izleme) token göndermez
+                "/api/health/**",
                 "/forgot-password", "/reset-password",
-                "/api/payments/callback", "/mock-payment") // <--- ALLOW THESE
+                "/api/payments/callback", "/api/payments/callback/*/status", "/mock-payment") // <--- ALLOW THESE
             .permitAll()
             .requestMatchers("/dashboard", "/dashboard/**", "/profile", "/profile/**")
             .authenticated()
@@ -9,6 +9,7 @@ import com.etuni.repository.UserRepository;
 import com.etuni.service.AuthService;
 import com.etuni.service.EventService;
 import com.etuni.service.NotificationService;
+import com.etuni.service.UserProfileService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,14 +29,17 @@ public class AdminController {
     private final NotificationService notificationService;
     private final AuthService authService;
     private final EventService eventService;
+    private final UserProfileService userProfileService;
 
     public AdminController(UserRepository userRepository, UniversityRepository universityRepository,
-            NotificationService notificationService, AuthService authService, EventService eventService) {
+            NotificationService notificationService, AuthService authService, EventService eventService,
+            UserProfileService userProfileService) {
         this.userRepository = userRepository;
         this.universityRepository = universityRepository;
         this.notificationService = notificationService;
         this.authService = authService;
         this.eventService = eventService;
+        this.userProfileService = userProfileService;
     }
 
     @PostMapping("/add-staff")
@@ -56,17 +60,16 @@ public class AdminController {
 
     @PostMapping("/create-and-assign")
     @PreAuthorize("hasRole('ADMIN')")
-    @Transactional
     public ApiResponse<String> createAndAssign(@RequestParam("fullName") String fullName,
             @RequestParam("email") String email,
             @RequestParam("password") String password,
             @RequestParam("universityId") Long universityId) {
-        // Use AuthService to register the user with role UNIVERSITY_STAFF
+        // Use AuthService to register the user with role UNIVERSITY_STAFF; the password is hashed
+        // first, then the user and the assignment notification are written in one transaction
         var req = new com.etuni.dto.AuthDtos.RegisterRequest(fullName, email, password, universityId,
                 "UNIVERSITY_STAFF");
-        var res = authService.register(req);
-        Long newUserId = res.user().id();
-        notificationService.createForUser(newUserId, "Üniversite Sorumlusu Ataması", "Siz artık atandınız.");
+        authService.register(req, user -> notificationService.createForUser(user.getId(),
+                "Üniversite Sorumlusu Ataması", "Siz artık atandınız."));
         return ApiResponse.ok("OK", "User created and assigned");
     }
 
@@ -95,6 +98,22 @@ public class AdminController {
         return ApiResponse.ok("OK", list);
     }
 
+    /**
+     * Kullanıcı rehberi: role/status/universityId/email (önek) filtreleri ve
+     * keyset sayfalama. Sonraki sayfa için yanıttaki nextCursor after olarak verilir.
+     */
+    @GetMapping("/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResponse<UserDirectoryPage> listUsers(
+            @RequestParam(value = "role", required = false) String role,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "universityId", required = false) Long universityId,
+            @RequestParam(value = "email", required = false) String email,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ApiResponse.ok("OK", userProfileService.findUsers(role, status, universityId, email, after, size));
+    }
+
     @PostMapping("/assign-events")
     @PreAuthorize("hasRole('ADMIN')")
     @Transactional
@@ -115,13 +134,14 @@ public class AdminController {
             UserEntity user = userRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("USER_NOT_FOUND"));
 
-            // Check email uniqueness if email is being changed
-            if (request.email() != null && !request.email().equals(user.getEmail())) {
-                if (userRepository.findByEmail(request.email()).isPresent()) {
-                    log.warn("Email already exists: {}", request.email());
+            // Check email uniqueness if email is being changed; stored lower-case like register and login
+            String email = request.email() == null ? null : request.email().trim().toLowerCase();
+            if (email != null && !email.equals(user.getEmail())) {
+                if (userRepository.findByEmail(email).isPresent()) {
+                    log.warn("Email already exists: {}", email);
                     throw new RuntimeException("EMAIL_ALREADY_EXISTS");
                 }
-                user.setEmail(request.email());
+                user.setEmail(email);
             }
 
             // Update full name if provided
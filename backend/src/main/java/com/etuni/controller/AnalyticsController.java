@@ -3,6 +3,9 @@ package com.etuni.controller;
 import com.etuni.dto.AnalyticsDtos.*;
 import com.etuni.dto.AuthDtos.ApiResponse;
 import com.etuni.service.AnalyticsService;
+import com.etuni.service.RevenueService;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,9 +14,11 @@ import org.springframework.web.bind.annotation.*;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final RevenueService revenueService;
 
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService, RevenueService revenueService) {
         this.analyticsService = analyticsService;
+        this.revenueService = revenueService;
     }
 
     @GetMapping("/events/{eventId}")
@@ -43,7 +48,36 @@ public class AnalyticsController {
 
     @GetMapping("/top-events")
     public ApiResponse<TopEventsResponse> getTopEvents(
-            @RequestParam(name = "period", defaultValue = "month") String period) {
-        return ApiResponse.ok("OK", analyticsService.getTopEvents(period));
+            @RequestParam(name = "period", defaultValue = "month") String period,
+            @RequestParam(name = "universityId", required = false) Long universityId) {
+        return ApiResponse.ok("OK", analyticsService.getTopEvents(period, universityId));
+    }
+
+    // Gelir raporları; from/to verilmezse tüm dönem
+    @GetMapping("/revenue/universities/{universityId}")
+    @PreAuthorize("hasAnyRole('ADMIN','UNIVERSITY_STAFF')")
+    public ApiResponse<RevenueReport> getUniversityRevenue(
+            @PathVariable("universityId") Long universityId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ApiResponse.ok("OK", revenueService.universityReport(universityId, from, to));
+    }
+
+    @GetMapping("/revenue/clubs/{clubId}")
+    @PreAuthorize("hasAnyRole('ORGANIZER','ADMIN','UNIVERSITY_STAFF')")
+    public ApiResponse<RevenueReport> getClubRevenue(
+            @PathVariable("clubId") Long clubId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ApiResponse.ok("OK", revenueService.clubReport(clubId, from, to));
+    }
+
+    @GetMapping("/revenue/events/{eventId}")
+    @PreAuthorize("hasAnyRole('ORGANIZER','ADMIN','UNIVERSITY_STAFF')")
+    public ApiResponse<RevenueReport> getEventRevenue(
+            @PathVariable("eventId") Long eventId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ApiResponse.ok("OK", revenueService.eventReport(eventId, from, to));
     }
 }
@@ -3,19 +3,23 @@ package com.etuni.controller;
 import com.etuni.dto.AuthDtos.ApiResponse;
 import com.etuni.dto.ClubDtos.*;
 import com.etuni.service.ClubService;
+import com.etuni.service.ResourceVersionService;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/clubs")
 public class ClubController {
 
     private final ClubService clubService;
+    private final ResourceVersionService versions;
 
-    public ClubController(ClubService clubService) {
+    public ClubController(ClubService clubService, ResourceVersionService versions) {
         this.clubService = clubService;
+        this.versions = versions;
     }
 
     @PostMapping
@@ -31,7 +35,11 @@ public class ClubController {
     }
 
     @GetMapping("/university/{universityId}")
-    public ApiResponse<List<ClubResponse>> listByUniversity(@PathVariable("universityId") Long universityId) {
+    public ApiResponse<List<ClubResponse>> listByUniversity(@PathVariable("universityId") Long universityId,
+            WebRequest request) {
+        if (versions.checkNotModified(request, ResourceVersionService.clubsOf(universityId))) {
+            return null;
+        }
         return ApiResponse.ok("OK", clubService.listByUniversity(universityId));
     }
 
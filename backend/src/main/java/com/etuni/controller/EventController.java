@@ -2,11 +2,23 @@ package com.etuni.controller;
 
 import com.etuni.dto.AuthDtos.ApiResponse;
 import com.etuni.dto.EventDtos.*;
+import com.etuni.exception.ValidationException;
+import com.etuni.service.AttendeeExportService;
+import com.etuni.service.EventCalendarService;
+import com.etuni.service.EventGeoService;
 import com.etuni.service.EventService;
+import com.etuni.service.JsonResponseCache;
+import com.etuni.service.ResourceVersionService;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/events")
@@ -15,13 +27,75 @@ public class EventController {
   private final EventService eventService;
   private final com.etuni.service.RecommendationService recommendationService;
   private final com.etuni.service.UserProfileService userProfileService;
+  private final EventGeoService geoService;
+  private final ResourceVersionService versions;
+  private final JsonResponseCache responseCache;
+  private final AttendeeExportService attendeeExport;
+  private final EventCalendarService eventCalendar;
 
   public EventController(EventService eventService,
       com.etuni.service.RecommendationService recommendationService,
-      com.etuni.service.UserProfileService userProfileService) {
+      com.etuni.service.UserProfileService userProfileService,
+      EventGeoService geoService,
+      ResourceVersionService versions,
+      JsonResponseCache responseCache,
+      AttendeeExportService attendeeExport,
+      EventCalendarService calendar) {
     this.eventService = eventService;
     this.recommendationService = recommendationService;
     this.userProfileService = userProfileService;
+    this.geoService = geoService;
+    this.versions = versions;
+    this.responseCache = responseCache;
+    this.attendeeExport = attendeeExport;
+    this.eventCalendar = calendar;
+  }
+
+  /**
+   * Harita sorgusu: minLat/minLng/maxLat/maxLng ile görünen alan veya
+   * lat/lng/radiusKm ile merkez + yarıçap. zoom verilirse düşük seviyelerde
+   * kümelenmiş sonuç döner.
+   */
+  @GetMapping("/geo")
+  public ApiResponse<GeoResult> geo(
+      @RequestParam(name = "minLat", required = false) Double minLat,
+      @RequestParam(name = "minLng", required = false) Double minLng,
+      @RequestParam(name = "maxLat", required = false) Double maxLat,
+      @RequestParam(name = "maxLng", required = false) Double maxLng,
+      @RequestParam(name = "lat", required = false) Double lat,
+      @RequestParam(name = "lng", required = false) Double lng,
+      @RequestParam(name = "radiusKm", required = false) Double radiusKm,
+      @RequestParam(name = "zoom", required = false) Integer zoom) {
+    if (minLat != null && minLng != null && maxLat != null && maxLng != null) {
+      return ApiResponse.ok("OK", geoService.withinBox(minLat, minLng, maxLat, maxLng, zoom));
+    }
+    if (lat != null && lng != null && radiusKm != null && radiusKm > 0) {
+      return ApiResponse.ok("OK", geoService.withinRadius(lat, lng, Math.min(radiusKm, 500), zoom));
+    }
+    throw new ValidationException("Görünen alan (minLat, minLng, maxLat, maxLng) veya merkez ve yarıçap (lat, lng, radiusKm) gerekli");
+  }
+
+  @GetMapping("/geo/nearby")
+  public ApiResponse<List<NearbyEvent>> nearby(
+      @RequestParam(name = "lat") double lat,
+      @RequestParam(name = "lng") double lng,
+      @RequestParam(name = "k", defaultValue = "10") int k,
+      @RequestParam(name = "maxKm", defaultValue = "50") double maxKm) {
+    return ApiResponse.ok("OK", geoService.nearest(lat, lng, Math.max(1, Math.min(k, 100)), maxKm));
+  }
+
+  /**
+   * Üniversitenin aktif etkinlik takvimi, gün gün. range: today, tomorrow,
+   * weekend, week; ya da from/to (ISO tarih, en fazla 92 gün). Bellek içi
+   * indeksten döner.
+   */
+  @GetMapping("/calendar")
+  public ApiResponse<CalendarResponse> calendar(
+      @RequestParam(name = "universityId") Long universityId,
+      @RequestParam(name = "range", required = false) String range,
+      @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ApiResponse.ok("OK", eventCalendar.calendar(universityId, range, from, to));
   }
 
   @GetMapping("/recommended")
@@ -67,15 +141,27 @@ public class EventController {
   }
 
   @GetMapping("/university/{universityId}")
-  public ApiResponse<List<EventResponse>> list(@PathVariable("universityId") Long universityId,
+  public ResponseEntity<?> list(@PathVariable("universityId") Long universityId,
       @RequestParam(name = "search", required = false) String search,
       @RequestParam(name = "clubId", required = false) Long clubId,
-      @RequestParam(name = "status", required = false) String status) {
+      @RequestParam(name = "status", required = false) String status,
+      WebRequest request) {
+    // İstemcideki kopya güncelse sorgu çalıştırılmadan 304 döner
+    var version = versions.current(ResourceVersionService.eventsOf(universityId));
+    if (versions.checkNotModified(request, version)) {
+      return null;
+    }
     // If no params, default to latest active
     if (search == null && clubId == null && status == null) {
-      return ApiResponse.ok("OK", eventService.listLatestByUniversity(universityId));
+      return responseCache.respond("events:" + universityId + ":latest", version, request,
+          () -> ApiResponse.ok("OK", eventService.listLatestByUniversity(universityId)));
     }
-    return ApiResponse.ok("OK", eventService.search(universityId, search, clubId, status));
+    // Sadece durum filtresi (mobil liste) hazır yanıttan döner; aramalar her seferinde çalışır
+    if (search == null && clubId == null && ("ACTIVE".equals(status) || "PASSIVE".equals(status))) {
+      return responseCache.respond("events:" + universityId + ":" + status, version, request,
+          () -> ApiResponse.ok("OK", eventService.search(universityId, null, null, status)));
+    }
+    return ResponseEntity.ok(ApiResponse.ok("OK", eventService.search(universityId, search, clubId, status)));
   }
 
   @GetMapping("/{id}/attendees")
@@ -89,9 +175,36 @@ public class EventController {
     return ApiResponse.ok("OK", resp);
   }
 
+  /**
+   * Katılımcı listesini CSV/NDJSON olarak akıtır; büyük etkinliklerde liste
+   * belleğe alınmaz. status ve verified isteğe bağlı filtrelerdir.
+   */
+  @GetMapping("/{id}/attendees/export")
+  @PreAuthorize("hasAnyRole('ORGANIZER','ADMIN','UNIVERSITY_STAFF')")
+  public ResponseEntity<StreamingResponseBody> exportAttendees(@PathVariable("id") Long id,
+      @RequestParam(name = "format", defaultValue = "csv") String format,
+      @RequestParam(name = "status", required = false) String status,
+      @RequestParam(name = "verified", required = false) Boolean verified) {
+    var fmt = AttendeeExportService.Format.parse(format);
+    // Akış başlamadan önce 404 dönebilmek için
+    eventService.get(id);
+    StreamingResponseBody body = out -> attendeeExport.write(id, fmt, status, verified, out);
+    return ResponseEntity.ok()
+        .contentType(fmt.mediaType)
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"event-" + id + "-attendees." + fmt.extension + "\"")
+        .body(body);
+  }
+
   @GetMapping("/{id}")
-  public ApiResponse<EventResponse> get(@PathVariable("id") Long id) {
-    return ApiResponse.ok("OK", eventService.get(id));
+  public ResponseEntity<?> get(@PathVariable("id") Long id, WebRequest request) {
+    // Etkinliğin üniversitesi sorgusuz bilinmediği için genel etkinlik sürümü kullanılır
+    var version = versions.current(ResourceVersionService.allEvents());
+    if (versions.checkNotModified(request, version)) {
+      return null;
+    }
+    return responseCache.respond("event:" + id, version, request,
+        () -> ApiResponse.ok("OK", eventService.get(id)));
   }
 
   @PostMapping("/{id}/cancel")
@@ -1,13 +1,26 @@
 package com.etuni.controller;
 
 import com.etuni.dto.AuthDtos.ApiResponse;
+import com.etuni.service.IyzicoGatewayClient;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/health")
 public class HealthController {
+  private final IyzicoGatewayClient iyzico;
+
+  public HealthController(IyzicoGatewayClient iyzico) {
+    this.iyzico = iyzico;
+  }
+
   @GetMapping
   public ApiResponse<String> ok() {
     return ApiResponse.ok("OK", "UP");
   }
+
+  /** Result of the last background iyzico probe and the circuit state; no remote call. */
+  @GetMapping("/payments")
+  public ApiResponse<IyzicoGatewayClient.Health> payments() {
+    return ApiResponse.ok("OK", iyzico.health());
+  }
 }
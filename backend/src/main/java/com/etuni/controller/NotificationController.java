@@ -1,22 +1,31 @@
 package com.etuni.controller;
 
+import com.etuni.dto.NotificationDtos.InboxPage;
+import com.etuni.dto.NotificationDtos.MarkReadRequest;
+import com.etuni.exception.UnauthorizedException;
 import com.etuni.model.Notification;
+import com.etuni.service.LiveUpdateService;
 import com.etuni.service.NotificationService;
 import com.etuni.dto.ApiResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final LiveUpdateService liveUpdateService;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, LiveUpdateService liveUpdateService) {
         this.notificationService = notificationService;
+        this.liveUpdateService = liveUpdateService;
     }
 
     @GetMapping
@@ -34,4 +43,79 @@ public class NotificationController {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
+
+    @GetMapping("/inbox")
+    public ResponseEntity<ApiResponse<InboxPage>> inbox(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(new ApiResponse<>(false, "Unauthorized", null));
+        }
+        return ResponseEntity.ok(new ApiResponse<>(true, "OK", notificationService.inbox(userId, cursor, size)));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> unreadCount() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(new ApiResponse<>(false, "Unauthorized", null));
+        }
+        return ResponseEntity.ok(new ApiResponse<>(true, "OK",
+                Map.of("unreadCount", notificationService.unreadCount(userId))));
+    }
+
+    @PostMapping("/read-all")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> markAllRead() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(new ApiResponse<>(false, "Unauthorized", null));
+        }
+        int updated = notificationService.markAllRead(userId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "OK", Map.of("updated", updated)));
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> markRead(@RequestBody MarkReadRequest request) {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(new ApiResponse<>(false, "Unauthorized", null));
+        }
+        int updated = notificationService.markRead(userId, request.ids());
+        return ResponseEntity.ok(new ApiResponse<>(true, "OK", Map.of("updated", updated)));
+    }
+
+    @PostMapping("/{id}/read")
+    public ResponseEntity<ApiResponse<Void>> markRead(@PathVariable Long id) {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(new ApiResponse<>(false, "Unauthorized", null));
+        }
+        notificationService.markRead(userId, id);
+        return ResponseEntity.ok(new ApiResponse<>(true, "OK", null));
+    }
+
+    /**
+     * Canlı bildirim akışı (text/event-stream). JWT, Authorization başlığından
+     * veya tarayıcıda jwt_token çerezinden okunur.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            throw new UnauthorizedException("Unauthorized");
+        }
+        return liveUpdateService.subscribe(userId);
+    }
+
+    private Long currentUserId() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(auth.getPrincipal().toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -1,16 +1,23 @@
 package com.etuni.controller;
 
-import com.etuni.service.AttendanceService;
-import com.etuni.service.PaymentService;
+import com.etuni.dto.AuthDtos.ApiResponse;
+import com.etuni.dto.PaymentDtos.PaymentCallbackStatus;
+import com.etuni.exception.ResourceNotFoundException;
+import com.etuni.model.PaymentCallback;
+import com.etuni.service.PaymentCallbackService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.UriUtils;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 @Controller
 @RequestMapping("/api/payments")
@@ -18,14 +25,16 @@ public class PaymentCallbackController {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentCallbackController.class);
 
-    private final PaymentService paymentService;
-    private final AttendanceService attendanceService;
+    private final PaymentCallbackService callbackService;
 
-    public PaymentCallbackController(PaymentService paymentService, AttendanceService attendanceService) {
-        this.paymentService = paymentService;
-        this.attendanceService = attendanceService;
+    public PaymentCallbackController(PaymentCallbackService callbackService) {
+        this.callbackService = callbackService;
     }
 
+    /**
+     * Callback kaydedilip hemen yönlendirilir; doğrulama arka planda tamamlanır
+     * ve başarı sayfası durumu /callback/{token}/status üzerinden sorgular.
+     */
     @PostMapping("/callback")
     public ModelAndView handleCallback(
             @RequestParam("token") String token,
@@ -34,31 +43,33 @@ public class PaymentCallbackController {
 
         log.info("Received payment callback for Token: {}, EventId: {}, UserId: {}", token, eventId, userId);
 
-        var verification = paymentService.verifyPayment(token);
+        PaymentCallback callback = callbackService.accept(token, eventId, userId);
 
         ModelAndView mav = new ModelAndView();
-        if (verification.verified()) {
-            try {
-                attendanceService.createPaidAttendance(userId, eventId, token);
-                mav.setViewName("redirect:/payment/success?txn=" + token);
-            } catch (Exception e) {
-                log.error("Error creating attendance after successful payment", e);
-                mav.setViewName("redirect:/payment-error?message=INTERNAL_ERROR");
-            }
+        if (PaymentCallback.FAILED.equals(callback.getStatus())) {
+            String message = callback.getMessage() != null ? callback.getMessage() : "PAYMENT_FAILED";
+            mav.setViewName("redirect:/payment-error?message="
+                    + UriUtils.encodeQueryParam(message, StandardCharsets.UTF_8));
         } else {
-            log.warn("Payment verification failed for token {}: {}", token, verification.message());
-            mav.setViewName("redirect:/payment-error?message=" + verification.message());
+            mav.setViewName("redirect:/payment/success?txn=" + token);
         }
-
         return mav;
     }
 
-    @org.springframework.web.bind.annotation.GetMapping("/success")
+    @GetMapping("/callback/{token}/status")
+    @ResponseBody
+    public ApiResponse<PaymentCallbackStatus> callbackStatus(@PathVariable("token") String token) {
+        return callbackService.status(token)
+                .map(status -> ApiResponse.ok("OK", status))
+                .orElseThrow(() -> new ResourceNotFoundException("PAYMENT_NOT_FOUND"));
+    }
+
+    @GetMapping("/success")
     public String showSuccess() {
         return "payment-success";
     }
 
-    @org.springframework.web.bind.annotation.GetMapping("/error")
+    @GetMapping("/error")
     public String showError() {
         return "payment-error";
     }
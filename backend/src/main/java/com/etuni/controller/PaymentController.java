@@ -4,6 +4,7 @@ import com.etuni.dto.AuthDtos.ApiResponse;
 import com.etuni.dto.PaymentDtos.*;
 import com.etuni.service.PaymentService;
 import com.etuni.service.EventService;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,20 +20,21 @@ public class PaymentController {
     }
 
     @PostMapping("/initiate")
-    public ApiResponse<PaymentInitiateResponse> initiatePayment(@RequestBody PaymentInitiateRequest req) {
+    public CompletableFuture<ApiResponse<PaymentInitiateResponse>> initiatePayment(
+            @RequestBody PaymentInitiateRequest req) {
         var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
         Long userId = Long.parseLong(auth.getPrincipal().toString());
 
         var event = eventService.get(req.eventId());
-        var result = paymentService.initiatePayment(req.eventId(), userId, event.price());
-
-        return ApiResponse.ok("PAYMENT_INITIATED", new PaymentInitiateResponse(
-                result.transactionId(),
-                result.paymentUrl(),
-                result.success(),
-                result.message(),
-                event.price(),
-                event.title()));
+        // Ödeme sağlayıcısı yanıt verene kadar istek thread'i serbest kalır
+        return paymentService.initiatePaymentAsync(req.eventId(), userId, event.price())
+                .thenApply(result -> ApiResponse.ok("PAYMENT_INITIATED", new PaymentInitiateResponse(
+                        result.transactionId(),
+                        result.paymentUrl(),
+                        result.success(),
+                        result.message(),
+                        event.price(),
+                        event.title())));
     }
 
     @PostMapping("/verify")
@@ -0,0 +1,31 @@
+package com.etuni.controller;
+
+import com.etuni.dto.AuthDtos.ApiResponse;
+import com.etuni.dto.SyncDtos.EventSyncResponse;
+import com.etuni.service.SyncService;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * Kullanıcının üniversitesindeki etkinlik ve kulüplerle kendi
+     * katılımlarının since imlecinden sonraki değişiklikleri. since yoksa tam
+     * liste (reset) döner.
+     */
+    @GetMapping("/events")
+    public ApiResponse<EventSyncResponse> events(
+            Authentication auth,
+            @RequestParam(required = false) Long since) {
+        Long userId = Long.valueOf(auth.getPrincipal().toString());
+        return ApiResponse.ok("OK", syncService.events(userId, since));
+    }
+}
@@ -2,20 +2,34 @@ package com.etuni.controller;
 
 import com.etuni.dto.AuthDtos.ApiResponse;
 import com.etuni.dto.UniversityDtos.*;
+import com.etuni.service.JsonResponseCache;
+import com.etuni.service.ResourceVersionService;
+import com.etuni.service.UniversityEventIndexService;
 import com.etuni.service.UniversityService;
 import jakarta.validation.Valid;
 import java.util.List;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/universities")
 public class UniversityController {
 
     private final UniversityService universityService;
+    private final UniversityEventIndexService universityEventIndex;
+    private final ResourceVersionService versions;
+    private final JsonResponseCache responseCache;
 
-    public UniversityController(UniversityService universityService) {
+    public UniversityController(UniversityService universityService,
+            UniversityEventIndexService universityEventIndex,
+            ResourceVersionService versions,
+            JsonResponseCache responseCache) {
         this.universityService = universityService;
+        this.universityEventIndex = universityEventIndex;
+        this.versions = versions;
+        this.responseCache = responseCache;
     }
 
     @PostMapping
@@ -32,8 +46,29 @@ public class UniversityController {
     }
 
     @GetMapping
-    public ApiResponse<List<UniversityResponse>> list() {
-        return ApiResponse.ok("OK", universityService.list());
+    public ResponseEntity<?> list(
+            @RequestParam(name = "hasEvents", required = false) Boolean hasEvents,
+            WebRequest request) {
+        boolean onlyWithEvents = Boolean.TRUE.equals(hasEvents);
+        var version = onlyWithEvents
+                ? versions.current(ResourceVersionService.UNIVERSITIES, ResourceVersionService.allEvents())
+                : versions.current(ResourceVersionService.UNIVERSITIES);
+        if (versions.checkNotModified(request, version)) {
+            return null;
+        }
+        return responseCache.respond(onlyWithEvents ? "universities:hasEvents" : "universities", version, request,
+                () -> {
+                    List<UniversityResponse> all = universityService.list();
+                    if (onlyWithEvents) {
+                        all = all.stream().filter(u -> universityEventIndex.hasActiveEvents(u.id())).toList();
+                    }
+                    return ApiResponse.ok("OK", all);
+                });
+    }
+
+    @GetMapping("/{id}/event-summary")
+    public ApiResponse<UniversityEventSummary> eventSummary(@PathVariable("id") Long id) {
+        return ApiResponse.ok("OK", universityEventIndex.summary(id));
     }
 
     @GetMapping("/{id}")
@@ -1,10 +1,15 @@
 package com.etuni.controller;
 
+import com.etuni.service.DashboardService;
 import com.etuni.service.RecommendationService;
 import com.etuni.service.EventService;
+import com.etuni.service.FragmentCacheService;
+import com.etuni.service.ResourceVersionService;
 import com.etuni.service.UniversityService;
 import com.etuni.service.UserProfileService;
 import com.etuni.service.PromotionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +18,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Controller
 public class WebController {
 
@@ -26,6 +35,11 @@ public class WebController {
     private final com.etuni.service.NotificationService notificationService;
     private final RecommendationService recommendationService;
     private final com.etuni.service.AttendanceService attendanceService;
+    private final com.etuni.service.UniversityEventIndexService universityEventIndex;
+    private final DashboardService dashboardService;
+    private final FragmentCacheService fragmentCache;
+    private final ResourceVersionService versions;
+    private final com.etuni.service.RevenueService revenueService;
 
     public WebController(EventService eventService, UniversityService universityService,
             UserProfileService userProfileService,
@@ -33,7 +47,12 @@ public class WebController {
             com.etuni.service.ClubService clubService,
             RecommendationService recommendationService,
             com.etuni.service.NotificationService notificationService,
-            com.etuni.service.AttendanceService attendanceService) {
+            com.etuni.service.AttendanceService attendanceService,
+            com.etuni.service.UniversityEventIndexService universityEventIndex,
+            DashboardService dashboardService,
+            FragmentCacheService fragmentCache,
+            ResourceVersionService versions,
+            com.etuni.service.RevenueService revenueService) {
         this.eventService = eventService;
         this.universityService = universityService;
         this.userProfileService = userProfileService;
@@ -42,6 +61,11 @@ public class WebController {
         this.recommendationService = recommendationService;
         this.notificationService = notificationService;
         this.attendanceService = attendanceService;
+        this.universityEventIndex = universityEventIndex;
+        this.dashboardService = dashboardService;
+        this.fragmentCache = fragmentCache;
+        this.versions = versions;
+        this.revenueService = revenueService;
     }
 
     @GetMapping("/")
@@ -54,7 +78,7 @@ public class WebController {
     public String events(@RequestParam(name = "search", required = false) String search,
             @RequestParam(name = "clubId", required = false) Long clubId,
             @RequestParam(name = "status", required = false) String status,
-            Model model) {
+            Model model, HttpServletRequest request, HttpServletResponse response) {
         Long universityId = 1L; // Fallback
 
         // Try to get logged in user's university
@@ -79,25 +103,34 @@ public class WebController {
             }
         }
 
-        // Always try to load events for the selected (or default) university
-        if (eventService.listLatestByUniversity(universityId).isEmpty()) {
-            // Fallback logic for demo
-            Long finalUniversiyId = universityId;
-            universityId = universityService.list().stream()
-                    .filter(u -> !eventService.listLatestByUniversity(u.id()).isEmpty())
-                    .findFirst()
-                    .map(com.etuni.dto.UniversityDtos.UniversityResponse::id)
-                    .orElse(finalUniversiyId);
+        // Seçili üniversitede aktif etkinlik yoksa etkinliği olan ilk üniversiteye düş
+        if (!universityEventIndex.hasActiveEvents(universityId)) {
+            universityId = universityEventIndex.firstUniversityWithEvents().orElse(universityId);
         }
 
-        // Add clubs for sidebar logic
-        model.addAttribute("clubs", clubService.listByUniversity(universityId));
-
-        if ((search != null && !search.isBlank()) || clubId != null || status != null) {
-            model.addAttribute("events", eventService.search(universityId, search, clubId, status));
-        } else {
-            model.addAttribute("events", eventService.listLatestByUniversity(universityId));
-        }
+        // Kişiye özel olmayan parçalar üniversite + veri sürümüyle önbellekten gelir
+        Long uniId = universityId;
+        String clubsVersion = versions.current(ResourceVersionService.clubsOf(uniId)).etag();
+        model.addAttribute("clubListHtml", fragmentCache.render(
+                "club-list:" + uniId + ":" + clubId + ":" + clubsVersion,
+                "fragments/club-list", "clubs",
+                () -> {
+                    Map<String, Object> vars = new HashMap<>();
+                    vars.put("clubs", clubService.listByUniversity(uniId));
+                    vars.put("selectedClubId", clubId);
+                    return vars;
+                }, request, response));
+
+        boolean searching = (search != null && !search.isBlank()) || clubId != null;
+        boolean cacheable = !searching && (status == null || "ACTIVE".equals(status) || "PASSIVE".equals(status));
+        String eventsVersion = versions.current(ResourceVersionService.eventsOf(uniId)).etag();
+        model.addAttribute("eventCardsHtml", fragmentCache.render(
+                cacheable ? "event-cards:" + uniId + ":" + status + ":" + eventsVersion : null,
+                "fragments/event-cards", "cards",
+                () -> Map.of("events", searching || status != null
+                        ? eventService.search(uniId, search, clubId, status)
+                        : eventService.listLatestByUniversity(uniId)),
+                request, response));
 
         model.addAttribute("searchQuery", search);
         model.addAttribute("selectedClubId", clubId);
@@ -137,45 +170,33 @@ public class WebController {
             logger.info("Accessing dashboard for user: {}, role: {}", userId, role);
 
             if ("ADMIN".equals(role)) {
-                model.addAttribute("universities", universityService.list());
-                model.addAttribute("totalEvents", eventService.count());
-                model.addAttribute("totalUsers", userProfileService.countUsers());
+                addSections(model, dashboardService.sections()
+                        .add("universities", universityService::list, List.of())
+                        .add("totalEvents", eventService::count, null)
+                        .add("totalUsers", userProfileService::countUsers, null));
                 return "dashboard-admin";
             }
+            Long universityId = profile.selectedUniversityId();
             if ("UNIVERSITY_STAFF".equals(role)) {
                 model.addAttribute("universityName", profile.selectedUniversityName());
-                model.addAttribute("pendingRequests",
-                        promotionService.getPendingRequests(profile.selectedUniversityId()));
-
-                // Calculate and add total revenue
-                java.math.BigDecimal totalRevenue = attendanceService
-                        .calculateTotalRevenueForUniversity(profile.selectedUniversityId());
-                model.addAttribute("totalRevenue", totalRevenue);
-                model.addAttribute("notifications", notificationService.listForUser(userId));
-
+                addSections(model, dashboardService.sections()
+                        .add("pendingRequests", () -> promotionService.getPendingRequests(universityId), List.of())
+                        .add("totalRevenue",
+                                () -> revenueService.totalForUniversity(universityId), null)
+                        .add("notifications", () -> notificationService.recentForUser(userId), List.of()));
                 return "dashboard-staff";
             }
             if ("ORGANIZER".equals(role)) {
-                model.addAttribute("events", eventService.listAllByUniversity(profile.selectedUniversityId()));
+                addSections(model, dashboardService.sections()
+                        .add("events", () -> eventService.listAllByUniversity(universityId), List.of()));
                 return "dashboard-organizer";
             }
 
             // Default: STUDENT
-            try {
-                var attendance = userProfileService.getAttendanceHistory(userId);
-                model.addAttribute("attendanceCheck", attendance);
-
-                var notifications = notificationService.listForUser(userId);
-                model.addAttribute("notifications", notifications);
-
-                // Add relevant events for the student
-                var upcomingEvents = eventService.listAllByUniversity(profile.selectedUniversityId());
-                model.addAttribute("events", upcomingEvents);
-
-            } catch (Exception inner) {
-                logger.error("Error loading student data for userId: {}", userId, inner);
-                model.addAttribute("error", "Veriler yüklenirken bir hata oluştu.");
-            }
+            addSections(model, dashboardService.sections()
+                    .add("attendanceCheck", () -> userProfileService.getAttendanceHistory(userId), null)
+                    .add("notifications", () -> notificationService.recentForUser(userId), List.of())
+                    .add("events", () -> eventService.listAllByUniversity(universityId), List.of()));
 
             return "dashboard-student";
         } catch (Exception e) {
@@ -184,8 +205,20 @@ public class WebController {
         }
     }
 
+    private void addSections(Model model, DashboardService.Sections sections) {
+        DashboardService.Result result = sections.load();
+        model.addAllAttributes(result.attributes());
+        model.addAttribute("degradedSections", result.degraded());
+    }
+
     @GetMapping("/admin/users")
-    public String adminUsers(Model model) {
+    public String adminUsers(
+            @RequestParam(name = "role", required = false) String role,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "universityId", required = false) Long universityId,
+            @RequestParam(name = "email", required = false) String email,
+            @RequestParam(name = "after", required = false) Long after,
+            Model model) {
         var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
             return "redirect:/login";
@@ -198,7 +231,9 @@ public class WebController {
         }
 
         model.addAttribute("user", profile);
-        model.addAttribute("users", userProfileService.findAllUsers());
+        var page = userProfileService.findUsers(role, status, universityId, email, after, 50);
+        model.addAttribute("users", page.users());
+        model.addAttribute("nextCursor", page.nextCursor());
         model.addAttribute("universities", universityService.list());
         return "admin-users";
     }
@@ -236,8 +271,13 @@ public class WebController {
     }
 
     @GetMapping("/events/{id}")
-    public String eventDetail(@PathVariable("id") Long id, Model model) {
-        model.addAttribute("event", eventService.get(id));
+    public String eventDetail(@PathVariable("id") Long id, Model model,
+            HttpServletRequest request, HttpServletResponse response) {
+        var event = eventService.get(id);
+        model.addAttribute("event", event);
+        String eventsVersion = versions.current(ResourceVersionService.allEvents()).etag();
+        model.addAttribute("eventSummaryHtml", fragmentCache.render("event-summary:" + id + ":" + eventsVersion,
+                "fragments/event-summary", "summary", () -> Map.of("event", event), request, response));
         var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
             try {
@@ -26,4 +26,20 @@ public class AdminDtos {
             Long universityId,
             String status) {
     }
+
+    public record DirectoryUser(
+            Long id,
+            String fullName,
+            String email,
+            String role,
+            String status,
+            Long universityId,
+            String universityName) {
+    }
+
+    // nextCursor: sonraki sayfa için after parametresi; son sayfada null
+    public record UserDirectoryPage(
+            List<DirectoryUser> users,
+            Long nextCursor) {
+    }
 }
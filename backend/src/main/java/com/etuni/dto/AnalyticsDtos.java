@@ -1,5 +1,6 @@
 package com.etuni.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -59,4 +60,21 @@ public class AnalyticsDtos {
             String period,
             List<TopEventItem> events) {
     }
+
+    // Gelir Raporu (payment_ledger)
+    public record RevenueReport(
+            String scope,
+            Long id,
+            LocalDate from,
+            LocalDate to,
+            BigDecimal total,
+            long payments,
+            List<DailyRevenueItem> daily) {
+    }
+
+    public record DailyRevenueItem(
+            LocalDate date,
+            BigDecimal amount,
+            long payments) {
+    }
 }
@@ -13,4 +13,16 @@ public class AttendeeDtos {
       String ticketCode) {
   }
 
+  // Dışa aktarma satırı; tek sorguda user ile birlikte okunur
+  public record AttendeeExportRow(
+      Long attendanceId,
+      Long userId,
+      String userFullName,
+      String userEmail,
+      String ticketCode,
+      String status,
+      boolean verified,
+      LocalDateTime scannedAt) {
+  }
+
 }
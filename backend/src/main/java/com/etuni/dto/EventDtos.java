@@ -4,6 +4,7 @@ import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 public class EventDtos {
 
@@ -72,5 +73,64 @@ public class EventDtos {
                         Double latitude,
                         Double longitude,
                         BigDecimal price) {
+                // Sorgu projeksiyonları fiyatı olduğu gibi okur; ücretsiz etkinlik 0 döner
+                public EventResponse {
+                        price = price != null ? price : BigDecimal.ZERO;
+                }
+        }
+
+        // Harita: sadece marker ve popup için gereken alanlar
+        public record GeoEvent(
+                        Long id,
+                        Long universityId,
+                        String title,
+                        LocalDate eventDate,
+                        LocalTime startTime,
+                        String location,
+                        double latitude,
+                        double longitude) {
+        }
+
+        public record GeoCluster(
+                        double latitude,
+                        double longitude,
+                        int count) {
+        }
+
+        // Yakınlaştırma düşükse kümeler, yüksekse tekil etkinlikler döner
+        public record GeoResult(
+                        List<GeoEvent> events,
+                        List<GeoCluster> clusters,
+                        int total) {
+        }
+
+        public record NearbyEvent(
+                        GeoEvent event,
+                        double distanceKm) {
+        }
+
+        // Takvim: gün bazında aktif etkinlik özetleri
+        public record CalendarEvent(
+                        Long id,
+                        Long universityId,
+                        String title,
+                        String eventType,
+                        LocalDate eventDate,
+                        LocalTime startTime,
+                        String location,
+                        BigDecimal price) {
+        }
+
+        public record CalendarDay(
+                        LocalDate date,
+                        List<CalendarEvent> events) {
+        }
+
+        public record CalendarResponse(
+                        Long universityId,
+                        LocalDate from,
+                        LocalDate to,
+                        int total,
+                        List<CalendarDay> days) {
         }
 }
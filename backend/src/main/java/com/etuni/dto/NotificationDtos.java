@@ -0,0 +1,28 @@
+package com.etuni.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public class NotificationDtos {
+
+  public record NotificationItem(
+      Long id,
+      String title,
+      String message,
+      boolean read,
+      OffsetDateTime createdAt) {
+  }
+
+  // nextCursor opak bir değerdir, olduğu gibi geri gönderilir; null ise son sayfaya gelinmiştir
+  public record InboxPage(
+      List<NotificationItem> items,
+      String nextCursor,
+      long unreadCount) {
+  }
+
+  // Ekranda gösterilen bildirimler; en fazla NotificationService.MAX_PAGE_SIZE
+  public record MarkReadRequest(
+      List<Long> ids) {
+  }
+
+}
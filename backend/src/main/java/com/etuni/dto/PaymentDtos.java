@@ -28,4 +28,10 @@ public class PaymentDtos {
             String message,
             Long eventId) {
     }
+
+    public record PaymentCallbackStatus(
+            String transactionId,
+            String status,
+            String message) {
+    }
 }
@@ -0,0 +1,25 @@
+package com.etuni.dto;
+
+import com.etuni.dto.ClubDtos.ClubResponse;
+import com.etuni.dto.EventDtos.EventResponse;
+import com.etuni.dto.UserProfileDtos.AttendanceHistoryItem;
+import java.util.List;
+
+public class SyncDtos {
+
+    // Delta senkronizasyonu: cursor bir sonraki isteğin since değeri.
+    // reset true ise listeler tam durumdur, istemci önbelleğini değiştirir.
+    // universityId önbellektekinden farklıysa istemci imleçsiz yeniden ister.
+    public record EventSyncResponse(
+            Long universityId,
+            long cursor,
+            boolean reset,
+            boolean hasMore,
+            List<EventResponse> events,
+            List<Long> deletedEventIds,
+            List<ClubResponse> clubs,
+            List<Long> deletedClubIds,
+            List<AttendanceHistoryItem> attendances,
+            List<Long> deletedAttendanceIds) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.etuni.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import java.time.LocalDate;
 
 public class UniversityDtos {
 
@@ -16,4 +17,10 @@ public class UniversityDtos {
             String city,
             String logoUrl) {
     }
+
+    public record UniversityEventSummary(
+            Long universityId,
+            int activeEventCount,
+            LocalDate nextEventDate) {
+    }
 }
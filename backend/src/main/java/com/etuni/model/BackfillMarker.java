@@ -0,0 +1,36 @@
+package com.etuni.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Tek seferlik veri aktarımlarının tamamlandığı an. Kayıt varsa aktarım
+ * açılışta tekrar taranmaz (bkz. RevenueService.backfillLegacyPayments).
+ */
+@Entity
+@Table(name = "backfill_markers")
+public class BackfillMarker {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private OffsetDateTime completedAt;
+
+    public BackfillMarker() {
+    }
+
+    public BackfillMarker(String name, OffsetDateTime completedAt) {
+        this.name = name;
+        this.completedAt = completedAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public OffsetDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,89 @@
+package com.etuni.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Mobil delta senkronizasyonu için değişiklik kaydı. Event, Club veya
+ * Attendance satırı değiştiğinde, değişikliği yapan transaction içinde bir
+ * satır eklenir; id istemcinin imlecidir (bkz. SyncService).
+ *
+ * Etkinlik ve kulüp kayıtları universityId, katılım kayıtları userId taşır.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_university", columnList = "university_id, id"),
+        @Index(name = "idx_change_log_user", columnList = "user_id, id"),
+        @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+public class ChangeLogEntry {
+
+    public static final String EVENT = "EVENT";
+    public static final String CLUB = "CLUB";
+    public static final String ATTENDANCE = "ATTENDANCE";
+
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    // allocationSize 1: node'lar arasında id sırası zaman sırasını izlemeli,
+    // önceden ayrılmış bloklar imlecin eski id'leri atlamasına yol açar
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_log_seq")
+    @SequenceGenerator(name = "change_log_seq", sequenceName = "change_log_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    private Long universityId;
+
+    private Long userId;
+
+    @Column(nullable = false, length = 8)
+    private String operation;
+
+    @Column(nullable = false)
+    private OffsetDateTime changedAt = OffsetDateTime.now();
+
+    public ChangeLogEntry() {
+    }
+
+    public ChangeLogEntry(String entityType, Long entityId, Long universityId, Long userId, String operation) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.universityId = universityId;
+        this.userId = userId;
+        this.operation = operation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getUniversityId() {
+        return universityId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public OffsetDateTime getChangedAt() {
+        return changedAt;
+    }
+}
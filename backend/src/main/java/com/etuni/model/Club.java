@@ -1,12 +1,17 @@
 package com.etuni.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "clubs")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "club-entities")
 public class Club {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clubs_seq")
+  @SequenceGenerator(name = "clubs_seq", sequenceName = "clubs_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -8,7 +8,8 @@ import java.time.LocalTime;
 @Table(name = "events")
 public class Event {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+  @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -34,8 +35,7 @@ public class Event {
   private LocalDate eventDate;
   private LocalTime startTime;
 
-  @Column(columnDefinition = "text")
-  private String qrPayload;
+  // QR payload ayrı tabloda: EventQrPayload
 
   @Column(nullable = false)
   private String status; // ACTIVE / CANCELLED / DRAFT
@@ -123,14 +123,6 @@ public class Event {
     this.startTime = startTime;
   }
 
-  public String getQrPayload() {
-    return qrPayload;
-  }
-
-  public void setQrPayload(String qrPayload) {
-    this.qrPayload = qrPayload;
-  }
-
   public String getStatus() {
     return status;
   }
@@ -148,6 +140,14 @@ public class Event {
   @Column(columnDefinition = "DECIMAL(10,2) DEFAULT 0.00")
   private java.math.BigDecimal price;
 
+  // İlgi alanı etiketleri (TagBits): başlık+açıklama ve kategori ayrı tutulur,
+  // kayıtta InterestTagService tarafından hesaplanır
+  @Column(name = "tag_bits")
+  private byte[] tagBits;
+
+  @Column(name = "category_tag_bits")
+  private byte[] categoryTagBits;
+
   public String getLocation() {
     return location;
   }
@@ -183,4 +183,20 @@ public class Event {
   public boolean isFree() {
     return price == null || price.compareTo(java.math.BigDecimal.ZERO) == 0;
   }
+
+  public byte[] getTagBits() {
+    return tagBits;
+  }
+
+  public void setTagBits(byte[] tagBits) {
+    this.tagBits = tagBits;
+  }
+
+  public byte[] getCategoryTagBits() {
+    return categoryTagBits;
+  }
+
+  public void setCategoryTagBits(byte[] categoryTagBits) {
+    this.categoryTagBits = categoryTagBits;
+  }
 }
@@ -0,0 +1,40 @@
+package com.etuni.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Etkinliğin giriş QR'ı. Sadece QR ekranında okunur; events tablosundan
+ * ayrıldığı için etkinlik listeleri ve sorguları bu text kolonu taşımaz.
+ */
+@Entity
+@Table(name = "event_qr_payloads")
+public class EventQrPayload {
+
+    // events.id ile aynı
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    public EventQrPayload() {
+    }
+
+    public EventQrPayload(Long eventId, String payload) {
+        this.eventId = eventId;
+        this.payload = payload;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,38 @@
+package com.etuni.model;
+
+import jakarta.persistence.*;
+
+/**
+ * İlgi alanı sözlüğü. Her normalize edilmiş etiket bir kez kaydedilir ve id'si
+ * kullanıcı/etkinlik etiket bitset'lerinde bit sırası olarak kullanılır.
+ */
+@Entity
+@Table(name = "interest_tags", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_interest_tag_name", columnNames = "name")
+})
+public class InterestTag {
+
+    // allocationSize = 1: id'ler bit sırası olduğundan boşluksuz kalmalı
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_tags_seq")
+    @SequenceGenerator(name = "interest_tags_seq", sequenceName = "interest_tags_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    public InterestTag() {
+    }
+
+    public InterestTag(String name) {
+        this.name = name;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
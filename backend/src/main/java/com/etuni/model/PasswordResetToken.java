@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 public class PasswordResetToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_tokens_seq")
+    @SequenceGenerator(name = "password_reset_tokens_seq", sequenceName = "password_reset_tokens_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
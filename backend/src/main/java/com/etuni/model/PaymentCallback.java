@@ -0,0 +1,146 @@
+package com.etuni.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Ödeme sağlayıcısından gelen callback. Token başına tek kayıt tutulur;
+ * tekrar gelen callback'ler mevcut kaydı döndürür. Doğrulama ve katılım
+ * oluşturma PaymentCallbackProcessor tarafından arka planda yapılır.
+ */
+@Entity
+@Table(name = "payment_callbacks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_callback_token", columnNames = "token")
+}, indexes = {
+        @Index(name = "idx_payment_callback_due", columnList = "status, next_attempt_at")
+})
+public class PaymentCallback {
+
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_callback_seq")
+    @SequenceGenerator(name = "payment_callback_seq", sequenceName = "payment_callback_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 128)
+    private String token;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 16)
+    private String status = PENDING;
+
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private OffsetDateTime nextAttemptAt = OffsetDateTime.now();
+
+    // Sonuç mesajı (ör. sağlayıcının hata mesajı); durum sorgusunda döner
+    @Column(length = 1000)
+    private String message;
+
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    private OffsetDateTime completedAt;
+
+    public PaymentCallback() {
+    }
+
+    public PaymentCallback(String token, Long eventId, Long userId) {
+        this.token = token;
+        this.eventId = eventId;
+        this.userId = userId;
+    }
+
+    public boolean isDone() {
+        return SUCCEEDED.equals(status) || FAILED.equals(status);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public OffsetDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(OffsetDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OffsetDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(OffsetDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
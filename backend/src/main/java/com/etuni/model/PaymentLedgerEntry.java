@@ -0,0 +1,101 @@
+package com.etuni.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Tamamlanmış bir ödemenin kaydı. Ödeme anında tahsil edilen tutarı tutar
+ * (etkinlik fiyatı sonradan değişse de rapor değişmez). Gelir raporları bu
+ * tablo üzerinde indeksli SUM sorgularıyla hesaplanır.
+ */
+@Entity
+@Table(name = "payment_ledger", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_ledger_token", columnNames = "token")
+}, indexes = {
+        @Index(name = "idx_payment_ledger_university_day", columnList = "university_id, paid_on"),
+        @Index(name = "idx_payment_ledger_club_day", columnList = "club_id, paid_on"),
+        @Index(name = "idx_payment_ledger_event_day", columnList = "event_id, paid_on")
+})
+public class PaymentLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_ledger_seq")
+    @SequenceGenerator(name = "payment_ledger_seq", sequenceName = "payment_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    // Ödeme sağlayıcısının token'ı; aynı ödeme iki kez yazılmaz
+    @Column(nullable = false, length = 128)
+    private String token;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "university_id", nullable = false)
+    private Long universityId;
+
+    @Column(name = "club_id")
+    private Long clubId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "paid_on", nullable = false)
+    private LocalDate paidOn;
+
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    public PaymentLedgerEntry() {
+    }
+
+    public PaymentLedgerEntry(String token, Long eventId, Long universityId, Long clubId, Long userId,
+            BigDecimal amount, LocalDate paidOn) {
+        this.token = token;
+        this.eventId = eventId;
+        this.universityId = universityId;
+        this.clubId = clubId;
+        this.userId = userId;
+        this.amount = amount;
+        this.paidOn = paidOn;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Long getUniversityId() {
+        return universityId;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDate getPaidOn() {
+        return paidOn;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 @Table(name = "promotion_requests")
 public class PromotionRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "promotion_requests_seq")
+    @SequenceGenerator(name = "promotion_requests_seq", sequenceName = "promotion_requests_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
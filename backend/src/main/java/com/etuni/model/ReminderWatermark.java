@@ -0,0 +1,41 @@
+package com.etuni.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Hatırlatma zamanlayıcısının en son hangi ana kadar ilerlediği. Node
+ * kapalıyken zamanı gelen hatırlatmalar açılışta bu andan itibaren bulunur
+ * (bkz. EventReminderService).
+ */
+@Entity
+@Table(name = "reminder_watermarks")
+public class ReminderWatermark {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private OffsetDateTime dispatchedThrough;
+
+    public ReminderWatermark() {
+    }
+
+    public ReminderWatermark(String name, OffsetDateTime dispatchedThrough) {
+        this.name = name;
+        this.dispatchedThrough = dispatchedThrough;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public OffsetDateTime getDispatchedThrough() {
+        return dispatchedThrough;
+    }
+
+    public void setDispatchedThrough(OffsetDateTime dispatchedThrough) {
+        this.dispatchedThrough = dispatchedThrough;
+    }
+}
@@ -1,12 +1,17 @@
 package com.etuni.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "universities")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "university-entities")
 public class University {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "universities_seq")
+  @SequenceGenerator(name = "universities_seq", sequenceName = "universities_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true)
@@ -6,10 +6,16 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Admin kullanıcı rehberi: filtre + id üzerinde keyset sayfalama
+    @Index(name = "idx_users_role_id", columnList = "role, id"),
+    @Index(name = "idx_users_status_id", columnList = "status, id"),
+    @Index(name = "idx_users_university_id", columnList = "selected_university_id, id")
+})
 public class UserEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+  @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -41,6 +47,11 @@ public class UserEntity {
   @Column(length = 500)
   private String pushToken; // Expo push notification token
 
+  // interests listesinin TagBits karşılığı; interests değişince yeniden hesaplanır
+  @Column(name = "interest_tag_bits")
+  @JsonIgnore
+  private byte[] interestTagBits;
+
   public UserEntity() {
   }
 
@@ -123,4 +134,12 @@ public class UserEntity {
   public void setPushToken(String pushToken) {
     this.pushToken = pushToken;
   }
+
+  public byte[] getInterestTagBits() {
+    return interestTagBits;
+  }
+
+  public void setInterestTagBits(byte[] interestTagBits) {
+    this.interestTagBits = interestTagBits;
+  }
 }
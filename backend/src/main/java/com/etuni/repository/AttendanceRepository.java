@@ -1,10 +1,18 @@
 package com.etuni.repository;
 
+import com.etuni.dto.AttendeeDtos.AttendeeExportRow;
+import com.etuni.dto.AttendeeDtos.AttendeeInfo;
 import com.etuni.model.Attendance;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
@@ -20,16 +28,70 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
   @Query("SELECT a.event.id, COUNT(a) FROM Attendance a WHERE a.verified = true GROUP BY a.event.id")
   List<Object[]> findEventPopularityCounts();
 
+  // Trend sayaçlarını doldurmak için, etkinlik ve gün bazında check-in:
+  // [eventId, universityId, title, day, count]
+  @Query("SELECT e.id, u.id, e.title, CAST(a.scannedAt AS LocalDate), COUNT(a) FROM Attendance a JOIN a.event e "
+      + "LEFT JOIN e.university u WHERE a.verified = true AND a.scannedAt >= :since "
+      + "GROUP BY e.id, u.id, e.title, CAST(a.scannedAt AS LocalDate)")
+  List<Object[]> countDailyCheckInsSince(@Param("since") LocalDateTime since);
+
+  // Henüz okutulmamış katılımlar; scannedAt katılma zamanıdır (check-in'de üzerine yazılır)
+  @Query("SELECT e.id, u.id, e.title, CAST(a.scannedAt AS LocalDate), COUNT(a) FROM Attendance a JOIN a.event e "
+      + "LEFT JOIN e.university u WHERE a.verified = false AND a.scannedAt >= :since "
+      + "GROUP BY e.id, u.id, e.title, CAST(a.scannedAt AS LocalDate)")
+  List<Object[]> countDailyJoinsSince(@Param("since") LocalDateTime since);
+
   @Query("SELECT e.eventType, COUNT(a) FROM Attendance a JOIN a.event e WHERE a.verified = true GROUP BY e.eventType")
   List<Object[]> countByEventType();
 
-  @Query("SELECT a FROM Attendance a WHERE a.event.university.id = :uniId AND a.verified = true")
+  @Query("SELECT a FROM Attendance a JOIN FETCH a.event e WHERE e.university.id = :uniId AND a.verified = true")
   List<Attendance> findVerifiedByUniversity(@Param("uniId") Long uniId);
 
+  // payment_ledger'a henüz yazılmamış eski ücretli katılımlar (bkz. RevenueService.backfillLegacyPayments):
+  // ödemeyle otomatik onaylanan biletler henüz okutulmamış olabilir, bu yüzden APPROVED da sayılır
+  // (eski calculateTotalRevenueForUniversity sadece verified sayıyordu).
+  // [attendanceId, eventId, universityId, clubId, userId, price, scannedAt]
+  @Query("SELECT a.id, e.id, e.university.id, c.id, a.user.id, e.price, a.scannedAt FROM Attendance a "
+      + "JOIN a.event e LEFT JOIN e.club c WHERE e.price > 0 AND (a.status = 'APPROVED' OR a.verified = true) "
+      + "AND a.scannedAt < :before AND NOT EXISTS (SELECT l.id FROM PaymentLedgerEntry l "
+      + "WHERE l.eventId = e.id AND l.userId = a.user.id)")
+  List<Object[]> findLegacyPaidAttendances(@Param("before") LocalDateTime before);
+
   @Query("SELECT a FROM Attendance a WHERE a.event.club.id = :clubId AND a.verified = true")
   List<Attendance> findVerifiedByClub(@Param("clubId") Long clubId);
 
   List<Attendance> findByEventId(Long eventId);
 
+  @Query("SELECT new com.etuni.dto.AttendeeDtos$AttendeeInfo(a.id, u.id, u.fullName, u.email, a.scannedAt, "
+      + "a.ticketCode) FROM Attendance a JOIN a.user u WHERE a.event.id = :eventId ORDER BY a.id")
+  List<AttendeeInfo> findAttendeeInfoByEventId(@Param("eventId") Long eventId);
+
+  /**
+   * Katılımcı dışa aktarımı için ileri yönlü cursor. Satırlar entity değil
+   * projeksiyon olduğundan persistence context büyümez; çağıran açık bir
+   * transaction içinde tüketip kapatmalıdır. status/verified null ise filtre yok.
+   */
+  @QueryHints({
+      @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+      @QueryHint(name = "org.hibernate.readOnly", value = "true")
+  })
+  @Query("SELECT new com.etuni.dto.AttendeeDtos$AttendeeExportRow(a.id, u.id, u.fullName, u.email, a.ticketCode, "
+      + "a.status, a.verified, a.scannedAt) FROM Attendance a JOIN a.user u WHERE a.event.id = :eventId "
+      + "AND (:status IS NULL OR a.status = :status) AND (:verified IS NULL OR a.verified = :verified) "
+      + "ORDER BY a.id")
+  Stream<AttendeeExportRow> streamForExport(@Param("eventId") Long eventId, @Param("status") String status,
+      @Param("verified") Boolean verified);
+
   List<Attendance> findAllByEventIdAndStatus(Long eventId, String status);
+
+  // Hatırlatma zamanlayıcısı: [attendanceId, eventId, eventDate, startTime]
+  @Query("SELECT a.id, e.id, e.eventDate, e.startTime FROM Attendance a JOIN a.event e "
+      + "WHERE a.status = 'APPROVED' AND e.status = 'ACTIVE' AND e.eventDate >= :from")
+  List<Object[]> findUpcomingApprovedSchedule(@Param("from") LocalDate from);
+
+  @Query("SELECT a.id FROM Attendance a WHERE a.event.id = :eventId AND a.status = 'APPROVED'")
+  List<Long> findApprovedIdsByEventId(@Param("eventId") Long eventId);
+
+  @Query("SELECT a FROM Attendance a JOIN FETCH a.user JOIN FETCH a.event WHERE a.id IN :ids")
+  List<Attendance> findWithUserAndEventByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,7 @@
+package com.etuni.repository;
+
+import com.etuni.model.BackfillMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BackfillMarkerRepository extends JpaRepository<BackfillMarker, String> {
+}
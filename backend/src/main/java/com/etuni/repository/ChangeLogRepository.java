@@ -0,0 +1,34 @@
+package com.etuni.repository;
+
+import com.etuni.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /** Üniversitenin etkinlik/kulüp değişiklikleri ve kullanıcının kendi katılımları, id sırasıyla. */
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.id > :since AND (c.universityId = :universityId "
+            + "OR (c.entityType = 'ATTENDANCE' AND c.userId = :userId)) ORDER BY c.id")
+    List<ChangeLogEntry> findFeed(@Param("since") long since, @Param("universityId") Long universityId,
+            @Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT MIN(c.id) FROM ChangeLogEntry c")
+    Long findMinId();
+
+    @Query("SELECT MAX(c.id) FROM ChangeLogEntry c")
+    Long findMaxId();
+
+    @Query("SELECT MAX(c.id) FROM ChangeLogEntry c WHERE c.changedAt < :before")
+    Long findMaxIdBefore(@Param("before") OffsetDateTime before);
+
+    // En yeni kayıt her zaman kalır: tablo boşalırsa eski imleçlerin eksik kaldığı anlaşılamaz
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.changedAt < :before AND c.id < (SELECT MAX(m.id) FROM ChangeLogEntry m)")
+    int deleteBefore(@Param("before") OffsetDateTime before);
+}
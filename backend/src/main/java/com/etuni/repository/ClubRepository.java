@@ -1,13 +1,19 @@
 package com.etuni.repository;
 
 import com.etuni.model.Club;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface ClubRepository extends JpaRepository<Club, Long> {
   @Query("SELECT c FROM Club c JOIN FETCH c.university WHERE c.university.id = :universityId")
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "club-queries") })
   List<Club> findByUniversityId(@Param("universityId") Long universityId);
 }
@@ -0,0 +1,40 @@
+package com.etuni.repository;
+
+import com.etuni.model.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Gönderim zamanı gelmiş kayıtlar. SENDING durumundakiler, kiralama süresi
+     * dolduysa (gönderen node çöktüyse) yeniden alınır. SKIP LOCKED sayesinde
+     * birden fazla node aynı kaydı almaz.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM EmailOutbox o WHERE o.status IN ('PENDING', 'SENDING') AND o.nextAttemptAt <= :now "
+            + "ORDER BY o.nextAttemptAt")
+    List<EmailOutbox> lockDue(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = 'SENT', o.sentAt = :now, o.lastError = null WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox o WHERE o.status = 'SENT' AND o.sentAt < :before")
+    int deleteSentBefore(@Param("before") OffsetDateTime before);
+
+    long countByStatus(String status);
+}
@@ -0,0 +1,16 @@
+package com.etuni.repository;
+
+import com.etuni.model.EventQrPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface EventQrPayloadRepository extends JpaRepository<EventQrPayload, Long> {
+
+    // Eski events.qr_payload kolonundaki, henüz aktarılmamış değerler (bkz. EventQrService)
+    @Modifying
+    @Query(value = "INSERT INTO event_qr_payloads (event_id, payload) "
+            + "SELECT e.id, e.qr_payload FROM events e WHERE e.qr_payload IS NOT NULL AND e.qr_payload <> '' "
+            + "AND NOT EXISTS (SELECT 1 FROM event_qr_payloads p WHERE p.event_id = e.id)", nativeQuery = true)
+    int copyLegacyPayloads();
+}
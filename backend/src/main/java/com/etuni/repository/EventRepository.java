@@ -1,20 +1,37 @@
 package com.etuni.repository;
 
+import com.etuni.dto.EventDtos.CalendarEvent;
+import com.etuni.dto.EventDtos.EventResponse;
+import com.etuni.dto.EventDtos.GeoEvent;
 import com.etuni.model.Event;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
+
+        // Liste uçları: yanıt doğrudan sorgudan kurulur; entity, kirli kontrol
+        // kopyası ve kulüp/üniversite entity'leri oluşmaz
+        String EVENT_RESPONSE = "SELECT new com.etuni.dto.EventDtos$EventResponse(e.id, e.university.id, c.id, "
+                        + "c.name, e.title, e.description, e.eventType, e.category, e.targetAudience, e.eventDate, "
+                        + "e.startTime, e.status, e.location, e.latitude, e.longitude, e.price) "
+                        + "FROM Event e LEFT JOIN e.club c ";
+
         @Query("SELECT e FROM Event e LEFT JOIN FETCH e.club LEFT JOIN FETCH e.university WHERE e.university.id = :universityId AND e.status = :status ORDER BY e.eventDate ASC")
         List<Event> findTop20ByUniversityIdAndStatusOrderByEventDateAsc(@Param("universityId") Long universityId,
                         @Param("status") String status);
 
-        @Query("SELECT e FROM Event e LEFT JOIN FETCH e.club LEFT JOIN FETCH e.university WHERE e.university.id = :universityId ORDER BY e.eventDate DESC")
-        List<Event> findByUniversityIdOrderByEventDateDesc(@Param("universityId") Long universityId);
+        @Query(EVENT_RESPONSE + "WHERE e.university.id = :universityId AND e.status = :status ORDER BY e.eventDate ASC")
+        List<EventResponse> findResponsesByUniversityAndStatus(@Param("universityId") Long universityId,
+                        @Param("status") String status);
+
+        @Query(EVENT_RESPONSE + "WHERE e.university.id = :universityId ORDER BY e.eventDate DESC")
+        List<EventResponse> findResponsesByUniversity(@Param("universityId") Long universityId);
 
         List<Event> findByUniversityIdAndEventDateBetweenAndStatus(Long universityId, LocalDate start, LocalDate end,
                         String status);
@@ -25,8 +42,11 @@ public interface EventRepository extends JpaRepository<Event, Long> {
         @Query("SELECT e FROM Event e LEFT JOIN FETCH e.club LEFT JOIN FETCH e.university WHERE e.id = :id")
         Optional<Event> findById(@Param("id") Long id);
 
-        @Query("SELECT e FROM Event e LEFT JOIN FETCH e.club LEFT JOIN FETCH e.university WHERE e.university.id = :uniId AND e.status = 'ACTIVE' AND (LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-        List<Event> searchEvents(@Param("uniId") Long uniId, @Param("keyword") String keyword);
+        // Sohbet botu: açıklamada da arar ama sadece takvim özetini okur
+        @Query("SELECT new com.etuni.dto.EventDtos$CalendarEvent(e.id, e.university.id, e.title, e.eventType, "
+                        + "e.eventDate, e.startTime, e.location, e.price) FROM Event e "
+                        + "WHERE e.university.id = :uniId AND e.status = 'ACTIVE' AND (LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+        List<CalendarEvent> searchCalendarEntries(@Param("uniId") Long uniId, @Param("keyword") String keyword);
 
         List<Event> findByClubId(Long clubId);
 
@@ -36,18 +56,48 @@ public interface EventRepository extends JpaRepository<Event, Long> {
                         @Param("status") String status);
 
         // For Filtering (Search + Club + Status)
-        @Query("SELECT e FROM Event e LEFT JOIN FETCH e.club LEFT JOIN FETCH e.university WHERE e.university.id = :uniId "
+        @Query(EVENT_RESPONSE + "WHERE e.university.id = :uniId "
                         +
                         "AND (:status IS NULL OR e.status = :status) " +
-                        "AND (:clubId IS NULL OR e.club.id = :clubId) " +
+                        "AND (:clubId IS NULL OR c.id = :clubId) " +
                         "AND (:pattern IS NULL OR LOWER(e.title) LIKE :pattern OR LOWER(e.description) LIKE :pattern) "
                         +
                         "ORDER BY e.eventDate DESC")
-        List<Event> searchEventsWithFilters(@Param("uniId") Long uniId,
+        List<EventResponse> searchEventsWithFilters(@Param("uniId") Long uniId,
                         @Param("pattern") String pattern,
                         @Param("clubId") Long clubId,
                         @Param("status") String status);
 
+        // Etiket bitset'lerini yeniden hesaplamak için: [id, title, description, category]
+        @Query("SELECT e.id, e.title, e.description, e.category FROM Event e WHERE e.status = 'ACTIVE'")
+        List<Object[]> findActiveTagSources();
+
+        // Sadece etiket kolonları yazılır; eşzamanlı düzenlemeyi ezmez
+        @Modifying
+        @Query("UPDATE Event e SET e.tagBits = :tagBits, e.categoryTagBits = :categoryTagBits WHERE e.id = :id")
+        int updateTagBits(@Param("id") Long id, @Param("tagBits") byte[] tagBits,
+                        @Param("categoryTagBits") byte[] categoryTagBits);
+
         @Query("SELECT e FROM Event e LEFT JOIN FETCH e.club LEFT JOIN FETCH e.university WHERE e.status = 'ACTIVE' ORDER BY e.eventDate ASC")
         List<Event> findAllActiveWithClubs();
+
+        // Harita indeksi: konumu olan aktif etkinlikler
+        @Query("SELECT new com.etuni.dto.EventDtos$GeoEvent(e.id, e.university.id, e.title, e.eventDate, "
+                        + "e.startTime, e.location, e.latitude, e.longitude) FROM Event e "
+                        + "WHERE e.status = 'ACTIVE' AND e.latitude IS NOT NULL AND e.longitude IS NOT NULL")
+        List<GeoEvent> findActiveGeoEvents();
+
+        // Üniversite indeksi: [eventId, universityId, eventDate]
+        @Query("SELECT e.id, e.university.id, e.eventDate FROM Event e WHERE e.status = 'ACTIVE' AND e.university IS NOT NULL")
+        List<Object[]> findActiveUniversitySchedule();
+
+        // Takvim indeksi: tarihi olan aktif etkinliklerin özeti
+        @Query("SELECT new com.etuni.dto.EventDtos$CalendarEvent(e.id, e.university.id, e.title, e.eventType, "
+                        + "e.eventDate, e.startTime, e.location, e.price) FROM Event e "
+                        + "WHERE e.status = 'ACTIVE' AND e.university IS NOT NULL AND e.eventDate IS NOT NULL")
+        List<CalendarEvent> findActiveCalendarEntries();
+
+        // Delta senkronizasyonu: değişen etkinliklerin güncel hali
+        @Query(EVENT_RESPONSE + "WHERE e.id IN :ids")
+        List<EventResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,7 @@
+package com.etuni.repository;
+
+import com.etuni.model.InterestTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface InterestTagRepository extends JpaRepository<InterestTag, Integer> {
+}
@@ -1,11 +1,40 @@
 package com.etuni.repository;
 
 import com.etuni.model.Notification;
-import com.etuni.model.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByUserOrderByCreatedAtDesc(UserEntity user);
+
+    // Keyset pagination: (user_id, created_at, id) index üzerinden, geçmiş uzunluğundan bağımsız.
+    // id tek başına kronolojik değil: pooled sequence her node'a ayrı id bloğu verir.
+    List<Notification> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+
+    // (createdAt, id), önceki sayfanın son bildiriminin değerleri; o bildirim silinmiş olsa da çalışır
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageAfter(@Param("userId") Long userId, @Param("createdAt") OffsetDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    long countByUserIdAndReadFlagFalse(Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.user.id = :userId AND n.readFlag = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.id = :id AND n.user.id = :userId AND n.readFlag = false")
+    int markRead(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.id IN :ids AND n.user.id = :userId AND n.readFlag = false")
+    int markReadIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
 }
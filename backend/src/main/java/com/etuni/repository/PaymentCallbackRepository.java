@@ -0,0 +1,35 @@
+package com.etuni.repository;
+
+import com.etuni.model.PaymentCallback;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentCallbackRepository extends JpaRepository<PaymentCallback, Long> {
+
+    Optional<PaymentCallback> findByToken(String token);
+
+    /**
+     * İşlenme zamanı gelmiş callback'ler. PROCESSING durumundakiler kiralama
+     * süresi dolduysa yeniden alınır; SKIP LOCKED ile node'lar çakışmaz.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM PaymentCallback c WHERE c.status IN ('PENDING', 'PROCESSING') AND c.nextAttemptAt <= :now "
+            + "ORDER BY c.nextAttemptAt")
+    List<PaymentCallback> lockDue(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PaymentCallback c WHERE c.status IN ('SUCCEEDED', 'FAILED') AND c.completedAt < :before")
+    int deleteCompletedBefore(@Param("before") OffsetDateTime before);
+}
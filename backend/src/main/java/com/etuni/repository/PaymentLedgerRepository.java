@@ -0,0 +1,45 @@
+package com.etuni.repository;
+
+import com.etuni.model.PaymentLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Gelir sorguları (kapsam, gün) indeksleri üzerinde çalışır; satırlar Java'ya
+ * taşınmaz, toplam veritabanında hesaplanır.
+ */
+public interface PaymentLedgerRepository extends JpaRepository<PaymentLedgerEntry, Long> {
+
+    boolean existsByToken(String token);
+
+    // Defterin ilk gerçek ödemesi; ondan sonraki ödemeler zaten recordPayment ile yazılmıştır
+    @Query("SELECT MIN(l.createdAt) FROM PaymentLedgerEntry l WHERE l.token NOT LIKE 'LEGACY-%'")
+    OffsetDateTime findFirstRecordedAt();
+
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM PaymentLedgerEntry l WHERE l.universityId = :id "
+            + "AND l.paidOn BETWEEN :from AND :to")
+    BigDecimal sumByUniversity(@Param("id") Long universityId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // [paidOn, SUM(amount), COUNT]
+    @Query("SELECT l.paidOn, SUM(l.amount), COUNT(l) FROM PaymentLedgerEntry l WHERE l.universityId = :id "
+            + "AND l.paidOn BETWEEN :from AND :to GROUP BY l.paidOn ORDER BY l.paidOn")
+    List<Object[]> dailyByUniversity(@Param("id") Long universityId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT l.paidOn, SUM(l.amount), COUNT(l) FROM PaymentLedgerEntry l WHERE l.clubId = :id "
+            + "AND l.paidOn BETWEEN :from AND :to GROUP BY l.paidOn ORDER BY l.paidOn")
+    List<Object[]> dailyByClub(@Param("id") Long clubId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT l.paidOn, SUM(l.amount), COUNT(l) FROM PaymentLedgerEntry l WHERE l.eventId = :id "
+            + "AND l.paidOn BETWEEN :from AND :to GROUP BY l.paidOn ORDER BY l.paidOn")
+    List<Object[]> dailyByEvent(@Param("id") Long eventId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
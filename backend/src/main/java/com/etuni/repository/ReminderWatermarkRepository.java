@@ -0,0 +1,7 @@
+package com.etuni.repository;
+
+import com.etuni.model.ReminderWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReminderWatermarkRepository extends JpaRepository<ReminderWatermark, String> {
+}
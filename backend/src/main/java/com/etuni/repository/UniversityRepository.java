@@ -1,9 +1,22 @@
 package com.etuni.repository;
 
 import com.etuni.model.University;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface UniversityRepository extends JpaRepository<University, Long> {
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "university-queries") })
   Optional<University> findByNameIgnoreCase(String name);
+
+  @Override
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "university-queries") })
+  List<University> findAll();
 }
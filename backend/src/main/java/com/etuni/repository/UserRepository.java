@@ -1,11 +1,42 @@
 package com.etuni.repository;
 
+import com.etuni.dto.AdminDtos.DirectoryUser;
 import com.etuni.model.UserEntity;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
   Optional<UserEntity> findByEmail(String email);
 
   java.util.List<UserEntity> findByRoleAndUniversityId(String role, Long universityId);
+
+  @Query("SELECT DISTINCT i FROM UserEntity u JOIN u.interests i")
+  List<String> findDistinctInterests();
+
+  List<UserEntity> findByInterestTagBitsIsNull();
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE UserEntity u SET u.passwordHash = :hash WHERE u.id = :id")
+  int updatePasswordHash(@Param("id") Long id, @Param("hash") String hash);
+
+  /**
+   * Admin rehberi: id > afterId olan kullanıcılar id sırasıyla (keyset).
+   * Üniversite aynı sorguda join edilir, interests yüklenmez. Null filtreler
+   * uygulanmaz; emailPrefix küçük harf ve '%' ile bitmiş olmalıdır.
+   */
+  @Query("SELECT new com.etuni.dto.AdminDtos$DirectoryUser(u.id, u.fullName, u.email, u.role, u.status, un.id, "
+      + "un.name) FROM UserEntity u LEFT JOIN u.university un WHERE u.id > :afterId "
+      + "AND (:role IS NULL OR u.role = :role) AND (:status IS NULL OR u.status = :status) "
+      + "AND (:universityId IS NULL OR un.id = :universityId) "
+      + "AND (:emailPrefix IS NULL OR LOWER(u.email) LIKE :emailPrefix ESCAPE '\\') ORDER BY u.id")
+  List<DirectoryUser> findDirectoryPage(@Param("afterId") long afterId, @Param("role") String role,
+      @Param("status") String status, @Param("universityId") Long universityId,
+      @Param("emailPrefix") String emailPrefix, Pageable pageable);
 }
@@ -0,0 +1,252 @@
+package com.etuni.scheduler;
+
+import com.etuni.model.EmailOutbox;
+import com.etuni.repository.EmailOutboxRepository;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the email_outbox table.
+ *
+ * Due rows are claimed in a short transaction (SKIP LOCKED, so several nodes
+ * can run the dispatcher), then sent one after another over a single SMTP
+ * connection. Each row is marked sent as soon as it is delivered; rows the
+ * batch cannot reach before its claim lease ends are released instead of being
+ * left for another node to send again. Failed messages are retried with
+ * exponential backoff until etuni.mail.maxAttempts is reached.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    // A claimed row is picked up again if its sender dies before reporting back
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+    // Longer than one SMTP send may take with the timeouts below
+    private static final Duration LEASE_MARGIN = Duration.ofMinutes(1);
+    private static final String SMTP_TIMEOUT_MS = "20000";
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender javaMailSender;
+    private final TransactionTemplate tx;
+    private final Bucket rateLimit;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+            JavaMailSender javaMailSender,
+            TransactionTemplate tx,
+            @Value("${spring.mail.username}") String fromEmail,
+            @Value("${etuni.mail.batchSize:50}") int batchSize,
+            @Value("${etuni.mail.ratePerMinute:120}") int ratePerMinute,
+            @Value("${etuni.mail.maxAttempts:8}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.tx = tx;
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        // SMTP sağlayıcısının gönderim limitini aşmamak için
+        this.rateLimit = Bucket.builder()
+                .addLimit(Bandwidth.builder().capacity(ratePerMinute)
+                        .refillGreedy(ratePerMinute, Duration.ofMinutes(1)).build())
+                .build();
+        // JavaMail waits forever by default; a hung send must not outlive the claim lease
+        if (javaMailSender instanceof JavaMailSenderImpl impl) {
+            Properties props = impl.getJavaMailProperties();
+            for (String key : new String[] { "connectiontimeout", "timeout", "writetimeout" }) {
+                props.putIfAbsent("mail.smtp." + key, SMTP_TIMEOUT_MS);
+                props.putIfAbsent("mail.smtps." + key, SMTP_TIMEOUT_MS);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${etuni.mail.pollMs:5000}")
+    public void dispatch() {
+        while (true) {
+            int allowed = (int) Math.min(batchSize, rateLimit.getAvailableTokens());
+            if (allowed <= 0) {
+                return;
+            }
+            // Taken before the claim so it never ends after the lease does
+            OffsetDateTime deadline = OffsetDateTime.now().plus(CLAIM_LEASE).minus(LEASE_MARGIN);
+            List<EmailOutbox> batch = claim(allowed);
+            if (batch.isEmpty()) {
+                return;
+            }
+            rateLimit.tryConsume(batch.size());
+            send(batch, deadline);
+            if (batch.size() < allowed) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes delivered messages older than a week. Failed messages are kept for
+     * inspection.
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeSent() {
+        Integer removed = tx.execute(status -> outboxRepository.deleteSentBefore(OffsetDateTime.now().minusDays(7)));
+        log.info("Purged {} sent emails from outbox", removed);
+    }
+
+    private List<EmailOutbox> claim(int limit) {
+        return tx.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<EmailOutbox> due = outboxRepository.lockDue(now, PageRequest.of(0, limit));
+            for (EmailOutbox o : due) {
+                o.setStatus(EmailOutbox.SENDING);
+                o.setAttempts(o.getAttempts() + 1);
+                o.setNextAttemptAt(now.plus(CLAIM_LEASE));
+            }
+            return due;
+        });
+    }
+
+    private void send(List<EmailOutbox> batch, OffsetDateTime deadline) {
+        // Rows still unsent close to the lease end are released, so another node never sends them twice
+        int sent = 0;
+        int failed = 0;
+        Transport transport = null;
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                if (OffsetDateTime.now().isAfter(deadline)) {
+                    release(batch.subList(i, batch.size()));
+                    break;
+                }
+                EmailOutbox o = batch.get(i);
+                MimeMessage message;
+                try {
+                    message = toMimeMessage(o);
+                } catch (Exception e) {
+                    fail(o, "INVALID_MESSAGE: " + e.getMessage());
+                    failed++;
+                    continue;
+                }
+                try {
+                    transport = deliver(transport, message);
+                } catch (MessagingException | MailException e) {
+                    fail(o, e.getMessage());
+                    failed++;
+                    // The connection may be broken; the next message reconnects
+                    closeQuietly(transport);
+                    transport = null;
+                    continue;
+                }
+                OffsetDateTime now = OffsetDateTime.now();
+                tx.executeWithoutResult(status -> outboxRepository.markSent(List.of(o.getId()), now));
+                sent++;
+            }
+        } finally {
+            closeQuietly(transport);
+        }
+        log.info("Email batch: {} sent, {} failed", sent, failed);
+    }
+
+    /**
+     * Sends over one SMTP connection that is kept open for the whole batch, as
+     * JavaMailSenderImpl does for an array of messages. Other senders send one
+     * message per call.
+     */
+    private Transport deliver(Transport transport, MimeMessage message) throws MessagingException {
+        if (!(javaMailSender instanceof JavaMailSenderImpl impl)) {
+            javaMailSender.send(message);
+            return null;
+        }
+        if (transport == null || !transport.isConnected()) {
+            transport = impl.getSession().getTransport(impl.getProtocol());
+            transport.connect(impl.getHost(), impl.getPort(), impl.getUsername(), impl.getPassword());
+        }
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+        return transport;
+    }
+
+    private void fail(EmailOutbox o, String error) {
+        o.setLastError(truncate(error));
+        if (o.getAttempts() >= maxAttempts) {
+            o.setStatus(EmailOutbox.FAILED);
+            log.error("Email {} to {} failed permanently: {}", o.getId(), o.getRecipient(), error);
+        } else {
+            o.setStatus(EmailOutbox.PENDING);
+            o.setNextAttemptAt(OffsetDateTime.now().plus(backoff(o.getAttempts())));
+            log.warn("Email {} to {} failed (attempt {}): {}", o.getId(), o.getRecipient(), o.getAttempts(),
+                    error);
+        }
+        tx.executeWithoutResult(status -> outboxRepository.save(o));
+    }
+
+    // Not attempted: back to the queue without counting an attempt
+    private void release(List<EmailOutbox> rest) {
+        OffsetDateTime now = OffsetDateTime.now();
+        for (EmailOutbox o : rest) {
+            o.setStatus(EmailOutbox.PENDING);
+            o.setAttempts(o.getAttempts() - 1);
+            o.setNextAttemptAt(now);
+        }
+        tx.executeWithoutResult(status -> outboxRepository.saveAll(rest));
+        log.warn("Email batch ran close to its {} lease, released {} unsent messages", CLAIM_LEASE, rest.size());
+    }
+
+    private static void closeQuietly(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException ignored) {
+            // already disconnected
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox o) throws Exception {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, o.isHtml(), "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(o.getRecipient());
+        helper.setSubject(o.getSubject());
+        helper.setText(o.getBody(), o.isHtml());
+        return message;
+    }
+
+    // 30s, 1m, 2m, 4m ... capped at one hour
+    private Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = BASE_BACKOFF.multipliedBy(factor);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
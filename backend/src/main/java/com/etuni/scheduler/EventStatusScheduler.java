@@ -2,9 +2,17 @@ package com.etuni.scheduler;
 
 import com.etuni.model.Event;
 import com.etuni.repository.EventRepository;
+import com.etuni.service.CacheInvalidationBus;
+import com.etuni.service.ChangeLogService;
+import com.etuni.service.EventCalendarService;
+import com.etuni.service.EventGeoService;
+import com.etuni.service.ResourceVersionService;
+import com.etuni.service.UniversityEventIndexService;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -18,9 +26,23 @@ public class EventStatusScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(EventStatusScheduler.class);
     private final EventRepository eventRepository;
+    private final EventGeoService geoService;
+    private final UniversityEventIndexService universityIndex;
+    private final EventCalendarService calendar;
+    private final ResourceVersionService versions;
+    private final ChangeLogService changeLog;
+    private final CacheInvalidationBus bus;
 
-    public EventStatusScheduler(EventRepository eventRepository) {
+    public EventStatusScheduler(EventRepository eventRepository, EventGeoService geoService,
+            UniversityEventIndexService universityIndex, EventCalendarService calendar,
+            ResourceVersionService versions, ChangeLogService changeLog, CacheInvalidationBus bus) {
         this.eventRepository = eventRepository;
+        this.geoService = geoService;
+        this.universityIndex = universityIndex;
+        this.calendar = calendar;
+        this.versions = versions;
+        this.changeLog = changeLog;
+        this.bus = bus;
     }
 
     /**
@@ -46,12 +68,23 @@ public class EventStatusScheduler {
 
         log.info("Found {} expired events. Updating status to PASSIVE.", expiredEvents.size());
 
+        Set<Long> touched = new HashSet<>();
         for (Event event : expiredEvents) {
             event.setStatus("PASSIVE");
+            geoService.remove(event.getId());
+            universityIndex.remove(event.getId());
+            calendar.remove(event.getId());
+            changeLog.event(event);
+            // Aynı saatte çalışan diğer node'lar bu etkinlikleri artık ACTIVE bulmaz
+            bus.publish("event", event.getId().toString());
+            if (event.getUniversity() != null) {
+                touched.add(event.getUniversity().getId());
+            }
             log.info("Marked event {} (ID: {}) as PASSIVE", event.getTitle(), event.getId());
         }
 
         eventRepository.saveAll(expiredEvents);
+        touched.forEach(uniId -> versions.bump(ResourceVersionService.eventsOf(uniId)));
         log.info("Successfully updated {} events to PASSIVE.", expiredEvents.size());
     }
 
@@ -0,0 +1,178 @@
+package com.etuni.scheduler;
+
+import com.etuni.model.PaymentCallback;
+import com.etuni.repository.PaymentCallbackRepository;
+import com.etuni.service.AttendanceService;
+import com.etuni.service.PaymentService;
+import com.etuni.service.RevenueService;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Completes payment callbacks recorded by PaymentCallbackService.
+ *
+ * Due rows are claimed in a short transaction (SKIP LOCKED), then each token is
+ * verified with the payment provider; the paid attendance and the ledger entry
+ * are written in the same transaction that marks the row SUCCEEDED. Provider errors are retried
+ * with exponential backoff until etuni.payments.callbackMaxAttempts; a payment
+ * the provider reports as not successful fails right away.
+ */
+@Component
+public class PaymentCallbackProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentCallbackProcessor.class);
+
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(2);
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    // verifyPayment bu durumu sağlayıcıya ulaşılamadığında döndürür
+    private static final String PROVIDER_ERROR = "ERROR";
+
+    private final PaymentCallbackRepository callbackRepository;
+    private final PaymentService paymentService;
+    private final AttendanceService attendanceService;
+    private final RevenueService revenueService;
+    private final TransactionTemplate tx;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public PaymentCallbackProcessor(PaymentCallbackRepository callbackRepository,
+            PaymentService paymentService,
+            AttendanceService attendanceService,
+            RevenueService revenueService,
+            TransactionTemplate tx,
+            @Qualifier("paymentCallbackExecutor") Executor executor,
+            @Value("${etuni.payments.callbackBatchSize:20}") int batchSize,
+            @Value("${etuni.payments.callbackMaxAttempts:10}") int maxAttempts) {
+        this.callbackRepository = callbackRepository;
+        this.paymentService = paymentService;
+        this.attendanceService = attendanceService;
+        this.revenueService = revenueService;
+        this.tx = tx;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /** Starts a drain in the background without waiting for the next poll. */
+    public void kick() {
+        executor.execute(this::process);
+    }
+
+    @Scheduled(fixedDelayString = "${etuni.payments.callbackPollMs:5000}")
+    public void process() {
+        while (true) {
+            List<PaymentCallback> batch = claim();
+            batch.forEach(this::complete);
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Keeps finished callbacks for a month so late duplicates still get the
+     * recorded outcome.
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    public void purgeCompleted() {
+        Integer removed = tx.execute(status -> callbackRepository
+                .deleteCompletedBefore(OffsetDateTime.now().minusDays(30)));
+        log.info("Purged {} completed payment callbacks", removed);
+    }
+
+    private List<PaymentCallback> claim() {
+        return tx.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<PaymentCallback> due = callbackRepository.lockDue(now, PageRequest.of(0, batchSize));
+            for (PaymentCallback c : due) {
+                c.setStatus(PaymentCallback.PROCESSING);
+                c.setAttempts(c.getAttempts() + 1);
+                c.setNextAttemptAt(now.plus(CLAIM_LEASE));
+            }
+            return due;
+        });
+    }
+
+    private void complete(PaymentCallback c) {
+        PaymentService.PaymentVerificationResponse verification;
+        try {
+            verification = paymentService.verifyPayment(c.getToken());
+        } catch (Exception e) {
+            retry(c, e.getMessage());
+            return;
+        }
+
+        if (!verification.verified()) {
+            if (PROVIDER_ERROR.equals(verification.status())) {
+                retry(c, verification.message());
+            } else {
+                log.warn("Payment verification failed for token {}: {}", c.getToken(), verification.message());
+                finish(c, PaymentCallback.FAILED, verification.message());
+            }
+            return;
+        }
+
+        try {
+            tx.executeWithoutResult(status -> {
+                // createPaidAttendance upsert'tür; tekrar denemede ikinci kayıt oluşmaz
+                attendanceService.createPaidAttendance(c.getUserId(), c.getEventId(), c.getToken());
+                revenueService.recordPayment(c.getToken(), c.getEventId(), c.getUserId(),
+                        verification.paidAmount());
+                c.setStatus(PaymentCallback.SUCCEEDED);
+                c.setMessage("SUCCESS");
+                c.setCompletedAt(OffsetDateTime.now());
+                callbackRepository.save(c);
+            });
+        } catch (Exception e) {
+            log.error("Error creating attendance after successful payment {}", c.getToken(), e);
+            retry(c, "INTERNAL_ERROR");
+        }
+    }
+
+    private void retry(PaymentCallback c, String error) {
+        if (c.getAttempts() >= maxAttempts) {
+            log.error("Payment callback {} failed permanently: {}", c.getToken(), error);
+            finish(c, PaymentCallback.FAILED, error);
+            return;
+        }
+        log.warn("Payment callback {} failed (attempt {}): {}", c.getToken(), c.getAttempts(), error);
+        c.setStatus(PaymentCallback.PENDING);
+        c.setNextAttemptAt(OffsetDateTime.now().plus(backoff(c.getAttempts())));
+        c.setMessage(truncate(error));
+        tx.executeWithoutResult(status -> callbackRepository.save(c));
+    }
+
+    private void finish(PaymentCallback c, String status, String message) {
+        c.setStatus(status);
+        c.setMessage(truncate(message));
+        c.setCompletedAt(OffsetDateTime.now());
+        tx.executeWithoutResult(s -> callbackRepository.save(c));
+    }
+
+    // 5s, 10s, 20s ... capped at ten minutes
+    private Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = BASE_BACKOFF.multipliedBy(factor);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
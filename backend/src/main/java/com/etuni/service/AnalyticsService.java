@@ -21,13 +21,15 @@ public class AnalyticsService {
     private final AttendanceRepository attendanceRepo;
     private final UniversityRepository universityRepo;
     private final ClubRepository clubRepo;
+    private final TrendingService trendingService;
 
     public AnalyticsService(EventRepository eventRepo, AttendanceRepository attendanceRepo,
-            UniversityRepository universityRepo, ClubRepository clubRepo) {
+            UniversityRepository universityRepo, ClubRepository clubRepo, TrendingService trendingService) {
         this.eventRepo = eventRepo;
         this.attendanceRepo = attendanceRepo;
         this.universityRepo = universityRepo;
         this.clubRepo = clubRepo;
+        this.trendingService = trendingService;
     }
 
     /**
@@ -157,37 +159,14 @@ public class AnalyticsService {
     }
 
     /**
-     * En popüler etkinlikler
+     * En popüler etkinlikler (katılım ve check-in puanına göre), TrendingService sayaçlarından.
      */
     public TopEventsResponse getTopEvents(String period) {
-        LocalDate start;
-        if ("week".equalsIgnoreCase(period)) {
-            start = LocalDate.now().minusWeeks(1);
-        } else if ("month".equalsIgnoreCase(period)) {
-            start = LocalDate.now().minusMonths(1);
-        } else {
-            start = LocalDate.now().minusMonths(3);
-        }
-
-        List<Attendance> attendances = attendanceRepo.findAll().stream()
-                .filter(a -> a.isVerified() && a.getScannedAt() != null
-                        && a.getScannedAt().toLocalDate().isAfter(start))
-                .toList();
-
-        Map<Long, Integer> counts = new HashMap<>();
-        Map<Long, String> titles = new HashMap<>();
-        for (Attendance a : attendances) {
-            Long eid = a.getEvent().getId();
-            counts.merge(eid, 1, Integer::sum);
-            titles.put(eid, a.getEvent().getTitle());
-        }
-
-        List<TopEventItem> top = counts.entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(10)
-                .map(e -> new TopEventItem(e.getKey(), titles.get(e.getKey()), e.getValue()))
-                .toList();
+        return getTopEvents(period, null);
+    }
 
-        return new TopEventsResponse(period, top);
+    /** universityId null ise tüm üniversiteler. */
+    public TopEventsResponse getTopEvents(String period, Long universityId) {
+        return new TopEventsResponse(period, trendingService.top(TrendingService.window(period), universityId, 10));
     }
 }
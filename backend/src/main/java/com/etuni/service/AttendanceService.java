@@ -20,14 +20,21 @@ public class AttendanceService {
   private final EventRepository eventRepo;
   private final UserRepository userRepo;
   private final QrPayloadUtil qrUtil;
+  private final EventReminderService reminderService;
+  private final TrendingService trendingService;
+  private final ChangeLogService changeLog;
   private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
 
   public AttendanceService(AttendanceRepository attendanceRepo, EventRepository eventRepo, UserRepository userRepo,
-      QrPayloadUtil qrUtil) {
+      QrPayloadUtil qrUtil, EventReminderService reminderService, TrendingService trendingService,
+      ChangeLogService changeLog) {
     this.attendanceRepo = attendanceRepo;
     this.eventRepo = eventRepo;
     this.userRepo = userRepo;
     this.qrUtil = qrUtil;
+    this.reminderService = reminderService;
+    this.trendingService = trendingService;
+    this.changeLog = changeLog;
   }
 
   @org.springframework.transaction.annotation.Transactional
@@ -72,6 +79,8 @@ public class AttendanceService {
     a.setScannedAt(LocalDateTime.now());
     a.setStatus("APPROVED");
     attendanceRepo.save(a);
+    trendingService.recordCheckIn(a.getEvent());
+    changeLog.attendance(a);
     var u = a.getUser();
     return new QRValidationResponse(true, "CHECK_IN_OK", a.getEvent().getId(), a.getEvent().getTitle(),
         a.getScannedAt(), u == null ? null : u.getId(), u == null ? null : u.getFullName(),
@@ -102,7 +111,8 @@ public class AttendanceService {
       code = java.util.UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
     }
     a.setTicketCode(code);
-    attendanceRepo.save(a);
+    changeLog.attendance(attendanceRepo.save(a));
+    trendingService.recordJoin(event);
   }
 
   @org.springframework.transaction.annotation.Transactional
@@ -127,7 +137,13 @@ public class AttendanceService {
       }
       a.setTicketCode(code);
     }
-    attendanceRepo.save(a);
+    Attendance saved = attendanceRepo.save(a);
+    // Daha önce katılmış (ödeme bekleyen) kullanıcı ikinci kez sayılmaz
+    if (existing.isEmpty()) {
+      trendingService.recordJoin(event);
+    }
+    reminderService.scheduleAttendance(saved.getId(), event);
+    changeLog.attendance(saved);
     logger.info("Paid attendance created/updated for user {} and event {} with transaction {}", userId, eventId,
         transactionId);
   }
@@ -175,6 +191,8 @@ public class AttendanceService {
       a.setScannedAt(LocalDateTime.now());
       a.setStatus("APPROVED");
       attendanceRepo.save(a);
+      trendingService.recordCheckIn(a.getEvent());
+      changeLog.attendance(a);
       var uu = a.getUser();
       return new QRValidationResponse(true, "CHECK_IN_OK", a.getEvent().getId(), a.getEvent().getTitle(),
           a.getScannedAt(), uu == null ? null : uu.getId(), uu == null ? null : uu.getFullName(),
@@ -209,6 +227,8 @@ public class AttendanceService {
           existing.setVerified(true);
           existing.setScannedAt(LocalDateTime.now());
           attendanceRepo.save(existing);
+          trendingService.recordCheckIn(event);
+          changeLog.attendance(existing);
           var uuu = existing.getUser();
           return new QRValidationResponse(true, "CHECK_IN_OK", evId, event.getTitle(), existing.getScannedAt(),
               uuu == null ? null : uuu.getId(), uuu == null ? null : uuu.getFullName(),
@@ -231,6 +251,9 @@ public class AttendanceService {
     }
     a.setTicketCode(code);
     Attendance saved = attendanceRepo.save(a);
+    trendingService.recordJoin(event);
+    trendingService.recordCheckIn(event);
+    changeLog.attendance(saved);
     logger.info("Organizer {} created direct attendance {} for event {}", organizerId, saved.getId(), evId);
     var uu = saved.getUser();
     return new QRValidationResponse(true, "CHECK_IN_OK", evId, event.getTitle(), saved.getScannedAt(),
@@ -242,6 +265,8 @@ public class AttendanceService {
     Attendance a = attendanceRepo.findById(attendanceId).orElseThrow(() -> new RuntimeException("NOT_FOUND"));
     a.setStatus("APPROVED");
     attendanceRepo.save(a);
+    reminderService.scheduleAttendance(a.getId(), a.getEvent());
+    changeLog.attendance(a);
   }
 
   @org.springframework.transaction.annotation.Transactional
@@ -249,6 +274,8 @@ public class AttendanceService {
     Attendance a = attendanceRepo.findById(attendanceId).orElseThrow(() -> new RuntimeException("NOT_FOUND"));
     a.setStatus("REJECTED");
     attendanceRepo.save(a);
+    reminderService.cancelAttendance(a.getId());
+    changeLog.attendance(a);
   }
 
   @org.springframework.transaction.annotation.Transactional(readOnly = true)
@@ -264,13 +291,4 @@ public class AttendanceService {
             a.getStatus()))
         .toList();
   }
-
-  @org.springframework.transaction.annotation.Transactional(readOnly = true)
-  public java.math.BigDecimal calculateTotalRevenueForUniversity(Long uniId) {
-    return attendanceRepo.findVerifiedByUniversity(uniId)
-        .stream()
-        .filter(a -> !a.getEvent().isFree())
-        .map(a -> a.getEvent().getPrice())
-        .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
-  }
 }
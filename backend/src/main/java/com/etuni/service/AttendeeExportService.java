@@ -0,0 +1,135 @@
+package com.etuni.service;
+
+import com.etuni.dto.AttendeeDtos.AttendeeExportRow;
+import com.etuni.exception.ValidationException;
+import com.etuni.repository.AttendanceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Etkinlik katılımcılarını CSV veya NDJSON olarak akıtır.
+ *
+ * Satırlar tek sorguda (user ile join) ileri yönlü bir cursor'dan okunur ve
+ * okundukça yazılır; liste ya da ara Map kurulmadığı için bellek kullanımı
+ * katılımcı sayısından bağımsızdır.
+ */
+@Service
+public class AttendeeExportService {
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson"));
+
+        public final String extension;
+        public final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("format", "csv veya ndjson olmalı");
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "attendanceId,userId,fullName,email,ticketCode,status,verified,scannedAt";
+    private static final int FLUSH_EVERY = 500;
+
+    private final AttendanceRepository attendanceRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+
+    public AttendeeExportService(AttendanceRepository attendanceRepo, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.attendanceRepo = attendanceRepo;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * StreamingResponseBody içinden (istek thread'i dışında) çağrılır; cursor
+     * açık kalabilsin diye tüm yazma tek bir read-only transaction içindedir.
+     */
+    public void write(Long eventId, Format format, String status, Boolean verified, OutputStream out) {
+        readOnlyTx.executeWithoutResult(tx -> {
+            try (Stream<AttendeeExportRow> rows = attendanceRepo.streamForExport(eventId, status, verified)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+                if (format == Format.CSV) {
+                    // BOM: Excel Türkçe karakterleri doğru açsın
+                    writer.write('\uFEFF');
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                int written = 0;
+                for (Iterator<AttendeeExportRow> it = rows.iterator(); it.hasNext();) {
+                    AttendeeExportRow row = it.next();
+                    if (format == Format.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    if (++written % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsv(Writer writer, AttendeeExportRow row) throws IOException {
+        writer.write(String.valueOf(row.attendanceId()));
+        writer.write(',');
+        writer.write(row.userId() == null ? "" : row.userId().toString());
+        writer.write(',');
+        writer.write(csv(row.userFullName()));
+        writer.write(',');
+        writer.write(csv(row.userEmail()));
+        writer.write(',');
+        writer.write(csv(row.ticketCode()));
+        writer.write(',');
+        writer.write(csv(row.status()));
+        writer.write(',');
+        writer.write(String.valueOf(row.verified()));
+        writer.write(',');
+        writer.write(row.scannedAt() == null ? "" : row.scannedAt().toString());
+        writer.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        // Kullanıcı girdisi tablo programında formül olarak çalışmasın
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -6,10 +6,12 @@ import com.etuni.model.University;
 import com.etuni.repository.UniversityRepository;
 import com.etuni.repository.UserRepository;
 import com.etuni.util.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Service;
 
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional
@@ -17,57 +19,103 @@ public class AuthService {
 
   private final UserRepository userRepo;
   private final UniversityRepository uniRepo;
-  private final PasswordEncoder encoder;
+  private final PasswordHashingService passwords;
   private final JwtUtil jwt;
+  private final EmailService emailService;
+  private final TransactionTemplate tx;
 
-  public AuthService(UserRepository userRepo, UniversityRepository uniRepo, PasswordEncoder encoder, JwtUtil jwt) {
+  public AuthService(UserRepository userRepo, UniversityRepository uniRepo, PasswordHashingService passwords,
+      JwtUtil jwt,
+      EmailService emailService, TransactionTemplate tx) {
     this.userRepo = userRepo;
     this.uniRepo = uniRepo;
-    this.encoder = encoder;
+    this.passwords = passwords;
     this.jwt = jwt;
+    this.emailService = emailService;
+    this.tx = tx;
   }
 
+  /**
+   * Parola transaction açılmadan hash'lenir; kayıt ve hoş geldin e-postası
+   * ardından kısa bir transaction'da yazılır. Kullanılan e-posta için boşuna
+   * hash'lenmesin diye çakışma önce de kontrol edilir, aradaki yarışı unique
+   * kısıt yakalar.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public AuthResponse register(RegisterRequest req) {
-    userRepo.findByEmail(req.email()).ifPresent(u -> {
-      throw new RuntimeException("EMAIL_IN_USE");
+    ensureEmailFree(req.email());
+    return register(req, user -> {
     });
+  }
 
-    University uni = uniRepo.findById(req.universityId())
-        .orElseThrow(() -> new RuntimeException("UNIVERSITY_NOT_FOUND"));
-
-    String role = (req.role() == null || req.role().isBlank()) ? "STUDENT" : req.role().toUpperCase();
-
-    UserEntity u = new UserEntity();
-    u.setFullName(req.fullName());
-    u.setEmail(req.email().toLowerCase());
-    u.setPasswordHash(encoder.encode(req.password()));
-    u.setRole(role);
-
-    // Organizer kayıtları admin onaylı kurgulanabilir:
-    u.setStatus(role.equals("ORGANIZER") ? "PENDING_APPROVAL" : "ACTIVE");
-
-    u.setUniversity(uni);
-    UserEntity saved = userRepo.save(u);
+  /**
+   * Önce parola hash'lenir, e-posta kontrolü ve kayıt sonra tek transaction'da
+   * yapılır; afterSave de aynı transaction'da çalışır (ör. yöneticinin atama
+   * bildirimi), hata olursa kullanıcı da geri alınır. Open-in-view açık
+   * isteklerde hash beklenirken bağlantı tutulmaz.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public AuthResponse register(RegisterRequest req, Consumer<UserEntity> afterSave) {
+    String passwordHash = passwords.encode(req.password());
+
+    UserEntity saved = tx.execute(status -> {
+      ensureEmailFree(req.email());
+      University uni = uniRepo.findById(req.universityId())
+          .orElseThrow(() -> new RuntimeException("UNIVERSITY_NOT_FOUND"));
+
+      String role = (req.role() == null || req.role().isBlank()) ? "STUDENT" : req.role().toUpperCase();
+
+      UserEntity u = new UserEntity();
+      u.setFullName(req.fullName());
+      u.setEmail(req.email().toLowerCase());
+      u.setPasswordHash(passwordHash);
+      u.setRole(role);
+
+      // Organizer kayıtları admin onaylı kurgulanabilir:
+      u.setStatus(role.equals("ORGANIZER") ? "PENDING_APPROVAL" : "ACTIVE");
+
+      u.setUniversity(uni);
+      UserEntity user = userRepo.save(u);
+      // Outbox'a kayıt ile aynı transaction'da yazılır
+      emailService.sendWelcomeEmail(user.getEmail(), user.getFullName());
+      afterSave.accept(user);
+      return user;
+    });
 
     String token = jwt.generateToken(saved.getId(), saved.getEmail(), saved.getRole());
     return new AuthResponse(token, "Bearer", toView(saved));
   }
 
+  /**
+   * Transaction dışında çalışır: kullanıcı okunduktan sonra bağlantı havuza
+   * döner, BCrypt beklenirken tutulmaz (/api/auth open-in-view dışındadır; bkz.
+   * OpenInViewConfig). Hash maliyeti değiştiyse parola yeni maliyetle kaydedilir.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public AuthResponse login(LoginRequest req) {
     UserEntity u = userRepo.findByEmail(req.email().toLowerCase())
         .orElseThrow(() -> new RuntimeException("INVALID_CREDENTIALS"));
 
-    if (!encoder.matches(req.password(), u.getPasswordHash())) {
+    if (!passwords.matches(req.password(), u.getPasswordHash())) {
       throw new RuntimeException("INVALID_CREDENTIALS");
     }
     if (!"ACTIVE".equalsIgnoreCase(u.getStatus())) {
       throw new RuntimeException("USER_NOT_ACTIVE");
     }
+    if (passwords.needsUpgrade(u.getPasswordHash())) {
+      userRepo.updatePasswordHash(u.getId(), passwords.encode(req.password()));
+    }
 
     String token = jwt.generateToken(u.getId(), u.getEmail(), u.getRole());
     return new AuthResponse(token, "Bearer", toView(u));
   }
 
+  private void ensureEmailFree(String email) {
+    userRepo.findByEmail(email.toLowerCase()).ifPresent(u -> {
+      throw new RuntimeException("EMAIL_IN_USE");
+    });
+  }
+
   private UserView toView(UserEntity u) {
     Long uniId = (u.getUniversity() == null) ? null : u.getUniversity().getId();
     return new UserView(u.getId(), u.getFullName(), u.getEmail(), u.getRole(), u.getStatus(), uniId);
@@ -0,0 +1,201 @@
+package com.etuni.service;
+
+import com.etuni.util.InvalidationMessages;
+import com.etuni.util.InvalidationMessages.Message;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Çok node'lu kurulumda bellek içi önbelleklerin birlikte boşaltılması.
+ *
+ * Her node'un kendi Caffeine önbellekleri (Spring cache'leri, Hibernate
+ * second-level cache, ResourceVersionService sayaçları, etkinlik indeksleri)
+ * vardır. Bir node'daki yazma kendi önbelleğini zaten boşaltır; burada aynı
+ * invalidation diğer node'lara da duyurulur ve onlar da yerelde uygular.
+ *
+ * Bir transaction içindeki invalidation'lar toplanır, tekrarlar atılır ve
+ * commit sonrası tek mesajla (sığmazsa birkaç) gönderilir; rollback olursa
+ * hiçbir şey gönderilmez. Mesaj "tür gövde" satırlarından oluşur; türü
+ * işleyen bileşen on(...) ile kaydolur. cache ve entity türleri burada
+ * işlenir.
+ *
+ * Dinleme bağlantısı kopup mesaj kaçmış olabilirse tüm önbellekler boşaltılır
+ * ve onGap(...) ile kaydolanlar kendilerini yeniden yükler.
+ */
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final InvalidationTransport transport;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> gapHandlers = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(InvalidationTransport transport, CacheManager cacheManager,
+            EntityManagerFactory entityManagerFactory) {
+        this.transport = transport;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        on("cache", this::clearCache);
+        on("entity", this::evictEntity);
+    }
+
+    /** Diğer node'lardan gelen kind türündeki invalidation'ları handler uygular. */
+    public void on(String kind, Consumer<String> handler) {
+        handlers.put(kind, handler);
+    }
+
+    /** Mesaj kaçmış olabileceğinde; önbellek tamamen yeniden kurulmalı. */
+    public void onGap(Runnable handler) {
+        gapHandlers.add(handler);
+    }
+
+    /** Diğer node'lara duyurur (commit sonrası). Yerel önbelleği çağıran boşaltır. */
+    public void publish(String kind, String body) {
+        String line = kind + " " + body;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            batch().lines.add(line);
+        } else {
+            send(Set.of(line));
+        }
+    }
+
+    /** Spring cache'inin tamamı; anahtar tipleri (Long, String) mesajda korunamaz. */
+    public void evictCache(String cacheName) {
+        publish("cache", cacheName);
+    }
+
+    /** Hibernate second-level cache'teki kayıt ve sorgu önbellekleri. */
+    public void evictEntity(Class<?> type, Long id) {
+        publish("entity", type.getSimpleName() + ":" + id);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        // ApplicationReadyEvent'teki indeks yüklemelerinden önce: aradaki mesajlar kaçmaz
+        transport.start(this::receive, this::gap);
+    }
+
+    @PreDestroy
+    public void stop() {
+        transport.stop();
+    }
+
+    void receive(String payload) {
+        Message message = InvalidationMessages.decode(payload);
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        for (String line : message.lines()) {
+            int space = line.indexOf(' ');
+            String kind = space < 0 ? line : line.substring(0, space);
+            Consumer<String> handler = handlers.get(kind);
+            if (handler == null) {
+                log.debug("Unknown cache invalidation: {}", line);
+                continue;
+            }
+            try {
+                handler.accept(space < 0 ? "" : line.substring(space + 1));
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation '{}' failed: {}", line, e.getMessage());
+            }
+        }
+    }
+
+    private void gap() {
+        log.warn("Cache invalidations may have been missed, dropping local caches");
+        cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        for (Runnable handler : gapHandlers) {
+            try {
+                handler.run();
+            } catch (RuntimeException e) {
+                log.warn("Cache resync failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void clearCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    // Yazan node'da sorgu önbelleği update-timestamps ile geçersizleşir; diğerlerinde bölgeler boşaltılır
+    private void evictEntity(String body) {
+        int colon = body.indexOf(':');
+        String name = body.substring(0, colon);
+        Long id = Long.valueOf(body.substring(colon + 1));
+        for (EntityType<?> type : entityManagerFactory.getMetamodel().getEntities()) {
+            if (type.getJavaType().getSimpleName().equals(name)) {
+                entityManagerFactory.getCache().evict(type.getJavaType(), id);
+            }
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private void send(Set<String> lines) {
+        try {
+            for (String message : InvalidationMessages.encode(nodeId, lines, transport.maxMessageBytes())) {
+                transport.send(message);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidations could not be published: {}", e.getMessage());
+        }
+    }
+
+    // REQUIRES_NEW ile açılan iç transaction'ın senkronizasyonları ayrıdır, kendi batch'ini alır
+    private Batch batch() {
+        for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+            if (s instanceof Batch b && b.owner() == this) {
+                return b;
+            }
+        }
+        Batch b = new Batch();
+        TransactionSynchronizationManager.registerSynchronization(b);
+        return b;
+    }
+
+    private final class Batch implements TransactionSynchronization {
+
+        final Set<String> lines = new LinkedHashSet<>();
+
+        CacheInvalidationBus owner() {
+            return CacheInvalidationBus.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            send(lines);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.etuni.service;
+
+import com.etuni.model.Attendance;
+import com.etuni.model.ChangeLogEntry;
+import com.etuni.model.Club;
+import com.etuni.model.Event;
+import com.etuni.repository.ChangeLogRepository;
+import java.time.OffsetDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Event, Club ve Attendance değişikliklerini change_log'a yazar.
+ *
+ * Kayıt, değişikliği yapan transaction içinde eklenir; değişiklik geri
+ * alınırsa kaydı da geri alınır. Okuma tarafı SyncService'tir. Eski kayıtlar
+ * günlük olarak silinir; imleci silinen aralıkta kalan istemci tam liste alır.
+ */
+@Service
+public class ChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+
+    private final ChangeLogRepository changeLogRepo;
+    private final int retentionDays;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepo,
+            @Value("${etuni.sync.retentionDays:30}") int retentionDays) {
+        this.changeLogRepo = changeLogRepo;
+        this.retentionDays = retentionDays;
+    }
+
+    /** Oluşturma, güncelleme, iptal ve durum değişikliği. */
+    @Transactional
+    public void event(Event e) {
+        Long universityId = e.getUniversity() == null ? null : e.getUniversity().getId();
+        record(ChangeLogEntry.EVENT, e.getId(), universityId, null, ChangeLogEntry.UPSERT);
+    }
+
+    /** Silme veya başka üniversiteye taşıma; universityId etkinliğin çıktığı üniversite. */
+    @Transactional
+    public void eventRemoved(Long eventId, Long universityId) {
+        record(ChangeLogEntry.EVENT, eventId, universityId, null, ChangeLogEntry.DELETE);
+    }
+
+    @Transactional
+    public void club(Club c) {
+        Long universityId = c.getUniversity() == null ? null : c.getUniversity().getId();
+        record(ChangeLogEntry.CLUB, c.getId(), universityId, null, ChangeLogEntry.UPSERT);
+    }
+
+    @Transactional
+    public void clubRemoved(Long clubId, Long universityId) {
+        record(ChangeLogEntry.CLUB, clubId, universityId, null, ChangeLogEntry.DELETE);
+    }
+
+    /** Katılım sadece sahibine gider. */
+    @Transactional
+    public void attendance(Attendance a) {
+        if (a.getUser() == null) {
+            return;
+        }
+        record(ChangeLogEntry.ATTENDANCE, a.getId(), null, a.getUser().getId(), ChangeLogEntry.UPSERT);
+    }
+
+    @Scheduled(cron = "${etuni.sync.compactCron:0 30 3 * * *}")
+    @Transactional
+    public void compact() {
+        int deleted = changeLogRepo.deleteBefore(OffsetDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Change log compacted: {} entries older than {} days", deleted, retentionDays);
+        }
+    }
+
+    private void record(String entityType, Long entityId, Long universityId, Long userId, String operation) {
+        if (universityId == null && userId == null) {
+            return; // Hiçbir istemcinin akışına girmez
+        }
+        changeLogRepo.save(new ChangeLogEntry(entityType, entityId, universityId, userId, operation));
+    }
+}
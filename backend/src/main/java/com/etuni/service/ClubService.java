@@ -4,21 +4,38 @@ import com.etuni.dto.ClubDtos.*;
 import com.etuni.model.Club;
 import com.etuni.model.University;
 import com.etuni.repository.ClubRepository;
+import com.etuni.repository.EventRepository;
 import com.etuni.repository.UniversityRepository;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ClubService {
 
     private final ClubRepository clubRepo;
     private final UniversityRepository universityRepo;
+    private final ResourceVersionService versions;
+    private final EventRepository eventRepo;
+    private final ChangeLogService changeLog;
+    private final CacheInvalidationBus bus;
 
-    public ClubService(ClubRepository clubRepo, UniversityRepository universityRepo) {
+    public ClubService(ClubRepository clubRepo, UniversityRepository universityRepo,
+            ResourceVersionService versions, EventRepository eventRepo, ChangeLogService changeLog,
+            CacheInvalidationBus bus) {
         this.clubRepo = clubRepo;
         this.universityRepo = universityRepo;
+        this.versions = versions;
+        this.eventRepo = eventRepo;
+        this.changeLog = changeLog;
+        this.bus = bus;
     }
 
+    @CacheEvict(value = "clubs", key = "#req.universityId()")
+    @Transactional
     public ClubResponse create(ClubRequest req) {
         University uni = universityRepo.findById(req.universityId())
                 .orElseThrow(() -> new RuntimeException("UNIVERSITY_NOT_FOUND"));
@@ -27,28 +44,63 @@ public class ClubService {
         club.setUniversity(uni);
         club.setName(req.name());
         club.setDescription(req.description());
-        return toDto(clubRepo.save(club));
+        versions.bump(ResourceVersionService.clubsOf(uni.getId()));
+        Club saved = clubRepo.save(club);
+        changeLog.club(saved);
+        bus.evictCache("clubs");
+        bus.evictEntity(Club.class, saved.getId());
+        return toDto(saved);
     }
 
+    /**
+     * A club may move to another university, so every per-university list is
+     * dropped. The Club entity region is kept in sync by Hibernate.
+     */
+    @CacheEvict(value = "clubs", allEntries = true)
+    @Transactional
     public ClubResponse update(Long id, ClubRequest req) {
         Club club = clubRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("CLUB_NOT_FOUND"));
 
-        if (!club.getUniversity().getId().equals(req.universityId())) {
+        Long oldUniversityId = club.getUniversity().getId();
+        // Etkinlik yanıtları kulüp adını taşır
+        versions.bump(ResourceVersionService.clubsOf(oldUniversityId));
+        versions.bump(ResourceVersionService.eventsOf(oldUniversityId));
+        if (!oldUniversityId.equals(req.universityId())) {
             University uni = universityRepo.findById(req.universityId())
                     .orElseThrow(() -> new RuntimeException("UNIVERSITY_NOT_FOUND"));
             club.setUniversity(uni);
+            versions.bump(ResourceVersionService.clubsOf(uni.getId()));
+            changeLog.clubRemoved(club.getId(), oldUniversityId);
         }
 
+        boolean renamed = !java.util.Objects.equals(club.getName(), req.name());
         club.setName(req.name());
         club.setDescription(req.description());
-        return toDto(clubRepo.save(club));
+        Club saved = clubRepo.save(club);
+        changeLog.club(saved);
+        bus.evictCache("clubs");
+        bus.evictEntity(Club.class, saved.getId());
+        if (renamed) {
+            // Senkronize istemcilerdeki etkinlikler kulüp adını taşır
+            eventRepo.findByClubId(saved.getId()).forEach(changeLog::event);
+        }
+        return toDto(saved);
     }
 
+    @Cacheable(value = "clubs", key = "#universityId")
+    @Transactional(readOnly = true)
     public List<ClubResponse> listByUniversity(Long universityId) {
         return clubRepo.findByUniversityId(universityId).stream().map(this::toDto).toList();
     }
 
+    /** Delta senkronizasyonu için; bulunamayan id'ler atlanır. */
+    @Transactional(readOnly = true)
+    public List<ClubResponse> getByIds(Collection<Long> ids) {
+        return clubRepo.findAllById(ids).stream().map(this::toDto).toList();
+    }
+
+    @Transactional(readOnly = true)
     public ClubResponse get(Long id) {
         return toDto(clubRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("CLUB_NOT_FOUND")));
@@ -0,0 +1,108 @@
+package com.etuni.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Panel verilerini bölümler halinde paralel yükler.
+ *
+ * Her rol ihtiyaç duyduğu bölümleri (model attribute adı + yükleyici + yedek
+ * değer) tanımlar; bölümler aynı anda başlatılır ve hepsi için ortak bir süre
+ * tanınır. Süresi dolan veya hata veren bölüm yedek değerle gösterilir ve
+ * degradedSections listesine eklenir, sayfanın geri kalanı yine render edilir.
+ * Böylece panel süresi sorguların toplamı değil en yavaş sorgu kadar olur.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private final ThreadPoolTaskExecutor executor;
+    private final long sectionTimeoutMs;
+
+    public DashboardService(@Qualifier("dashboardExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${etuni.dashboard.sectionTimeoutMs:2000}") long sectionTimeoutMs) {
+        this.executor = executor;
+        this.sectionTimeoutMs = sectionTimeoutMs;
+    }
+
+    public Sections sections() {
+        return new Sections();
+    }
+
+    public record Result(Map<String, Object> attributes, List<String> degraded) {
+    }
+
+    public final class Sections {
+
+        private final Map<String, Section<?>> sections = new LinkedHashMap<>();
+
+        private Sections() {
+        }
+
+        public <T> Sections add(String name, Supplier<T> loader, T fallback) {
+            sections.put(name, new Section<>(loader, fallback));
+            return this;
+        }
+
+        public Result load() {
+            // Bölümler aynı anda başladığı için hepsinin son anı ortak
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+            Map<String, Future<?>> futures = new LinkedHashMap<>();
+            sections.forEach((name, section) -> futures.put(name, submit(section)));
+
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            List<String> degraded = new ArrayList<>();
+            for (var f : futures.entrySet()) {
+                String name = f.getKey();
+                try {
+                    long remaining = Math.max(0, deadline - System.nanoTime());
+                    attributes.put(name, f.getValue().get(remaining, TimeUnit.NANOSECONDS));
+                    continue;
+                } catch (TimeoutException e) {
+                    f.getValue().cancel(true);
+                    log.warn("Dashboard section '{}' timed out after {} ms", name, sectionTimeoutMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    log.warn("Dashboard section '{}' failed: {}", name, e.getCause().getMessage());
+                }
+                attributes.put(name, sections.get(name).fallback());
+                degraded.add(name);
+            }
+            return new Result(attributes, Collections.unmodifiableList(degraded));
+        }
+
+        private Future<?> submit(Section<?> section) {
+            Callable<Object> task = () -> section.loader().get();
+            try {
+                return executor.submit(task);
+            } catch (TaskRejectedException e) {
+                // Havuz dolu: bölüm istek thread'inde yüklenir
+                FutureTask<Object> inline = new FutureTask<>(task);
+                inline.run();
+                return inline;
+            }
+        }
+    }
+
+    private record Section<T>(Supplier<T> loader, T fallback) {
+    }
+}
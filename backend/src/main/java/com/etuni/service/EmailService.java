@@ -1,74 +1,46 @@
 package com.etuni.service;
 
+import com.etuni.model.EmailOutbox;
+import com.etuni.repository.EmailOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Email service for sending notifications, reminders, and password resets.
- * Uses JavaMailSender for direct SMTP communication.
+ * Email service for notifications, reminders, and password resets.
+ * Messages are rendered here and written to the email_outbox table in the
+ * caller's transaction; EmailOutboxDispatcher delivers them over SMTP.
+ * A message is never lost on queue overflow or restart, and is only sent
+ * if the business change that triggered it commits.
  */
 @Service
+@Transactional
 public class EmailService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    private final JavaMailSender javaMailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutboxRepository outboxRepository;
 
     @Value("${app.name:ETUNI}")
     private String appName;
 
-    public EmailService(JavaMailSender javaMailSender) {
-        this.javaMailSender = javaMailSender;
+    @Value("${app.baseUrl:http://13.53.170.220:8080}")
+    private String baseUrl;
+
+    public EmailService(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
     }
 
-    @Async
     public void sendSimpleEmail(String to, String subject, String body) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            javaMailSender.send(message);
-            log.info("Email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send simple email to {}: {}", to, e.getMessage());
-        }
+        enqueue(to, subject, body, false);
     }
 
-    @Async
     public void sendHtmlEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = javaMailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-
-            javaMailSender.send(message);
-            log.info("HTML Email sent to: {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send HTML email to {}: {}", to, e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error sending HTML email to {}: {}", to, e.getMessage());
-        }
+        enqueue(to, subject, htmlContent, true);
     }
 
-    @Async
     public void sendWelcomeEmail(String to, String userName) {
         String subject = appName + "'e Hoş Geldiniz!";
         String body = String.format("""
@@ -87,7 +59,6 @@ public class EmailService {
         sendSimpleEmail(to, subject, body);
     }
 
-    @Async
     public void sendEventReminder(String to, String userName, String eventTitle,
             String eventDate, String eventTime) {
         String subject = "Etkinlik Hatırlatma: " + eventTitle;
@@ -107,10 +78,9 @@ public class EmailService {
         sendSimpleEmail(to, subject, body);
     }
 
-    @Async
     public void sendPasswordResetEmail(String to, String resetToken) {
         String subject = appName + " - Şifre Sıfırlama";
-        String resetLink = "http://13.53.170.220:8080/reset-password?token=" + resetToken;
+        String resetLink = baseUrl + "/reset-password?token=" + resetToken;
         String body = String.format("""
                 Merhaba,
 
@@ -129,7 +99,6 @@ public class EmailService {
         sendSimpleEmail(to, subject, body);
     }
 
-    @Async
     public void sendPromotionApprovalEmail(String to, String userName) {
         String subject = appName + " - Organizatör Başvurunuz Onaylandı!";
         String body = String.format("""
@@ -147,7 +116,6 @@ public class EmailService {
         sendSimpleEmail(to, subject, body);
     }
 
-    @Async
     public void sendPromotionRejectionEmail(String to, String userName, String reason) {
         String subject = appName + " - Organizatör Başvuru Sonucu";
         String body = String.format("""
@@ -164,4 +132,12 @@ public class EmailService {
 
         sendSimpleEmail(to, subject, body);
     }
+
+    private void enqueue(String to, String subject, String body, boolean html) {
+        if (to == null || to.isBlank()) {
+            return;
+        }
+        outboxRepository.save(new EmailOutbox(to, subject, body, html));
+        log.debug("Email queued for: {}", to);
+    }
 }
@@ -0,0 +1,229 @@
+package com.etuni.service;
+
+import com.etuni.dto.EventDtos.CalendarDay;
+import com.etuni.dto.EventDtos.CalendarEvent;
+import com.etuni.dto.EventDtos.CalendarResponse;
+import com.etuni.exception.ValidationException;
+import com.etuni.model.Event;
+import com.etuni.repository.EventRepository;
+import com.etuni.util.AfterCommit;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Üniversite başına bellek içi etkinlik takvimi.
+ *
+ * Her üniversite için gün (epoch day) -> o günün aktif etkinlikleri
+ * (başlangıç saatine göre sıralı) tutulur. Bir tarih aralığı skip list'te
+ * O(log n) ile bulunur, sonrası sadece aralıktaki etkinlikleri gezer. Gün
+ * dizileri değiştirilmez, yazmada kopyalanır; okumalar kilit almaz.
+ *
+ * Etkinlik oluşturma/güncelleme/iptal/silme ve PASSIVE'e geçişte commit
+ * sonrası güncellenir (EventGeoService ile aynı noktalar).
+ */
+@Service
+public class EventCalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCalendarService.class);
+
+    // Tek istekte dönebilecek en uzun aralık (gün)
+    public static final int MAX_RANGE_DAYS = 92;
+
+    private static final Comparator<CalendarEvent> DAY_ORDER = Comparator
+            .comparing(CalendarEvent::startTime, Comparator.nullsLast(Comparator.<LocalTime>naturalOrder()))
+            .thenComparing(CalendarEvent::id);
+
+    private final EventRepository eventRepo;
+
+    // Yazma tarafı (kilit altında)
+    private final Map<Long, CalendarEvent> byId = new HashMap<>();
+
+    // Okuma tarafı
+    private final Map<Long, ConcurrentSkipListMap<Long, CalendarEvent[]>> days = new ConcurrentHashMap<>();
+
+    public EventCalendarService(EventRepository eventRepo) {
+        this.eventRepo = eventRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        byId.clear();
+        Map<Long, Map<Long, List<CalendarEvent>>> grouped = new HashMap<>();
+        for (CalendarEvent c : eventRepo.findActiveCalendarEntries()) {
+            byId.put(c.id(), c);
+            grouped.computeIfAbsent(c.universityId(), id -> new HashMap<>())
+                    .computeIfAbsent(c.eventDate().toEpochDay(), d -> new ArrayList<>()).add(c);
+        }
+        days.keySet().retainAll(grouped.keySet());
+        grouped.forEach((uniId, byDay) -> {
+            ConcurrentSkipListMap<Long, CalendarEvent[]> calendar = new ConcurrentSkipListMap<>();
+            byDay.forEach((day, list) -> {
+                list.sort(DAY_ORDER);
+                calendar.put(day, list.toArray(CalendarEvent[]::new));
+            });
+            days.put(uniId, calendar);
+        });
+        log.info("Event calendar built: {} events in {} universities", byId.size(), days.size());
+    }
+
+    /** Etkinlik oluşturma/güncellemede; commit sonrası takvim güncellenir. */
+    public void upsert(Event e) {
+        Long id = e.getId();
+        CalendarEvent entry = "ACTIVE".equals(e.getStatus()) && e.getUniversity() != null && e.getEventDate() != null
+                ? summary(e)
+                : null;
+        AfterCommit.run(() -> {
+            if (entry == null) {
+                unindex(id);
+            } else {
+                index(entry);
+            }
+        });
+    }
+
+    public void remove(Long eventId) {
+        AfterCommit.run(() -> unindex(eventId));
+    }
+
+    public static CalendarEvent summary(Event e) {
+        return new CalendarEvent(e.getId(), e.getUniversity() == null ? null : e.getUniversity().getId(),
+                e.getTitle(), e.getEventType(), e.getEventDate(), e.getStartTime(), e.getLocation(), e.getPrice());
+    }
+
+    /** from ve to dahil, tarih ve saat sırasıyla. */
+    public List<CalendarEvent> between(Long universityId, LocalDate from, LocalDate to) {
+        ConcurrentSkipListMap<Long, CalendarEvent[]> calendar = universityId == null ? null : days.get(universityId);
+        if (calendar == null || to.isBefore(from)) {
+            return List.of();
+        }
+        List<CalendarEvent> out = new ArrayList<>();
+        for (CalendarEvent[] day : calendar.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+            out.addAll(Arrays.asList(day));
+        }
+        return out;
+    }
+
+    public List<CalendarEvent> on(Long universityId, LocalDate date) {
+        return between(universityId, date, date);
+    }
+
+    /** Bu haftanın cumartesi ve pazarı; pazar günü sadece bugün. */
+    public List<CalendarEvent> weekend(Long universityId, LocalDate today) {
+        LocalDate saturday = today.with(DayOfWeek.SATURDAY);
+        LocalDate sunday = today.with(DayOfWeek.SUNDAY);
+        return between(universityId, saturday.isBefore(today) ? today : saturday, sunday);
+    }
+
+    /**
+     * /api/events/calendar: range verilirse (today, tomorrow, weekend, week)
+     * ondan, yoksa from/to'dan; ikisi de yoksa bugünden itibaren 7 gün.
+     */
+    public CalendarResponse calendar(Long universityId, String range, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate start;
+        LocalDate end;
+        if (range == null) {
+            start = from != null ? from : today;
+            end = to != null ? to : start.plusDays(6);
+        } else {
+            switch (range.toLowerCase()) {
+                case "today" -> {
+                    start = today;
+                    end = today;
+                }
+                case "tomorrow" -> {
+                    start = today.plusDays(1);
+                    end = start;
+                }
+                case "weekend" -> {
+                    LocalDate saturday = today.with(DayOfWeek.SATURDAY);
+                    start = saturday.isBefore(today) ? today : saturday;
+                    end = today.with(DayOfWeek.SUNDAY);
+                }
+                case "week" -> {
+                    start = today;
+                    end = today.plusDays(6);
+                }
+                default -> throw new ValidationException("range", "today, tomorrow, weekend veya week olmalı");
+            }
+        }
+        if (end.isBefore(start)) {
+            throw new ValidationException("to", "Bitiş tarihi başlangıçtan önce olamaz");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new ValidationException("to", "Aralık en fazla " + MAX_RANGE_DAYS + " gün olabilir");
+        }
+
+        List<CalendarDay> out = new ArrayList<>();
+        int total = 0;
+        ConcurrentSkipListMap<Long, CalendarEvent[]> calendar = days.get(universityId);
+        if (calendar != null) {
+            for (Map.Entry<Long, CalendarEvent[]> day : calendar
+                    .subMap(start.toEpochDay(), true, end.toEpochDay(), true).entrySet()) {
+                out.add(new CalendarDay(LocalDate.ofEpochDay(day.getKey()), List.of(day.getValue())));
+                total += day.getValue().length;
+            }
+        }
+        return new CalendarResponse(universityId, start, end, total, out);
+    }
+
+    private synchronized void index(CalendarEvent entry) {
+        CalendarEvent old = byId.put(entry.id(), entry);
+        if (old != null) {
+            removeFromDay(old);
+        }
+        ConcurrentSkipListMap<Long, CalendarEvent[]> calendar = days.computeIfAbsent(entry.universityId(),
+                id -> new ConcurrentSkipListMap<>());
+        long day = entry.eventDate().toEpochDay();
+        CalendarEvent[] current = calendar.getOrDefault(day, new CalendarEvent[0]);
+        CalendarEvent[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = entry;
+        Arrays.sort(next, DAY_ORDER);
+        calendar.put(day, next);
+    }
+
+    private synchronized void unindex(Long eventId) {
+        CalendarEvent old = byId.remove(eventId);
+        if (old != null) {
+            removeFromDay(old);
+        }
+    }
+
+    // Caller holds the lock
+    private void removeFromDay(CalendarEvent old) {
+        ConcurrentSkipListMap<Long, CalendarEvent[]> calendar = days.get(old.universityId());
+        if (calendar == null) {
+            return;
+        }
+        long day = old.eventDate().toEpochDay();
+        CalendarEvent[] current = calendar.get(day);
+        if (current == null) {
+            return;
+        }
+        CalendarEvent[] next = Arrays.stream(current).filter(c -> !c.id().equals(old.id()))
+                .toArray(CalendarEvent[]::new);
+        if (next.length == 0) {
+            calendar.remove(day);
+            if (calendar.isEmpty()) {
+                days.remove(old.universityId());
+            }
+        } else {
+            calendar.put(day, next);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.etuni.service;
+
+import com.etuni.dto.EventDtos.GeoCluster;
+import com.etuni.dto.EventDtos.GeoEvent;
+import com.etuni.dto.EventDtos.GeoResult;
+import com.etuni.dto.EventDtos.NearbyEvent;
+import com.etuni.model.Event;
+import com.etuni.repository.EventRepository;
+import com.etuni.util.AfterCommit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Aktif etkinlikler için bellek içi mekânsal indeks (0.1° ızgara, ~11 km).
+ *
+ * Harita sorguları sadece görünen alanı kapsayan hücreleri okur; düşük
+ * yakınlaştırmada sonuçlar sunucuda kümelenir, böylece yanıt boyutu tüm
+ * katalogla değil görünen alanla orantılı olur.
+ */
+@Service
+public class EventGeoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventGeoService.class);
+
+    private static final double CELL_DEG = 0.1;
+    private static final int LAT_CELLS = 1800;
+    private static final int LNG_CELLS = 3600;
+    private static final double KM_PER_DEG = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double MAX_NEARBY_KM = 1000;
+
+    private final EventRepository eventRepo;
+    private final int clusterBelowZoom;
+    private final int maxMarkers;
+
+    private final Map<Long, GeoEvent> byId = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, GeoEvent>> cells = new ConcurrentHashMap<>();
+
+    public EventGeoService(EventRepository eventRepo,
+            @Value("${etuni.geo.clusterBelowZoom:13}") int clusterBelowZoom,
+            @Value("${etuni.geo.maxMarkers:300}") int maxMarkers) {
+        this.eventRepo = eventRepo;
+        this.clusterBelowZoom = clusterBelowZoom;
+        this.maxMarkers = maxMarkers;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (GeoEvent geo : eventRepo.findActiveGeoEvents()) {
+            index(geo);
+        }
+        log.info("Geo index built: {} events in {} cells", byId.size(), cells.size());
+    }
+
+    /** Etkinlik oluşturma/güncellemede; commit sonrası indeks güncellenir. */
+    public void upsert(Event e) {
+        Long id = e.getId();
+        GeoEvent geo = isIndexable(e) ? toGeo(e) : null;
+        AfterCommit.run(() -> {
+            if (geo == null) {
+                unindex(id);
+            } else {
+                index(geo);
+            }
+        });
+    }
+
+    public void remove(Long eventId) {
+        AfterCommit.run(() -> unindex(eventId));
+    }
+
+    public GeoResult withinBox(double minLat, double minLng, double maxLat, double maxLng, Integer zoom) {
+        List<GeoEvent> hits = new ArrayList<>();
+        for (GeoEvent g : candidates(minLat, minLng, maxLat, maxLng)) {
+            if (g.latitude() >= minLat && g.latitude() <= maxLat
+                    && g.longitude() >= minLng && g.longitude() <= maxLng) {
+                hits.add(g);
+            }
+        }
+        return present(hits, zoom, maxLng - minLng);
+    }
+
+    public GeoResult withinRadius(double lat, double lng, double radiusKm, Integer zoom) {
+        double dLat = radiusKm / KM_PER_DEG;
+        double dLng = radiusKm / (KM_PER_DEG * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+        List<GeoEvent> hits = new ArrayList<>();
+        for (GeoEvent g : candidates(lat - dLat, lng - dLng, lat + dLat, lng + dLng)) {
+            if (distanceKm(lat, lng, g.latitude(), g.longitude()) <= radiusKm) {
+                hits.add(g);
+            }
+        }
+        return present(hits, zoom, 2 * dLng);
+    }
+
+    /**
+     * En yakın k etkinlik. Merkez hücreden başlayarak halka halka genişler;
+     * k aday bulunup sonraki halka daha uzakta kaldığında durur.
+     */
+    public List<NearbyEvent> nearest(double lat, double lng, int k, double maxKm) {
+        double limitKm = Math.min(maxKm, MAX_NEARBY_KM);
+        PriorityQueue<NearbyEvent> best = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyEvent::distanceKm).reversed());
+
+        // Boylam yönündeki hücre genişliği enlemle daralır; en dar olanı baz alınır
+        double edgeLat = Math.min(Math.abs(lat) + limitKm / KM_PER_DEG, 89);
+        double cellKm = CELL_DEG * KM_PER_DEG * Math.cos(Math.toRadians(edgeLat));
+        int maxRing = (int) Math.ceil(limitKm / cellKm);
+
+        if ((long) (2 * maxRing + 1) * (2 * maxRing + 1) > byId.size()) {
+            // Seyrek indeks: halkaları gezmek tüm noktaları taramaktan pahalı
+            for (GeoEvent g : byId.values()) {
+                offer(best, g, lat, lng, k, limitKm);
+            }
+        } else {
+            int latIdx = latIndex(lat);
+            int lngIdx = lngIndex(lng);
+            for (int r = 0; r <= maxRing; r++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    for (int dx = -r; dx <= r; dx++) {
+                        if (Math.abs(dy) != r && Math.abs(dx) != r) {
+                            continue; // sadece halkanın kenarı
+                        }
+                        Map<Long, GeoEvent> cell = cells.get(key(latIdx + dy, lngIdx + dx));
+                        if (cell != null) {
+                            for (GeoEvent g : cell.values()) {
+                                offer(best, g, lat, lng, k, limitKm);
+                            }
+                        }
+                    }
+                }
+                if (best.size() == k && best.peek().distanceKm() <= r * cellKm) {
+                    break;
+                }
+            }
+        }
+
+        List<NearbyEvent> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(NearbyEvent::distanceKm));
+        return result;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private GeoResult present(List<GeoEvent> hits, Integer zoom, double spanLngDeg) {
+        boolean cluster = (zoom != null && zoom < clusterBelowZoom) || hits.size() > maxMarkers;
+        if (!cluster) {
+            return new GeoResult(hits, List.of(), hits.size());
+        }
+
+        // Ekranda yaklaşık 64 piksellik kareler (256 px tile genişliği / 4)
+        double gridDeg = zoom != null
+                ? 360.0 / (1L << Math.max(0, Math.min(zoom, 20))) / 4
+                : Math.max(spanLngDeg / 16, CELL_DEG / 10);
+        Map<Long, double[]> sums = new HashMap<>();
+        Map<Long, GeoEvent> single = new HashMap<>();
+        for (GeoEvent g : hits) {
+            long key = ((long) Math.floor(g.latitude() / gridDeg) << 32)
+                    ^ ((long) Math.floor(g.longitude() / gridDeg) & 0xffffffffL);
+            double[] acc = sums.computeIfAbsent(key, x -> new double[3]);
+            acc[0] += g.latitude();
+            acc[1] += g.longitude();
+            acc[2]++;
+            single.putIfAbsent(key, g);
+        }
+
+        List<GeoEvent> events = new ArrayList<>();
+        List<GeoCluster> clusters = new ArrayList<>();
+        sums.forEach((key, acc) -> {
+            if (acc[2] == 1) {
+                events.add(single.get(key));
+            } else {
+                clusters.add(new GeoCluster(acc[0] / acc[2], acc[1] / acc[2], (int) acc[2]));
+            }
+        });
+        return new GeoResult(events, clusters, hits.size());
+    }
+
+    private Collection<GeoEvent> candidates(double minLat, double minLng, double maxLat, double maxLng) {
+        int lat0 = latIndex(Math.max(minLat, -90));
+        int lat1 = latIndex(Math.min(maxLat, 90));
+        int lng0 = lngIndex(Math.max(minLng, -180));
+        int lng1 = lngIndex(Math.min(maxLng, 180));
+        long boxCells = (long) (lat1 - lat0 + 1) * (lng1 - lng0 + 1);
+
+        List<GeoEvent> out = new ArrayList<>();
+        if (boxCells > cells.size()) {
+            // Geniş kutu: dolu hücreleri gezmek daha ucuz
+            for (Map.Entry<Long, Map<Long, GeoEvent>> entry : cells.entrySet()) {
+                int latIdx = (int) (entry.getKey() / LNG_CELLS);
+                int lngIdx = (int) (entry.getKey() % LNG_CELLS);
+                if (latIdx >= lat0 && latIdx <= lat1 && lngIdx >= lng0 && lngIdx <= lng1) {
+                    out.addAll(entry.getValue().values());
+                }
+            }
+        } else {
+            for (int y = lat0; y <= lat1; y++) {
+                for (int x = lng0; x <= lng1; x++) {
+                    Map<Long, GeoEvent> cell = cells.get(key(y, x));
+                    if (cell != null) {
+                        out.addAll(cell.values());
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private void offer(PriorityQueue<NearbyEvent> best, GeoEvent g, double lat, double lng, int k, double limitKm) {
+        double d = distanceKm(lat, lng, g.latitude(), g.longitude());
+        if (d > limitKm) {
+            return;
+        }
+        if (best.size() < k) {
+            best.add(new NearbyEvent(g, d));
+        } else if (d < best.peek().distanceKm()) {
+            best.poll();
+            best.add(new NearbyEvent(g, d));
+        }
+    }
+
+    private synchronized void index(GeoEvent g) {
+        unindex(g.id());
+        byId.put(g.id(), g);
+        cells.computeIfAbsent(key(latIndex(g.latitude()), lngIndex(g.longitude())), k -> new ConcurrentHashMap<>())
+                .put(g.id(), g);
+    }
+
+    private synchronized void unindex(Long id) {
+        GeoEvent old = byId.remove(id);
+        if (old == null) {
+            return;
+        }
+        long key = key(latIndex(old.latitude()), lngIndex(old.longitude()));
+        Map<Long, GeoEvent> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(id);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static boolean isIndexable(Event e) {
+        return "ACTIVE".equals(e.getStatus()) && e.getLatitude() != null && e.getLongitude() != null;
+    }
+
+    private static GeoEvent toGeo(Event e) {
+        return new GeoEvent(e.getId(), e.getUniversity() == null ? null : e.getUniversity().getId(), e.getTitle(),
+                e.getEventDate(), e.getStartTime(), e.getLocation(), e.getLatitude(), e.getLongitude());
+    }
+
+    private static int latIndex(double lat) {
+        return Math.max(0, Math.min(LAT_CELLS - 1, (int) Math.floor((lat + 90) / CELL_DEG)));
+    }
+
+    private static int lngIndex(double lng) {
+        return Math.max(0, Math.min(LNG_CELLS - 1, (int) Math.floor((lng + 180) / CELL_DEG)));
+    }
+
+    private static long key(int latIdx, int lngIdx) {
+        // Boylam 180. meridyende sarar
+        int x = Math.floorMod(lngIdx, LNG_CELLS);
+        return (long) latIdx * LNG_CELLS + x;
+    }
+
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,89 @@
+package com.etuni.service;
+
+import com.etuni.model.EventQrPayload;
+import com.etuni.repository.EventQrPayloadRepository;
+import com.etuni.util.QrPayloadUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Etkinlik QR payload'ları (event_qr_payloads tablosu).
+ *
+ * Payload imzalı ve süreli olduğundan kaydı olmayan etkinlik için istendiğinde
+ * yeniden üretilir; eski QR'lar imzaları geçerli oldukça okunmaya devam eder.
+ */
+@Service
+public class EventQrService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventQrService.class);
+
+    private final EventQrPayloadRepository qrRepo;
+    private final QrPayloadUtil qrUtil;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate newTx;
+
+    public EventQrService(EventQrPayloadRepository qrRepo, QrPayloadUtil qrUtil,
+            PlatformTransactionManager transactionManager) {
+        this.qrRepo = qrRepo;
+        this.qrUtil = qrUtil;
+        this.tx = new TransactionTemplate(transactionManager);
+        // Eşzamanlı ilk okumada unique ihlali çağıranın transaction'ını geri almasın
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Yeni etkinlik; çağıranın transaction'ında yazılır. */
+    @Transactional
+    public void create(Long eventId) {
+        qrRepo.save(new EventQrPayload(eventId, qrUtil.generateForEvent(eventId)));
+    }
+
+    /** Kayıt yoksa üretilip yazılır; aynı anda yazan başka bir istek varsa onunki döner. */
+    public String payload(Long eventId) {
+        return qrRepo.findById(eventId).map(EventQrPayload::getPayload).orElseGet(() -> generate(eventId));
+    }
+
+    private String generate(Long eventId) {
+        try {
+            return newTx.execute(status -> qrRepo.saveAndFlush(
+                    new EventQrPayload(eventId, qrUtil.generateForEvent(eventId)))).getPayload();
+        } catch (DataIntegrityViolationException e) {
+            return qrRepo.findById(eventId).orElseThrow(() -> e).getPayload();
+        }
+    }
+
+    @Transactional
+    public void delete(Long eventId) {
+        qrRepo.deleteById(eventId);
+    }
+
+    /**
+     * Eski events.qr_payload değerlerinden kaydı olmayanlar aktarılır; her
+     * açılışta çalışır, aktarılmış etkinliklere dokunmaz. Kolon yoksa (yeni
+     * kurulum) aktarılacak bir şey de yoktur.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLegacyPayloads() {
+        try {
+            Integer copied = tx.execute(status -> qrRepo.copyLegacyPayloads());
+            if (copied != null && copied > 0) {
+                log.info("Moved {} event QR payloads into event_qr_payloads", copied);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Aynı anda açılan başka bir node veya ilk okumada üretilen payload
+            log.info("Legacy QR payload copy raced with another writer, retrying on next start: {}",
+                    e.getMessage());
+        } catch (DataAccessException e) {
+            log.debug("No legacy events.qr_payload column to copy: {}", e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.etuni.service;
 
+import com.etuni.dto.EventDtos.CalendarEvent;
 import com.etuni.model.Attendance;
-import com.etuni.model.Event;
 import com.etuni.model.UserEntity;
 import com.etuni.repository.AttendanceRepository;
 import com.etuni.repository.EventRepository;
 import com.etuni.repository.UserRepository;
+import com.etuni.util.IntentRouter;
 import java.time.LocalDate;
 import java.util.List;
 import org.springframework.stereotype.Service;
@@ -18,16 +19,53 @@ public class EventQueryBotService {
   private final AttendanceRepository attendanceRepo;
   private final RecommendationService recommendationService;
   private final AnalyticsService analyticsService;
+  private final EventCalendarService calendar;
 
   public EventQueryBotService(UserRepository userRepo, EventRepository eventRepo,
       AttendanceRepository attendanceRepo,
       RecommendationService recommendationService,
-      AnalyticsService analyticsService) {
+      AnalyticsService analyticsService, EventCalendarService calendar) {
     this.userRepo = userRepo;
     this.eventRepo = eventRepo;
     this.attendanceRepo = attendanceRepo;
     this.recommendationService = recommendationService;
     this.analyticsService = analyticsService;
+    this.calendar = calendar;
+  }
+
+  /** Bot'un anladığı niyetler; sıra eşit puanda önceliği belirler. */
+  public enum Intent {
+    RECOMMEND, HISTORY, TOP, SIMILAR, TODAY, TOMORROW, WEEKEND, THIS_WEEK,
+    // Tek başına yanıt üretmez, haftalık listeyi süzer
+    TECH, SOCIAL, WORKSHOP;
+
+    boolean isFilter() {
+      return this == TECH || this == SOCIAL || this == WORKSHOP;
+    }
+  }
+
+  /**
+   * Anahtar kelime tablosu açılışta bir kez derlenir, soru tek geçişte
+   * puanlanır. Ağırlıklar birden çok niyet geçen soruları çözer: "en çok
+   * benzer" ve "benzer etkinlikler öner" benzerlik niyetine gider.
+   * Yeni niyet eklemek için buraya bir satır ve answer içinde bir dal yeterli.
+   */
+  private static final IntentRouter<Intent> ROUTER = IntentRouter.<Intent>builder()
+      .intent(Intent.RECOMMEND, 2, "öner", "tavsiye", "recommend", "suggest")
+      .intent(Intent.HISTORY, 2, "katıldığım", "geçmiş", "daha önce", "history", "attended")
+      .intent(Intent.TOP, 2, "en çok", "popüler", "revaçta", "top ", "most popular", "trending")
+      .intent(Intent.SIMILAR, 3, "benzer", "similar", "like this")
+      .intent(Intent.TODAY, 1, "bugün", "today", "tonight", "bu akşam")
+      .intent(Intent.TOMORROW, 1, "yarın", "tomorrow")
+      .intent(Intent.WEEKEND, 1.5, "haftasonu", "hafta sonu", "weekend")
+      .intent(Intent.THIS_WEEK, 1, "bu hafta", "this week")
+      .intent(Intent.TECH, 1, "teknik", "technical", "yazılım", "tech")
+      .intent(Intent.SOCIAL, 1, "sosyal", "social", "eğlence")
+      .intent(Intent.WORKSHOP, 1, "workshop", "atölye", "seminer", "seminar")
+      .build();
+
+  public static IntentRouter.Scores<Intent> route(String question) {
+    return ROUTER.score(question);
   }
 
   /**
@@ -45,110 +83,87 @@ public class EventQueryBotService {
     if (user.getUniversity() == null)
       return "Önce üniversite seçmelisin.";
 
-    String q = question == null ? "" : question.toLowerCase().trim();
+    // Küçük harfe çevirme router'da (fold) ve arama sorgusunda (LOWER) yapılır; varsayılan
+    // locale ile toLowerCase "İ" harfini "i" + birleşik nokta yapıp anahtar kelimeyi bozar
+    String q = question == null ? "" : question.trim();
     Long uniId = user.getUniversity().getId();
+    IntentRouter.Scores<Intent> scores = route(q);
 
-    // 1. Recommendation Intent
-    if (containsAny(q, "öner", "öneri", "tavsiye", "recommend")) {
-      return handleRecommendation(userId);
-    }
-
-    // 2. History Intent
-    if (containsAny(q, "katıldığım", "geçmiş", "daha önce", "history")) {
-      return handleAttendanceHistory(userId);
-    }
-
-    // 3. Popularity Intent
-    if (containsAny(q, "en çok", "popüler", "revaçta", "top")) {
-      return handleTopEvents();
+    Intent intent = scores.best(i -> !i.isFilter());
+    if (intent == null && (scores.has(Intent.TECH) || scores.has(Intent.SOCIAL) || scores.has(Intent.WORKSHOP))) {
+      intent = Intent.THIS_WEEK;
     }
-
-    // 4. Similarity Intent
-    if (containsAny(q, "benzer", "similar")) {
-      return handleSimilarEvents(userId);
-    }
-
-    // 5. Date Specific Intents
-    if (containsAny(q, "bugün", "today")) {
-      return handleDateSearch(uniId, LocalDate.now(), "Bugün");
-    }
-    if (containsAny(q, "yarın", "tomorrow")) {
-      return handleDateSearch(uniId, LocalDate.now().plusDays(1), "Yarın");
-    }
-    if (containsAny(q, "haftasonu", "weekend")) {
-      return handleWeekendSearch(uniId);
+    if (intent != null) {
+      switch (intent) {
+        case RECOMMEND:
+          return handleRecommendation(userId);
+        case HISTORY:
+          return handleAttendanceHistory(userId);
+        case TOP:
+          return handleTopEvents(uniId);
+        case SIMILAR:
+          return handleSimilarEvents(userId);
+        case TODAY:
+          return handleDateSearch(uniId, LocalDate.now(), "Bugün");
+        case TOMORROW:
+          return handleDateSearch(uniId, LocalDate.now().plusDays(1), "Yarın");
+        case WEEKEND:
+          return handleWeekendSearch(uniId);
+        default:
+          return handleWeeklyEventSearch(uniId, scores);
+      }
     }
 
-    // 6. Fallback: Smart Full Text Search
+    // Fallback: Smart Full Text Search
     // If query is short or generic, default to weekly
     if (q.length() < 3) {
-      return handleWeeklyEventSearch(uniId, "");
+      return handleWeeklyEventSearch(uniId, scores);
     }
 
     return handleFullTextSearch(uniId, q);
   }
 
   private String handleDateSearch(Long uniId, LocalDate date, String label) {
-    List<Event> events = eventRepo.findByUniversityIdAndEventDateBetweenAndStatus(uniId, date, date, "ACTIVE");
+    List<CalendarEvent> events = calendar.on(uniId, date);
     if (events.isEmpty())
       return label + " planlanmış bir etkinlik bulunmuyor.";
     return formatEventList(label + " gerçekleşecek etkinlikler:", events);
   }
 
   private String handleWeekendSearch(Long uniId) {
-    LocalDate now = LocalDate.now();
-    LocalDate saturday = now.with(java.time.DayOfWeek.SATURDAY);
-    LocalDate sunday = now.with(java.time.DayOfWeek.SUNDAY);
-    List<Event> events = eventRepo.findByUniversityIdAndEventDateBetweenAndStatus(uniId, saturday, sunday, "ACTIVE");
+    List<CalendarEvent> events = calendar.weekend(uniId, LocalDate.now());
     if (events.isEmpty())
       return "Haftasonu için planlanmış etkinlik yok.";
     return formatEventList("Haftasonu etkinlikleri:", events);
   }
 
   private String handleFullTextSearch(Long uniId, String query) {
-    List<Event> events = eventRepo.searchEvents(uniId, query);
+    List<CalendarEvent> events = eventRepo.searchCalendarEntries(uniId, query);
     if (events.isEmpty()) {
       return "Üzgünüm, '" + query
           + "' ile ilgili bir sonuç bulamadım. Ancak sana yaklaşan etkinlikleri listeleyebilirim:\n"
-          + handleWeeklyEventSearch(uniId, "");
+          + handleWeeklyEventSearch(uniId, route(""));
     }
-    return formatEventList("Bulduğum sonuçlar:", "ACTIVE".equals(events.get(0).getStatus()) ? events
-        : events.stream().filter(e -> "ACTIVE".equals(e.getStatus())).toList());
+    return formatEventList("Bulduğum sonuçlar:", events);
   }
 
-  private String formatEventList(String header, List<Event> events) {
+  private String formatEventList(String header, List<CalendarEvent> events) {
     if (events.isEmpty())
       return "Etkinlik bulunamadı.";
     StringBuilder sb = new StringBuilder(header + "\n");
     int count = 0;
-    for (Event e : events) {
+    for (CalendarEvent e : events) {
       if (count >= 5)
         break;
-      sb.append("• ").append(e.getTitle())
-          .append(" (").append(e.getEventDate()).append(")")
-          .append(e.getPrice() != null && e.getPrice().doubleValue() > 0 ? " - " + e.getPrice() + "₺" : " - Ücretsiz")
+      sb.append("• ").append(e.title())
+          .append(" (").append(e.eventDate()).append(")")
+          .append(e.price() != null && e.price().doubleValue() > 0 ? " - " + e.price() + "₺" : " - Ücretsiz")
           .append("\n");
       count++;
     }
     return sb.toString().trim();
   }
 
-  // Reuse existing methods but update answer signature above...
-  // (Keeping existing helper methods private below, assumption is
-  // replace_file_content handles block replacement correctly)
-  // Wait, I need to make sure I don't delete handleRecommendation etc or
-  // duplicate them.
-  // The replace block targets answer method and handleWeeklyEventSearch. I will
-  // keep others as they are.
-
-  private boolean containsAny(String text, String... keywords) {
-    for (String kw : keywords) {
-      if (text.contains(kw))
-        return true;
-    }
-    return false;
-  }
-
   private String handleRecommendation(Long userId) {
     var recommendations = recommendationService.recommend(userId);
     if (recommendations.isEmpty()) {
@@ -188,8 +203,8 @@ public class EventQueryBotService {
     return sb.toString().trim();
   }
 
-  private String handleTopEvents() {
-    var topEvents = analyticsService.getTopEvents("month");
+  private String handleTopEvents(Long uniId) {
+    var topEvents = analyticsService.getTopEvents("month", uniId);
     if (topEvents.events().isEmpty()) {
       return "Bu ay için yeterli katılım verisi bulunamadı.";
     }
@@ -236,30 +251,30 @@ public class EventQueryBotService {
     return sb.toString().trim();
   }
 
-  private String handleWeeklyEventSearch(Long uniId, String q) {
+  private String handleWeeklyEventSearch(Long uniId, IntentRouter.Scores<Intent> scores) {
     LocalDate now = LocalDate.now();
     LocalDate start = now;
     LocalDate end = now.plusDays(7);
 
-    boolean wantsTechnical = containsAny(q, "teknik", "technical", "yazılım", "yazilim", "tech");
-    boolean wantsSocial = containsAny(q, "sosyal", "social", "eğlence");
-    boolean wantsWorkshop = containsAny(q, "workshop", "atölye", "seminer");
+    boolean wantsTechnical = scores.has(Intent.TECH);
+    boolean wantsSocial = scores.has(Intent.SOCIAL);
+    boolean wantsWorkshop = scores.has(Intent.WORKSHOP);
 
-    List<Event> events = eventRepo.findByUniversityIdAndEventDateBetweenAndStatus(uniId, start, end, "ACTIVE");
+    List<CalendarEvent> events = calendar.between(uniId, start, end);
 
     if (wantsTechnical) {
       events = events.stream()
-          .filter(e -> e.getEventType() != null && e.getEventType().toLowerCase().contains("tech"))
+          .filter(e -> e.eventType() != null && e.eventType().toLowerCase().contains("tech"))
           .toList();
     } else if (wantsSocial) {
       events = events.stream()
-          .filter(e -> e.getEventType() != null && e.getEventType().toLowerCase().contains("social"))
+          .filter(e -> e.eventType() != null && e.eventType().toLowerCase().contains("social"))
           .toList();
     } else if (wantsWorkshop) {
       events = events.stream()
-          .filter(e -> e.getEventType() != null &&
-              (e.getEventType().toLowerCase().contains("workshop") ||
-                  e.getEventType().toLowerCase().contains("seminar")))
+          .filter(e -> e.eventType() != null &&
+              (e.eventType().toLowerCase().contains("workshop") ||
+                  e.eventType().toLowerCase().contains("seminar")))
           .toList();
     }
 
@@ -269,12 +284,12 @@ public class EventQueryBotService {
 
     StringBuilder sb = new StringBuilder("Bu hafta bulunan etkinlikler:\n");
     int count = 0;
-    for (Event e : events) {
+    for (CalendarEvent e : events) {
       if (count >= 5)
         break;
-      sb.append("• ").append(e.getTitle())
-          .append(" (").append(e.getEventDate())
-          .append(" ").append(e.getStartTime() != null ? e.getStartTime() : "").append(")")
+      sb.append("• ").append(e.title())
+          .append(" (").append(e.eventDate())
+          .append(" ").append(e.startTime() != null ? e.startTime() : "").append(")")
           .append("\n");
       count++;
     }
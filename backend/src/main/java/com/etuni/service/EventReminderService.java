@@ -0,0 +1,378 @@
+package com.etuni.service;
+
+import com.etuni.model.Attendance;
+import com.etuni.model.Event;
+import com.etuni.model.ReminderWatermark;
+import com.etuni.repository.AttendanceRepository;
+import com.etuni.repository.EventRepository;
+import com.etuni.repository.ReminderWatermarkRepository;
+import com.etuni.service.PushNotificationService.PushMessage;
+import com.etuni.util.AfterCommit;
+import com.etuni.util.TimingWheel;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Etkinlik hatırlatmaları.
+ *
+ * APPROVED her katılım için etkinlik başlangıcından etuni.reminders.offsetsMinutes
+ * kadar önce (varsayılan 24 saat ve 1 saat) e-posta + push hatırlatması gönderilir.
+ * Bekleyen hatırlatmalar veritabanı sorgusu yerine bellekteki bir timing wheel'de
+ * tutulur ve açılışta veritabanından yeniden kurulur. Dakikada bir çalışan tick
+ * sadece zamanı gelen kayıtlara dokunur.
+ *
+ * Her tick sonrası çarkın ilerlediği an (ReminderWatermark) kaydedilir. Node
+ * kapalıyken zamanı gelen hatırlatmalar açılışta, etkinlik henüz başlamamışsa
+ * ve en fazla etuni.reminders.catchUpMinutes geriye kadar, hemen gönderilir.
+ *
+ * Birden fazla node varsa hatırlatmaları sadece birinde açık bırakın
+ * (etuni.reminders.enabled=false diğerlerinde). Onay, iptal ve saat
+ * değişiklikleri hangi node'da yapılırsa yapılsın CacheInvalidationBus ile
+ * duyurulur; hatırlatma node'u kaydı veritabanından yeniden okuyup çarkı
+ * günceller. Mesaj kaçmış olabilirse çark yeniden kurulur.
+ */
+@Service
+public class EventReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventReminderService.class);
+
+    private static final long TICK_MS = 60_000;
+    private static final int WHEEL_SIZE = 60;
+    private static final int DISPATCH_CHUNK = 500;
+    private static final String WATERMARK = "event-reminders";
+
+    private final AttendanceRepository attendanceRepo;
+    private final EventRepository eventRepo;
+    private final ReminderWatermarkRepository watermarkRepo;
+    private final EmailService emailService;
+    private final PushNotificationService pushService;
+    private final TransactionTemplate tx;
+    private final long[] offsetsMinutes;
+    private final long catchUpMs;
+    private final boolean enabled;
+    private final CacheInvalidationBus bus;
+
+    private final TimingWheel<Reminder> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    private final Map<Long, List<TimingWheel.Timeout<Reminder>>> byAttendance = new HashMap<>();
+    private final Map<Long, Set<Long>> attendancesByEvent = new HashMap<>();
+
+    public EventReminderService(AttendanceRepository attendanceRepo, EventRepository eventRepo,
+            ReminderWatermarkRepository watermarkRepo, EmailService emailService,
+            PushNotificationService pushService, TransactionTemplate tx, CacheInvalidationBus bus,
+            @Value("${etuni.reminders.offsetsMinutes:1440,60}") long[] offsetsMinutes,
+            @Value("${etuni.reminders.catchUpMinutes:180}") long catchUpMinutes,
+            @Value("${etuni.reminders.enabled:true}") boolean enabled) {
+        this.attendanceRepo = attendanceRepo;
+        this.eventRepo = eventRepo;
+        this.watermarkRepo = watermarkRepo;
+        this.emailService = emailService;
+        this.pushService = pushService;
+        this.tx = tx;
+        this.offsetsMinutes = offsetsMinutes;
+        this.catchUpMs = catchUpMinutes * 60_000;
+        this.enabled = enabled;
+        this.bus = bus;
+        // "attendance <id>" veya "event <id>"
+        bus.on("reminder", this::reload);
+        bus.onGap(this::rebuild);
+    }
+
+    // late: zamanı node kapalıyken geçmiş, açılışta gönderiliyor
+    record Reminder(Long attendanceId, Long eventId, long offsetMinutes, long eventStartMs, boolean late) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // Kayıt yoksa (ilk kurulum) geriye dönük gönderim yapılmaz
+        long missedAfter = Math.max(watermarkRepo.findById(WATERMARK)
+                .map(w -> w.getDispatchedThrough().toInstant().toEpochMilli())
+                .orElse(now), now - catchUpMs);
+        int missed = 0;
+        List<Object[]> rows = attendanceRepo.findUpcomingApprovedSchedule(LocalDate.now());
+        for (Object[] row : rows) {
+            Long startMs = toEpochMillis((LocalDate) row[2], (LocalTime) row[3]);
+            if (startMs != null && schedule((Long) row[0], (Long) row[1], startMs, missedAfter)) {
+                missed++;
+            }
+        }
+        log.info("Reminder wheel rebuilt: {} attendances, {} pending reminders ({} missed while down)",
+                byAttendance.size(), wheel.size(), missed);
+    }
+
+    /** Katılım onaylandığında; transaction commit edildikten sonra zamanlanır. */
+    public void scheduleAttendance(Long attendanceId, Event event) {
+        if (attendanceId == null || event == null) {
+            return;
+        }
+        bus.publish("reminder", "attendance " + attendanceId);
+        if (!enabled) {
+            return;
+        }
+        Long eventId = event.getId();
+        Long startMs = activeStart(event);
+        if (startMs == null) {
+            return;
+        }
+        AfterCommit.run(() -> schedule(attendanceId, eventId, startMs));
+    }
+
+    public void cancelAttendance(Long attendanceId) {
+        bus.publish("reminder", "attendance " + attendanceId);
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> unschedule(attendanceId));
+    }
+
+    /**
+     * Etkinlik güncellendiğinde veya iptal edildiğinde çağrılır: eski hatırlatmalar
+     * silinir, etkinlik hâlâ aktifse yeni saate göre yeniden kurulur.
+     */
+    public void rescheduleEvent(Event event) {
+        if (event == null) {
+            return;
+        }
+        Long eventId = event.getId();
+        bus.publish("reminder", "event " + eventId);
+        if (!enabled) {
+            return;
+        }
+        Long startMs = activeStart(event);
+        AfterCommit.run(() -> rescheduleEvent(eventId, startMs));
+    }
+
+    public void cancelEvent(Long eventId) {
+        bus.publish("reminder", "event " + eventId);
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> unscheduleEvent(eventId));
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedRate = TICK_MS)
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(now, due::add);
+            for (Reminder r : due) {
+                untrack(r);
+            }
+        }
+        for (int i = 0; i < due.size(); i += DISPATCH_CHUNK) {
+            try {
+                dispatch(due.subList(i, Math.min(i + DISPATCH_CHUNK, due.size())));
+            } catch (Exception e) {
+                log.error("Reminder batch failed: {}", e.getMessage(), e);
+            }
+        }
+        try {
+            watermarkRepo.save(new ReminderWatermark(WATERMARK,
+                    OffsetDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneOffset.UTC)));
+        } catch (Exception e) {
+            log.warn("Reminder watermark could not be saved: {}", e.getMessage());
+        }
+    }
+
+    // Başka node'daki değişiklik (commit edilmiş); güncel durum veritabanından okunur
+    private void reload(String body) {
+        if (!enabled) {
+            return;
+        }
+        int space = body.indexOf(' ');
+        String kind = body.substring(0, space);
+        Long id = Long.valueOf(body.substring(space + 1));
+        if ("event".equals(kind)) {
+            rescheduleEvent(id, eventRepo.findById(id).map(EventReminderService::activeStart).orElse(null));
+            return;
+        }
+        Attendance a = attendanceRepo.findWithUserAndEventByIdIn(List.of(id)).stream().findFirst().orElse(null);
+        Long startMs = a == null || !"APPROVED".equals(a.getStatus()) ? null : activeStart(a.getEvent());
+        if (startMs == null) {
+            unschedule(id);
+        } else {
+            schedule(id, a.getEvent().getId(), startMs);
+        }
+    }
+
+    private void rescheduleEvent(Long eventId, Long startMs) {
+        unscheduleEvent(eventId);
+        if (startMs != null) {
+            for (Long attendanceId : attendanceRepo.findApprovedIdsByEventId(eventId)) {
+                schedule(attendanceId, eventId, startMs);
+            }
+        }
+    }
+
+    private void dispatch(List<Reminder> batch) {
+        Map<Long, Reminder> byId = new LinkedHashMap<>();
+        for (Reminder r : batch) {
+            // Aynı tick'e düşen birden fazla hatırlatmadan en yakını yeterli
+            byId.merge(r.attendanceId(), r, (a, b) -> a.offsetMinutes() <= b.offsetMinutes() ? a : b);
+        }
+
+        List<Attendance> rows = attendanceRepo.findWithUserAndEventByIdIn(byId.keySet());
+        List<PushMessage> pushes = new ArrayList<>();
+        tx.executeWithoutResult(status -> {
+            for (Attendance a : rows) {
+                Reminder r = byId.get(a.getId());
+                Event e = a.getEvent();
+                Long startMs = toEpochMillis(e.getEventDate(), e.getStartTime());
+                // Zamanlamadan sonra durum veya saat değiştiyse gönderme
+                if (!"APPROVED".equals(a.getStatus()) || !"ACTIVE".equals(e.getStatus()) || startMs == null
+                        || startMs != r.eventStartMs()) {
+                    continue;
+                }
+                var user = a.getUser();
+                long minutesLeft = r.late() ? lateMinutes(startMs) : r.offsetMinutes();
+                emailService.sendEventReminder(user.getEmail(), user.getFullName(), e.getTitle(),
+                        e.getEventDate().toString(), e.getStartTime() == null ? "-" : e.getStartTime().toString());
+                pushes.add(new PushMessage(user.getPushToken(), "Etkinlik Hatırlatma",
+                        "\"" + e.getTitle() + "\" " + describe(minutesLeft) + " sonra başlıyor.",
+                        "event_reminder"));
+            }
+        });
+        pushService.sendPushNotifications(pushes);
+        log.info("Dispatched {} of {} due event reminders", pushes.size(), byId.size());
+    }
+
+    private synchronized void schedule(Long attendanceId, Long eventId, long startMs) {
+        schedule(attendanceId, eventId, startMs, Long.MAX_VALUE);
+    }
+
+    /**
+     * Zamanı missedAfter ile şimdi arasında geçmiş hatırlatmalardan en yakını
+     * (etkinlik başlamadıysa) bir sonraki tick'e kurulur; daha eskiler gönderilmez.
+     * Böyle bir hatırlatma kurulduysa true döner.
+     */
+    private synchronized boolean schedule(Long attendanceId, Long eventId, long startMs, long missedAfter) {
+        unschedule(attendanceId);
+        long now = System.currentTimeMillis();
+        List<TimingWheel.Timeout<Reminder>> timeouts = new ArrayList<>(offsetsMinutes.length + 1);
+        Reminder missed = null;
+        for (long offset : offsetsMinutes) {
+            long deadline = startMs - offset * 60_000;
+            if (deadline <= now) {
+                if (deadline > missedAfter && startMs > now
+                        && (missed == null || offset < missed.offsetMinutes())) {
+                    missed = new Reminder(attendanceId, eventId, offset, startMs, true);
+                }
+                continue;
+            }
+            var timeout = wheel.schedule(deadline, new Reminder(attendanceId, eventId, offset, startMs, false));
+            if (timeout != null) {
+                timeouts.add(timeout);
+            }
+        }
+        if (missed != null) {
+            var timeout = wheel.schedule(now + 1, missed);
+            if (timeout != null) {
+                timeouts.add(timeout);
+            }
+        }
+        if (!timeouts.isEmpty()) {
+            byAttendance.put(attendanceId, timeouts);
+            attendancesByEvent.computeIfAbsent(eventId, id -> new HashSet<>()).add(attendanceId);
+        }
+        return missed != null;
+    }
+
+    private synchronized void unschedule(Long attendanceId) {
+        List<TimingWheel.Timeout<Reminder>> timeouts = byAttendance.remove(attendanceId);
+        if (timeouts == null) {
+            return;
+        }
+        timeouts.forEach(TimingWheel.Timeout::cancel);
+        Long eventId = timeouts.get(0).item().eventId();
+        Set<Long> ids = attendancesByEvent.get(eventId);
+        if (ids != null) {
+            ids.remove(attendanceId);
+            if (ids.isEmpty()) {
+                attendancesByEvent.remove(eventId);
+            }
+        }
+    }
+
+    private synchronized void unscheduleEvent(Long eventId) {
+        Set<Long> ids = attendancesByEvent.get(eventId);
+        if (ids != null) {
+            for (Long attendanceId : new ArrayList<>(ids)) {
+                unschedule(attendanceId);
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void untrack(Reminder fired) {
+        List<TimingWheel.Timeout<Reminder>> timeouts = byAttendance.get(fired.attendanceId());
+        if (timeouts == null) {
+            return;
+        }
+        timeouts.removeIf(t -> t.item() == fired);
+        if (timeouts.isEmpty()) {
+            byAttendance.remove(fired.attendanceId());
+            Set<Long> ids = attendancesByEvent.get(fired.eventId());
+            if (ids != null) {
+                ids.remove(fired.attendanceId());
+                if (ids.isEmpty()) {
+                    attendancesByEvent.remove(fired.eventId());
+                }
+            }
+        }
+    }
+
+    // Etkinlik aktif değilse null
+    private static Long activeStart(Event e) {
+        return "ACTIVE".equals(e.getStatus()) ? toEpochMillis(e.getEventDate(), e.getStartTime()) : null;
+    }
+
+    private static Long toEpochMillis(LocalDate date, LocalTime time) {
+        if (date == null) {
+            return null;
+        }
+        LocalDateTime start = date.atTime(time == null ? LocalTime.MIDNIGHT : time);
+        return start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Geç gönderilen hatırlatmada kalan süre; bir saatten fazlaysa tam saate yuvarlanır
+    private static long lateMinutes(long startMs) {
+        long left = Math.max(1, (startMs - System.currentTimeMillis()) / 60_000);
+        return left >= 60 ? left / 60 * 60 : left;
+    }
+
+    private static String describe(long offsetMinutes) {
+        return offsetMinutes >= 60 && offsetMinutes % 60 == 0 ? (offsetMinutes / 60) + " saat"
+                : offsetMinutes + " dakika";
+    }
+}
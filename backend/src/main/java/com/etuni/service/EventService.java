@@ -8,7 +8,7 @@ import com.etuni.model.University;
 import com.etuni.repository.ClubRepository;
 import com.etuni.repository.EventRepository;
 import com.etuni.repository.UniversityRepository;
-import com.etuni.util.QrPayloadUtil;
+import java.util.Collection;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,15 +26,44 @@ public class EventService {
   private final UniversityRepository uniRepo;
   private final ClubRepository clubRepo;
   private final com.etuni.repository.AttendanceRepository attendanceRepo;
-  private final QrPayloadUtil qrUtil;
+  private final EventQrService qrService;
+  private final EventReminderService reminderService;
+  private final EventGeoService geoService;
+  private final UniversityEventIndexService universityIndex;
+  private final ResourceVersionService versions;
+  private final InterestTagService interestTags;
+  private final TrendingService trending;
+  private final EventCalendarService calendar;
+  private final ChangeLogService changeLog;
+  private final CacheInvalidationBus bus;
 
   public EventService(EventRepository eventRepo, UniversityRepository uniRepo, ClubRepository clubRepo,
-      com.etuni.repository.AttendanceRepository attendanceRepo, QrPayloadUtil qrUtil) {
+      com.etuni.repository.AttendanceRepository attendanceRepo, EventQrService qrService,
+      EventReminderService reminderService, EventGeoService geoService,
+      UniversityEventIndexService universityIndex, ResourceVersionService versions,
+      InterestTagService interestTags, TrendingService trending, EventCalendarService calendar,
+      ChangeLogService changeLog, CacheInvalidationBus bus) {
     this.eventRepo = eventRepo;
     this.uniRepo = uniRepo;
     this.clubRepo = clubRepo;
     this.attendanceRepo = attendanceRepo;
-    this.qrUtil = qrUtil;
+    this.qrService = qrService;
+    this.reminderService = reminderService;
+    this.geoService = geoService;
+    this.universityIndex = universityIndex;
+    this.versions = versions;
+    this.interestTags = interestTags;
+    this.trending = trending;
+    this.calendar = calendar;
+    this.changeLog = changeLog;
+    this.bus = bus;
+    bus.on("event", id -> refreshIndexes(Long.valueOf(id)));
+    bus.onGap(() -> {
+      geoService.rebuild();
+      universityIndex.rebuild();
+      calendar.rebuild();
+      trending.rehydrate();
+    });
   }
 
   public EventResponse create(EventRequest req) {
@@ -64,19 +93,29 @@ public class EventService {
     e.setLatitude(req.latitude());
     e.setLongitude(req.longitude());
     e.setPrice(req.price() != null ? req.price() : java.math.BigDecimal.ZERO);
+    interestTags.tagEvent(e);
 
+    // The id is taken from the sequence on persist, so the QR row can be
+    // written in the same transaction without flushing the event first.
     Event saved = eventRepo.save(e);
-    saved.setQrPayload(qrUtil.generateForEvent(saved.getId()));
-    saved = eventRepo.save(saved);
+    qrService.create(saved.getId());
+    geoService.upsert(saved);
+    universityIndex.upsert(saved);
+    calendar.upsert(saved);
+    changeLog.event(saved);
+    touch(saved);
 
     return toDto(saved);
   }
 
+  // Liste uçları yanıtı doğrudan sorgudan alır (bkz. EventRepository.EVENT_RESPONSE);
+  // readOnly ile Hibernate flush ve kirli kontrol yapmaz
+  @Transactional(readOnly = true)
   public List<EventResponse> listLatestByUniversity(Long universityId) {
-    return eventRepo.findTop20ByUniversityIdAndStatusOrderByEventDateAsc(universityId, "ACTIVE")
-        .stream().map(this::toDto).toList();
+    return eventRepo.findResponsesByUniversityAndStatus(universityId, "ACTIVE");
   }
 
+  @Transactional(readOnly = true)
   public List<EventResponse> search(Long universityId, String keyword, Long clubId, String status) {
     if (status == null) {
       status = "ACTIVE"; // Default to ACTIVE if not specified
@@ -88,15 +127,24 @@ public class EventService {
       pattern = "%" + keyword.toLowerCase() + "%";
     }
 
-    return eventRepo.searchEventsWithFilters(universityId, pattern, clubId, status)
-        .stream().map(this::toDto).toList();
+    return eventRepo.searchEventsWithFilters(universityId, pattern, clubId, status);
   }
 
+  @Transactional(readOnly = true)
   public List<EventResponse> listAllByUniversity(Long universityId) {
-    return eventRepo.findByUniversityIdOrderByEventDateDesc(universityId)
-        .stream().map(this::toDto).toList();
+    return eventRepo.findResponsesByUniversity(universityId);
   }
 
+  /** Delta senkronizasyonu için; bulunamayan id'ler atlanır. */
+  @Transactional(readOnly = true)
+  public List<EventResponse> getByIds(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    return eventRepo.findResponsesByIdIn(ids);
+  }
+
+  @Transactional(readOnly = true)
   public EventResponse get(Long id) {
     return toDto(eventRepo.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Etkinlik", id)));
@@ -107,18 +155,18 @@ public class EventService {
         .orElseThrow(() -> new ResourceNotFoundException("Etkinlik", id));
     e.setStatus("CANCELLED");
     log.info("Etkinlik iptal edildi: {} (ID: {})", e.getTitle(), id);
+    reminderService.cancelEvent(id);
+    geoService.remove(id);
+    universityIndex.remove(id);
+    calendar.remove(id);
+    changeLog.event(e);
+    touch(e);
     return toDto(eventRepo.save(e));
   }
 
   public java.util.List<com.etuni.dto.AttendeeDtos.AttendeeInfo> getAttendees(Long eventId) {
-    var list = attendanceRepo.findByEventId(eventId);
-    return list.stream().map(a -> new com.etuni.dto.AttendeeDtos.AttendeeInfo(
-        a.getId(),
-        a.getUser() == null ? null : a.getUser().getId(),
-        a.getUser() == null ? null : a.getUser().getFullName(),
-        a.getUser() == null ? null : a.getUser().getEmail(),
-        a.getScannedAt(),
-        a.getTicketCode())).toList();
+    // Kullanıcı bilgisi aynı sorguda gelir (satır başına lazy yükleme yok)
+    return attendanceRepo.findAttendeeInfoByEventId(eventId);
   }
 
   public EventResponse update(Long id, EventUpdateRequest req) {
@@ -150,17 +198,28 @@ public class EventService {
     if (req.price() != null)
       e.setPrice(req.price());
 
+    if (req.eventDate() != null || req.startTime() != null || req.status() != null) {
+      reminderService.rescheduleEvent(e);
+    }
+    if (req.title() != null || req.description() != null || req.category() != null) {
+      interestTags.tagEvent(e);
+    }
+    geoService.upsert(e);
+    universityIndex.upsert(e);
+    calendar.upsert(e);
+    if (req.title() != null) {
+      trending.upsert(e);
+    }
+    changeLog.event(e);
+    touch(e);
     return toDto(eventRepo.save(e));
   }
 
   public String getQrPayload(Long id) {
-    Event e = eventRepo.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("Etkinlik", id));
-    if (e.getQrPayload() == null || e.getQrPayload().isBlank()) {
-      e.setQrPayload(qrUtil.generateForEvent(e.getId()));
-      eventRepo.save(e);
+    if (!eventRepo.existsById(id)) {
+      throw new ResourceNotFoundException("Etkinlik", id);
     }
-    return e.getQrPayload();
+    return qrService.payload(id);
   }
 
   public com.etuni.model.Event getEntity(Long id) {
@@ -171,6 +230,38 @@ public class EventService {
   public void delete(Long id) {
     var e = getEntity(id);
     eventRepo.delete(e);
+    qrService.delete(id);
+    reminderService.cancelEvent(id);
+    geoService.remove(id);
+    universityIndex.remove(id);
+    calendar.remove(id);
+    trending.remove(id);
+    changeLog.eventRemoved(id, e.getUniversity() == null ? null : e.getUniversity().getId());
+    touch(e);
+  }
+
+  // Liste uçlarının ETag'i için etkinliğin üniversitesindeki sürümü artırır;
+  // diğer node'lar etkinliği indekslerinde yeniler
+  private void touch(Event e) {
+    if (e.getUniversity() != null) {
+      versions.bump(ResourceVersionService.eventsOf(e.getUniversity().getId()));
+    }
+    bus.publish("event", e.getId().toString());
+  }
+
+  // Başka node'daki yazma: indeksler veritabanındaki güncel halden yenilenir
+  private void refreshIndexes(Long id) {
+    eventRepo.findById(id).ifPresentOrElse(e -> {
+      geoService.upsert(e);
+      universityIndex.upsert(e);
+      calendar.upsert(e);
+      trending.upsert(e);
+    }, () -> {
+      geoService.remove(id);
+      universityIndex.remove(id);
+      calendar.remove(id);
+      trending.remove(id);
+    });
   }
 
   private EventResponse toDto(Event e) {
@@ -209,9 +300,24 @@ public class EventService {
     } else {
       toUpdate = eventRepo.findByUniversityId(sourceUniversityId);
     }
+    java.util.Set<Long> touched = new java.util.HashSet<>();
+    touched.add(targetUniversityId);
     for (Event e : toUpdate) {
+      if (e.getUniversity() != null) {
+        touched.add(e.getUniversity().getId());
+        if (!targetUniversityId.equals(e.getUniversity().getId())) {
+          changeLog.eventRemoved(e.getId(), e.getUniversity().getId());
+        }
+      }
       e.setUniversity(target);
+      geoService.upsert(e);
+      universityIndex.upsert(e);
+      calendar.upsert(e);
+      trending.upsert(e);
+      changeLog.event(e);
+      bus.publish("event", e.getId().toString());
     }
+    touched.forEach(uniId -> versions.bump(ResourceVersionService.eventsOf(uniId)));
     eventRepo.saveAll(toUpdate);
     return toUpdate.size();
   }
@@ -0,0 +1,62 @@
+package com.etuni.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * Sayfaların kişiye özel olmayan parçaları (etkinlik kartları, kulüp listesi,
+ * etkinlik özeti) için render önbelleği.
+ *
+ * Parça templates/fragments altında ayrı bir şablon olarak tutulur, HTML'e
+ * çevrilip anahtar + veri sürümüyle saklanır; sayfa şablonu hazır HTML'i
+ * th:utext ile yerleştirir. Sürüm değişince eski kayıt bir daha okunmaz ve
+ * boyut/süre sınırıyla düşer.
+ */
+@Service
+public class FragmentCacheService {
+
+    private final ITemplateEngine templateEngine;
+    private final JakartaServletWebApplication webApplication;
+
+    private final Cache<String, String> fragments = Caffeine.newBuilder()
+            .maximumSize(5_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    public FragmentCacheService(ITemplateEngine templateEngine, ServletContext servletContext) {
+        this.templateEngine = templateEngine;
+        this.webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+    }
+
+    /**
+     * template içindeki fragment parçasını variables'ın verdiği değişkenlerle render eder.
+     * cacheKey null ise (ör. arama sonuçları) önbelleğe alınmaz. Anahtar,
+     * parçanın bağlı olduğu verinin sürümünü içermelidir.
+     */
+    public String render(String cacheKey, String template, String fragment,
+            Supplier<Map<String, Object>> variables, HttpServletRequest request, HttpServletResponse response) {
+        if (cacheKey == null) {
+            return process(template, fragment, variables.get(), request, response);
+        }
+        // Veri sadece önbellekte yoksa yüklenir
+        return fragments.get(cacheKey, k -> process(template, fragment, variables.get(), request, response));
+    }
+
+    private String process(String template, String fragment, Map<String, Object> variables,
+            HttpServletRequest request, HttpServletResponse response) {
+        WebContext context = new WebContext(webApplication.buildExchange(request, response), request.getLocale(),
+                variables);
+        return templateEngine.process(template, Set.of(fragment), context);
+    }
+}
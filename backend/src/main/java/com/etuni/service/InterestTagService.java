@@ -0,0 +1,178 @@
+package com.etuni.service;
+
+import com.etuni.model.Event;
+import com.etuni.model.InterestTag;
+import com.etuni.model.UserEntity;
+import com.etuni.repository.EventRepository;
+import com.etuni.repository.InterestTagRepository;
+import com.etuni.repository.UserRepository;
+import com.etuni.util.TagBits;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * İlgi alanı etiket sözlüğü ve etiket bitset'leri.
+ *
+ * Kullanıcıların yazdığı ilgi alanları normalize edilip interest_tags
+ * tablosuna bir kez kaydedilir; id'si bit sırasıdır. Etkinliklerin başlık +
+ * açıklama ve kategori bitset'leri kayıtta, kullanıcınınki ilgi alanları
+ * değişince hesaplanır. Öneri puanlamasında eşleşme tek bir AND işlemidir
+ * (bkz. TagBits).
+ *
+ * Yeni bir etiket eklendiğinde aktif etkinliklerin bitset'leri arka planda
+ * yeniden hesaplanır. Diğer node'ların eklediği etiketler periyodik olarak
+ * sözlüğe alınır.
+ */
+@Service
+public class InterestTagService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestTagService.class);
+
+    private static final Locale TR = Locale.forLanguageTag("tr");
+
+    // Önceki eşleştirmeyle aynı: 3 karakterden kısa etiketler yok sayılır
+    private static final int MIN_TAG_LENGTH = 3;
+
+    private final InterestTagRepository tagRepo;
+    private final EventRepository eventRepo;
+    private final UserRepository userRepo;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate newTx;
+    private final Executor executor;
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    public InterestTagService(InterestTagRepository tagRepo, EventRepository eventRepo, UserRepository userRepo,
+            PlatformTransactionManager transactionManager, @Qualifier("taskExecutor") Executor executor) {
+        this.tagRepo = tagRepo;
+        this.eventRepo = eventRepo;
+        this.userRepo = userRepo;
+        this.tx = new TransactionTemplate(transactionManager);
+        // Sözlüğe ekleme çağıranın transaction'ından bağımsızdır: unique ihlali onu geri almasın
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = executor;
+    }
+
+    public static String normalize(String tag) {
+        return tag == null ? "" : tag.trim().toLowerCase(TR);
+    }
+
+    /**
+     * Sözlüğü yükler, mevcut kullanıcı ilgi alanlarını kaydeder ve bitset'i
+     * olmayan kullanıcılarla aktif etkinlikleri etiketler.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        refreshDictionary();
+        register(userRepo.findDistinctInterests());
+        tx.executeWithoutResult(status -> {
+            for (UserEntity u : userRepo.findByInterestTagBitsIsNull()) {
+                u.setInterestTagBits(bitsForInterests(u.getInterests()));
+            }
+        });
+        retagActiveEvents();
+        log.info("Interest tag dictionary ready: {} tags", idsByName.size());
+    }
+
+    /** Kullanıcının ilgi alanları için bitset; sözlükte olmayanlar eklenir. */
+    public byte[] bitsForInterests(Collection<String> interests) {
+        if (interests == null || interests.isEmpty()) {
+            return TagBits.of(List.of());
+        }
+        register(interests);
+        List<Integer> ids = new ArrayList<>(interests.size());
+        for (String interest : interests) {
+            Integer id = idsByName.get(normalize(interest));
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return TagBits.of(ids);
+    }
+
+    /** Etkinlik kaydedilmeden önce çağrılır. */
+    public void tagEvent(Event e) {
+        e.setTagBits(bitsForText(eventText(e.getTitle(), e.getDescription())));
+        e.setCategoryTagBits(bitsForText(normalize(e.getCategory())));
+    }
+
+    /** Diğer node'ların eklediği etiketleri alır. */
+    @Scheduled(fixedDelayString = "${etuni.interestTags.refreshMs:60000}", initialDelayString = "${etuni.interestTags.refreshMs:60000}")
+    public void refreshNewTags() {
+        if (refreshDictionary()) {
+            retagActiveEvents();
+        }
+    }
+
+    private static String eventText(String title, String description) {
+        return normalize(title) + " " + normalize(description);
+    }
+
+    private byte[] bitsForText(String text) {
+        List<Integer> ids = new ArrayList<>();
+        if (!text.isBlank()) {
+            idsByName.forEach((name, id) -> {
+                if (text.contains(name)) {
+                    ids.add(id);
+                }
+            });
+        }
+        return TagBits.of(ids);
+    }
+
+    private void register(Collection<String> interests) {
+        boolean added = false;
+        for (String interest : interests) {
+            String name = normalize(interest);
+            if (name.length() < MIN_TAG_LENGTH || name.length() > 100 || idsByName.containsKey(name)) {
+                continue;
+            }
+            try {
+                InterestTag tag = newTx.execute(status -> tagRepo.saveAndFlush(new InterestTag(name)));
+                idsByName.put(tag.getName(), tag.getId());
+                added = true;
+            } catch (DataIntegrityViolationException e) {
+                // Başka bir istek/node aynı etiketi ekledi
+                refreshDictionary();
+            }
+        }
+        if (added) {
+            executor.execute(this::retagActiveEvents);
+        }
+    }
+
+    // Sözlük küçüktür (yüzlerce etiket); tamamı okunur ki sıra dışı commit edilen id'ler kaçmasın
+    private boolean refreshDictionary() {
+        boolean added = false;
+        for (InterestTag tag : tagRepo.findAll()) {
+            added |= idsByName.putIfAbsent(tag.getName(), tag.getId()) == null;
+        }
+        return added;
+    }
+
+    private void retagActiveEvents() {
+        tx.executeWithoutResult(status -> {
+            for (Object[] row : eventRepo.findActiveTagSources()) {
+                eventRepo.updateTagBits((Long) row[0], bitsForText(eventText((String) row[1], (String) row[2])),
+                        bitsForText(normalize((String) row[3])));
+            }
+        });
+    }
+}
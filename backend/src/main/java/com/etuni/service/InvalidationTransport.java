@@ -0,0 +1,55 @@
+package com.etuni.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Node'lar arası önbellek invalidation kanalı (bkz. CacheInvalidationBus).
+ *
+ * Varsayılan PostgreSQL LISTEN/NOTIFY'dır (PostgresNotifyTransport); tek node
+ * için none() kullanılır. Başka bir aracı (Redis pub/sub vb.) sadece bu
+ * metotları uygular.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Mesajı dinleyen tüm node'lara (gönderenin kendisi dahil) iletir.
+     * Commit sonrası çağrılır: çağıranı bekletmemeli (ör. havuzdan bağlantı
+     * almamalı). Teslim hatasında exception fırlatmaz; atılan mesaj diğer
+     * node'larda onGap'e yol açmalıdır, aksi halde önbellekleri TTL'e kadar
+     * eskimiş kalır.
+     */
+    void send(String message);
+
+    /**
+     * Dinlemeyi başlatır. Mesaj kaçmış olabileceğinde (ör. bağlantı yeniden
+     * kurulduğunda) onGap çağrılır; çağıran tüm önbelleğini bırakır.
+     */
+    void start(Consumer<String> onMessage, Runnable onGap);
+
+    void stop();
+
+    /** send'in kabul ettiği en büyük mesaj (UTF-8 bayt). */
+    int maxMessageBytes();
+
+    /** Tek node: haber verilecek kimse yok. */
+    static InvalidationTransport none() {
+        return new InvalidationTransport() {
+            @Override
+            public void send(String message) {
+            }
+
+            @Override
+            public void start(Consumer<String> onMessage, Runnable onGap) {
+            }
+
+            @Override
+            public void stop() {
+            }
+
+            @Override
+            public int maxMessageBytes() {
+                return Integer.MAX_VALUE;
+            }
+        };
+    }
+}
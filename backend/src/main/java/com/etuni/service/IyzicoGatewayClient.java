@@ -0,0 +1,250 @@
+package com.etuni.service;
+
+import com.etuni.exception.BusinessException;
+import com.etuni.util.CircuitBreaker;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iyzipay.IyzipayResource;
+import com.iyzipay.model.ApiTest;
+import com.iyzipay.model.CheckoutForm;
+import com.iyzipay.model.CheckoutFormInitialize;
+import com.iyzipay.request.CreateCheckoutFormInitializeRequest;
+import com.iyzipay.request.RetrieveCheckoutFormRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * iyzico ile konuşan tek nokta.
+ *
+ * İstek ve yanıtlar SDK'nın model sınıflarıdır, fakat HTTP çağrısı SDK yerine
+ * burada yapılır: SDK'nın bağlantı ve okuma süreleri sabit ve çok uzundur, bu
+ * yüzden yanıt vermeyen iyzico ödeme havuzundaki thread'i dakikalarca tutardı.
+ * Burada soket süreleri iyzico.timeoutMs'tir; süre dolunca bağlantı kapanır ve
+ * thread serbest kalır. İmzalama SDK ile aynıdır (IYZWSv2).
+ *
+ * Bağlantı ve kimlik bilgisi kontrolü (ApiTest) ödeme akışında değil, açılışta
+ * ve periyodik sağlık kontrolünde yapılır. Çağrılar ayrı bir havuzda çalışır;
+ * art arda hatalarda devre kesici açılır ve istekler iyzico'ya gitmeden
+ * PAYMENT_GATEWAY_UNAVAILABLE ile reddedilir.
+ *
+ * Yerel testte iyzico.api.baseurl bir stub sunucuya yönlendirilebilir.
+ */
+@Component
+public class IyzicoGatewayClient {
+
+    private static final Logger log = LoggerFactory.getLogger(IyzicoGatewayClient.class);
+
+    private static final String API_TEST_PATH = "/payment/test";
+    private static final String CHECKOUT_INITIALIZE_PATH = "/payment/iyzipos/checkoutform/initialize/auth/ecom";
+    private static final String CHECKOUT_RETRIEVE_PATH = "/payment/iyzipos/checkoutform/auth/ecom/detail";
+
+    private final String apiKey;
+    private final String apiSecret;
+    private final String baseUrl;
+    private final RestTemplate http;
+    // SDK gibi alan bazlı eşleme (Gson): null alanlar gönderilmez, bilinmeyen alanlar atlanır
+    private final ObjectMapper json = new ObjectMapper()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final boolean configured;
+    private final Executor executor;
+    private final long timeoutMs;
+    private final CircuitBreaker breaker;
+
+    private volatile boolean credentialsValid;
+    private volatile Instant lastProbeAt;
+    private volatile String lastProbeError;
+
+    public IyzicoGatewayClient(@Qualifier("paymentGatewayExecutor") Executor executor,
+            @Value("${iyzico.api.key:}") String apiKey,
+            @Value("${iyzico.api.secret:}") String apiSecret,
+            @Value("${iyzico.api.baseurl:https://sandbox-api.iyzipay.com}") String baseUrl,
+            @Value("${iyzico.timeoutMs:10000}") long timeoutMs,
+            @Value("${iyzico.breaker.failureThreshold:5}") int failureThreshold,
+            @Value("${iyzico.breaker.openMs:30000}") long openMs) {
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+        this.breaker = new CircuitBreaker(failureThreshold, openMs);
+        this.configured = !apiKey.isBlank() && !apiSecret.isBlank();
+        this.apiKey = apiKey.trim();
+        this.apiSecret = apiSecret.trim();
+        this.baseUrl = baseUrl.trim();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) timeoutMs);
+        requestFactory.setReadTimeout((int) timeoutMs);
+        this.http = new RestTemplate(requestFactory);
+    }
+
+    public record Health(boolean configured, boolean credentialsValid, String circuit, Instant lastProbeAt,
+            String lastProbeError) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void probeOnStartup() {
+        if (!configured) {
+            log.info("iyzico credentials not configured; gateway disabled");
+            return;
+        }
+        // Açılışı bekletmemek için havuzda çalışır
+        executor.execute(this::probe);
+    }
+
+    @Scheduled(fixedDelayString = "${iyzico.probeMs:300000}", initialDelayString = "${iyzico.probeMs:300000}")
+    public void probe() {
+        if (!configured) {
+            return;
+        }
+        try {
+            IyzipayResource result = exchange(HttpMethod.GET, API_TEST_PATH, null, ApiTest.class);
+            credentialsValid = "success".equals(result.getStatus());
+            lastProbeError = credentialsValid ? null : result.getErrorMessage();
+            if (!credentialsValid) {
+                log.warn("iyzico probe failed: {}", result.getErrorMessage());
+            }
+        } catch (Exception e) {
+            credentialsValid = false;
+            lastProbeError = e.getMessage();
+            log.warn("iyzico probe could not connect: {}", e.getMessage());
+        }
+        lastProbeAt = Instant.now();
+    }
+
+    public boolean isConfigured() {
+        return configured;
+    }
+
+    public Health health() {
+        return new Health(configured, credentialsValid, breaker.state().name(), lastProbeAt, lastProbeError);
+    }
+
+    public CompletableFuture<CheckoutFormInitialize> initializeCheckout(CreateCheckoutFormInitializeRequest request) {
+        return call(() -> exchange(HttpMethod.POST, CHECKOUT_INITIALIZE_PATH, request, CheckoutFormInitialize.class));
+    }
+
+    public CheckoutForm retrieveCheckout(RetrieveCheckoutFormRequest request) {
+        try {
+            return call(() -> exchange(HttpMethod.POST, CHECKOUT_RETRIEVE_PATH, request, CheckoutForm.class)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    private <T extends IyzipayResource> CompletableFuture<T> call(Supplier<T> remote) {
+        if (!breaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new BusinessException(
+                    "Ödeme servisine şu anda ulaşılamıyor, lütfen biraz sonra tekrar deneyin.",
+                    "PAYMENT_GATEWAY_UNAVAILABLE", 503));
+        }
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(remote, executor);
+        } catch (RuntimeException rejected) {
+            breaker.onFailure();
+            return CompletableFuture.failedFuture(rejected);
+        }
+        // Soket süresi çağrıyı, bu süre de havuz kuyruğunda beklemeyi sınırlar
+        return future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    // İş hataları (ör. reddedilen kart) devreyi etkilemez; sadece bağlantı/zaman aşımı
+                    if (error != null) {
+                        breaker.onFailure();
+                        log.warn("iyzico call failed: {}", error.toString());
+                    } else {
+                        breaker.onSuccess();
+                    }
+                });
+    }
+
+    /**
+     * iyzico'ya imzalı istek atar. Hata durumlarında da gövde SDK'daki gibi yanıt
+     * tipine çevrilir (status=failure); sadece bağlantı hatası ve zaman aşımı
+     * exception olarak döner.
+     */
+    private <T extends IyzipayResource> T exchange(HttpMethod method, String path, Object request, Class<T> type) {
+        String body;
+        try {
+            body = request == null ? "" : json.writeValueAsString(request);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String randomKey = Long.toString(System.currentTimeMillis())
+                + ThreadLocalRandom.current().nextInt(100_000_000, 1_000_000_000);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("x-iyzi-rnd", randomKey);
+        headers.set(HttpHeaders.AUTHORIZATION, "IYZWSv2 " + authorization(randomKey, path, body));
+
+        byte[] response;
+        try {
+            response = http.exchange(baseUrl + path, method,
+                    new HttpEntity<>(body.getBytes(StandardCharsets.UTF_8), headers), byte[].class).getBody();
+        } catch (HttpStatusCodeException e) {
+            response = e.getResponseBodyAsByteArray();
+            if (response.length == 0) {
+                throw e;
+            }
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof SocketTimeoutException) {
+                // orTimeout ile aynı sonuç: PAYMENT_GATEWAY_TIMEOUT
+                throw new CompletionException(new TimeoutException("iyzico did not answer in " + timeoutMs + " ms"));
+            }
+            throw e;
+        }
+        try {
+            return json.readValue(response, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable iyzico response", e);
+        }
+    }
+
+    private String authorization(String randomKey, String path, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(apiSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            String signature = HexFormat.of().formatHex(
+                    mac.doFinal((randomKey + path + body).getBytes(StandardCharsets.UTF_8)));
+            String params = "apiKey:" + apiKey + "&randomKey:" + randomKey + "&signature:" + signature;
+            return Base64.getEncoder().encodeToString(params.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -4,7 +4,7 @@ import com.etuni.model.Event;
 import com.etuni.model.UserEntity;
 import com.etuni.repository.EventRepository;
 import com.etuni.repository.UserRepository;
-import com.iyzipay.Options;
+import com.etuni.exception.BusinessException;
 import com.iyzipay.model.*;
 import com.iyzipay.request.CreateCheckoutFormInitializeRequest;
 import com.iyzipay.request.RetrieveCheckoutFormRequest;
@@ -18,6 +18,9 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @Service
 // @Primary - Disabled in favor of MockPaymentService
@@ -27,57 +30,37 @@ public class IyzicoPaymentServiceImpl implements PaymentService {
 
     private final UserRepository userRepo;
     private final EventRepository eventRepo;
-
-    @Value("${iyzico.api.key:}")
-    private String apiKey;
-
-    @Value("${iyzico.api.secret:}")
-    private String apiSecret;
-
-    @Value("${iyzico.api.baseurl:https://sandbox-api.iyzipay.com}")
-    private String baseUrl;
+    private final IyzicoGatewayClient gateway;
 
     @Value("${api.url:http://localhost:8080}")
     private String appApiUrl;
 
-    public IyzicoPaymentServiceImpl(UserRepository userRepo, EventRepository eventRepo) {
+    public IyzicoPaymentServiceImpl(UserRepository userRepo, EventRepository eventRepo,
+            IyzicoGatewayClient gateway) {
         this.userRepo = userRepo;
         this.eventRepo = eventRepo;
-    }
-
-    private Options getOptions() {
-        Options options = new Options();
-        // Hardcoded for debugging
-        options.setApiKey("sandbox-81RXLy5N6aIBH7MK1RlyUvRKX5ltAckZ");
-        options.setSecretKey("sandbox-3JIDzvswVBPEGEOvVfVb32d34Y4K3oKk");
-        options.setBaseUrl("https://sandbox-api.iyzipay.com");
-        return options;
+        this.gateway = gateway;
     }
 
     @Override
     public PaymentInitiationResponse initiatePayment(Long eventId, Long userId, BigDecimal amount) {
-        // Debug Config
-        log.info("Iyzico Config Check - BaseURL: {}", baseUrl);
-        log.info("Iyzico Config Check - API Key: {}",
-                apiKey != null && apiKey.length() > 10 ? apiKey.trim().substring(0, 10) + "..." : apiKey);
-        log.info("Iyzico Config Check - Secret Key: {}",
-                apiSecret != null && apiSecret.length() > 10 ? apiSecret.trim().substring(0, 10) + "..." : apiSecret);
-
-        // Debug Connectivity & Credentials
-        try {
-            com.iyzipay.IyzipayResource apiTest = com.iyzipay.model.ApiTest.retrieve(getOptions());
-            log.info("Iyzico ApiTest Result: Status={} Error={}", apiTest.getStatus(), apiTest.getErrorMessage());
-        } catch (Exception e) {
-            log.error("Iyzico ApiTest Connection Failed", e);
-        }
+        return initiatePaymentAsync(eventId, userId, amount).join();
+    }
 
-        // Check if iyzico credentials are configured
-        if (apiKey == null || apiKey.trim().isEmpty() || apiSecret == null || apiSecret.trim().isEmpty()) {
+    /**
+     * Bağlantı/kimlik kontrolü burada yapılmaz (bkz. IyzicoGatewayClient);
+     * istek hazırlanır ve tek bir iyzico çağrısı havuzda, süre sınırıyla yapılır.
+     */
+    @Override
+    public CompletableFuture<PaymentInitiationResponse> initiatePaymentAsync(Long eventId, Long userId,
+            BigDecimal amount) {
+        if (!gateway.isConfigured()) {
             log.warn("Iyzico payment attempted but credentials are not configured");
-            return new PaymentInitiationResponse(null, null, false,
-                    "Payment service is not configured. Please contact support.");
+            return CompletableFuture.completedFuture(new PaymentInitiationResponse(null, null, false,
+                    "Payment service is not configured. Please contact support."));
         }
 
+        CreateCheckoutFormInitializeRequest request;
         try {
             UserEntity user = userRepo.findById(userId)
                     .orElseThrow(() -> new RuntimeException("USER_NOT_FOUND"));
@@ -86,7 +69,7 @@ public class IyzicoPaymentServiceImpl implements PaymentService {
 
             String basketId = "B" + UUID.randomUUID().toString().substring(0, 8);
 
-            CreateCheckoutFormInitializeRequest request = new CreateCheckoutFormInitializeRequest();
+            request = new CreateCheckoutFormInitializeRequest();
             request.setLocale(Locale.TR.getValue());
             request.setConversationId(UUID.randomUUID().toString());
             request.setPrice(amount);
@@ -97,9 +80,6 @@ public class IyzicoPaymentServiceImpl implements PaymentService {
             request.setCallbackUrl(
                     appApiUrl + "/api/payments/iyzico/callback?eventId=" + eventId + "&userId=" + userId);
 
-            log.info("System Encoding: {}", System.getProperty("file.encoding"));
-            log.info("User Name for Payment: {}", user.getFullName());
-
             Buyer buyer = new Buyer();
             buyer.setId(user.getId().toString());
             // Hardcode ASCII for testing encoding issue
@@ -140,36 +120,48 @@ public class IyzicoPaymentServiceImpl implements PaymentService {
             firstBasketItem.setPrice(amount);
             basketItems.add(firstBasketItem);
             request.setBasketItems(basketItems);
-
-            CheckoutFormInitialize checkoutFormInitialize = CheckoutFormInitialize.create(request, getOptions());
-
-            if ("success".equals(checkoutFormInitialize.getStatus())) {
-                log.info("Iyzico payment initiated: {}", checkoutFormInitialize.getToken());
-                return new PaymentInitiationResponse(
-                        checkoutFormInitialize.getToken(),
-                        checkoutFormInitialize.getPaymentPageUrl(),
-                        true,
-                        "SUCCESS");
-            } else {
-                log.error("Iyzico initiation failed: {}", checkoutFormInitialize.getErrorMessage());
-                return new PaymentInitiationResponse(null, null, false, checkoutFormInitialize.getErrorMessage());
-            }
-
         } catch (Exception e) {
             log.error("Error initiating Iyzico payment", e);
-            return new PaymentInitiationResponse(null, null, false, e.getMessage());
+            return CompletableFuture.completedFuture(new PaymentInitiationResponse(null, null, false, e.getMessage()));
+        }
+
+        return gateway.initializeCheckout(request)
+                .thenApply(checkoutFormInitialize -> {
+                    if ("success".equals(checkoutFormInitialize.getStatus())) {
+                        log.info("Iyzico payment initiated: {}", checkoutFormInitialize.getToken());
+                        return new PaymentInitiationResponse(
+                                checkoutFormInitialize.getToken(),
+                                checkoutFormInitialize.getPaymentPageUrl(),
+                                true,
+                                "SUCCESS");
+                    }
+                    log.error("Iyzico initiation failed: {}", checkoutFormInitialize.getErrorMessage());
+                    return new PaymentInitiationResponse(null, null, false, checkoutFormInitialize.getErrorMessage());
+                })
+                .exceptionally(e -> new PaymentInitiationResponse(null, null, false, failureMessage(e)));
+    }
+
+    private static String failureMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof BusinessException be) {
+            return be.getErrorCode();
+        }
+        if (cause instanceof TimeoutException) {
+            return "PAYMENT_GATEWAY_TIMEOUT";
         }
+        log.error("Error initiating Iyzico payment", cause);
+        return cause.getMessage();
     }
 
     @Override
     public PaymentVerificationResponse verifyPayment(String token) {
         try {
-            com.iyzipay.request.RetrieveCheckoutFormRequest request = new com.iyzipay.request.RetrieveCheckoutFormRequest();
+            RetrieveCheckoutFormRequest request = new RetrieveCheckoutFormRequest();
             request.setLocale(Locale.TR.getValue());
             request.setConversationId(UUID.randomUUID().toString());
             request.setToken(token);
 
-            CheckoutForm checkoutForm = CheckoutForm.retrieve(request, getOptions());
+            CheckoutForm checkoutForm = gateway.retrieveCheckout(request);
 
             boolean success = "success".equals(checkoutForm.getStatus())
                     && "SUCCESS".equals(checkoutForm.getPaymentStatus());
@@ -178,7 +170,8 @@ public class IyzicoPaymentServiceImpl implements PaymentService {
                     token,
                     success,
                     checkoutForm.getPaymentStatus(),
-                    success ? "SUCCESS" : checkoutForm.getErrorMessage());
+                    success ? "SUCCESS" : checkoutForm.getErrorMessage(),
+                    checkoutForm.getPaidPrice());
 
         } catch (Exception e) {
             log.error("Error verifying Iyzico payment", e);
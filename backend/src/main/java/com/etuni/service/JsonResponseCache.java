@@ -0,0 +1,93 @@
+package com.etuni.service;
+
+import com.etuni.service.ResourceVersionService.Version;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * En sık okunan liste uçları için hazır JSON baytları.
+ *
+ * Yanıt bir kez serileştirilir (1 KB üzerindeyse gzip'li kopyası da tutulur) ve
+ * kaynak sürümüyle birlikte saklanır. Sürüm değişmediği sürece istek DTO
+ * dönüşümü ve Jackson'a uğramadan saklanan baytlarla cevaplanır; yazma
+ * işlemleri ResourceVersionService üzerinden sürümü artırdığında kayıt
+ * bir sonraki istekte yeniden üretilir.
+ */
+@Service
+public class JsonResponseCache {
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> entries;
+
+    private record Entry(String etag, byte[] json, byte[] gzip) {
+    }
+
+    public JsonResponseCache(ObjectMapper objectMapper,
+            @Value("${etuni.responseCache.maxSize:32MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Entry e) -> e.json().length + (e.gzip() == null ? 0 : e.gzip().length))
+                .build();
+    }
+
+    /**
+     * key için version sürümündeki yanıtı döner; yoksa body ile üretip saklar.
+     * Koşullu GET kontrolü (304) çağırandan önce yapılmış olmalıdır.
+     */
+    public ResponseEntity<byte[]> respond(String key, Version version, WebRequest request, Supplier<?> body) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || !entry.etag().equals(version.etag())) {
+            entry = encode(version.etag(), body.get());
+            entries.put(key, entry);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (entry.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            // Content-Encoding dolu olduğu için Tomcat tekrar sıkıştırmaz
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(entry.gzip().length)
+                    .body(entry.gzip());
+        }
+        return response.contentLength(entry.json().length).body(entry.json());
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private Entry encode(String etag, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = null;
+            if (json.length >= GZIP_MIN_BYTES) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+                try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                    gz.write(json);
+                }
+                gzip = out.toByteArray();
+            }
+            return new Entry(etag, json, gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.etuni.service;
+
+import com.etuni.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent events kanalı: kullanıcı başına abonelik kaydı.
+ *
+ * Boşta bekleyen bağlantılar thread tutmaz (Servlet async + Tomcat NIO); yazma
+ * işleri ayrı bir executor'da yapılır. Her aboneliğin sınırlı bir kuyruğu vardır:
+ * kuyruğu dolan yavaş istemci kapatılır, yeniden bağlanınca gelen kutusunu çeker.
+ *
+ * Abonelikler bağlantının açıldığı node'dadır. Başka bir node'da oluşan
+ * bildirimler CacheInvalidationBus ile duyurulur ve her node kendi abonelerine
+ * iletir (bkz. NotificationService); sticky session gerekmez.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Executor sender;
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxConnections;
+
+    public LiveUpdateService(
+            @Qualifier("liveUpdateExecutor") Executor sender,
+            @Value("${etuni.live.timeoutMs:1800000}") long timeoutMs,
+            @Value("${etuni.live.queueCapacity:32}") int queueCapacity,
+            @Value("${etuni.live.maxConnections:20000}") int maxConnections) {
+        this.sender = sender;
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxConnections = maxConnections;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new BusinessException("Too many live connections", "LIVE_CAPACITY_REACHED", 503);
+        }
+
+        // Süre dolunca istemci yeniden bağlanır ve JWT'yi yeniden doğrulatır
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        // remove() ile yarışmaması için ekleme de compute içinde yapılır
+        subscribers.compute(userId, (id, sessions) -> {
+            Set<Subscriber> set = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(subscriber));
+
+        subscriber.offer(SseEmitter.event().name("ready").data("ok"));
+        return emitter;
+    }
+
+    /** Kullanıcının tüm açık oturumlarına olay gönderir; bağlı değilse hiçbir şey yapmaz. */
+    public void sendToUser(Long userId, String eventName, Object payload) {
+        Set<Subscriber> sessions = subscribers.get(userId);
+        if (sessions == null) {
+            return;
+        }
+        for (Subscriber s : sessions) {
+            s.offer(SseEmitter.event().name(eventName).data(payload));
+        }
+    }
+
+    /** Kullanıcının bu node'da açık bir oturumu var mı. */
+    public boolean isConnected(Long userId) {
+        return subscribers.containsKey(userId);
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    // Proxy ve NAT'ların boşta bağlantıyı kesmemesi için; kopmuş istemciler de burada düşer
+    @Scheduled(fixedRateString = "${etuni.live.heartbeatMs:25000}")
+    public void heartbeat() {
+        for (Set<Subscriber> sessions : subscribers.values()) {
+            for (Subscriber s : sessions) {
+                if (s.queue.isEmpty()) {
+                    s.offer(SseEmitter.event().comment("hb"));
+                }
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connectionCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (id, sessions) -> {
+            sessions.remove(subscriber);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                logger.debug("LIVE_SLOW_CONSUMER: user {} dropped", userId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        // Aynı aboneliğe aynı anda tek bir thread yazar
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                queue.clear();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -1,25 +1,50 @@
 package com.etuni.service;
 
+import com.etuni.dto.NotificationDtos.InboxPage;
+import com.etuni.dto.NotificationDtos.NotificationItem;
+import com.etuni.exception.ValidationException;
 import com.etuni.model.Notification;
 import com.etuni.model.UserEntity;
 import com.etuni.repository.NotificationRepository;
 import com.etuni.repository.UserRepository;
+import com.etuni.util.AfterCommit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class NotificationService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final String LIVE_EVENT = "notification";
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final PushNotificationService pushNotificationService;
+    private final UnreadCounterService unreadCounter;
+    private final LiveUpdateService liveUpdates;
+    private final CacheInvalidationBus bus;
 
     public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository,
-            PushNotificationService pushNotificationService) {
+            PushNotificationService pushNotificationService, UnreadCounterService unreadCounter,
+            LiveUpdateService liveUpdates, CacheInvalidationBus bus) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.pushNotificationService = pushNotificationService;
+        this.unreadCounter = unreadCounter;
+        this.liveUpdates = liveUpdates;
+        this.bus = bus;
+        // "userId:notificationId"; SSE aboneliği bu node'daysa bildirim okunup gönderilir
+        bus.on("live", this::deliverRemote);
     }
 
     public void createForUser(Long userId, String title, String message) {
@@ -34,7 +59,13 @@ public class NotificationService {
         n.setUser(user);
         n.setTitle(title);
         n.setMessage(message);
-        notificationRepository.save(n);
+        Notification saved = notificationRepository.save(n);
+        unreadCounter.changed(userId);
+
+        // Uygulama içi canlı bildirim (SSE); sadece bağlı oturumlara gider, diğer node'lardakilere bus ile
+        NotificationItem item = toItem(saved);
+        AfterCommit.run(() -> liveUpdates.sendToUser(userId, LIVE_EVENT, item));
+        bus.publish("live", userId + ":" + saved.getId());
 
         // Send push notification if user has a push token
         if (user.getPushToken() != null && !user.getPushToken().trim().isEmpty()) {
@@ -42,30 +73,133 @@ public class NotificationService {
         }
     }
 
+    /**
+     * Kullanıcının tüm bildirimleri, en yeniden eskiye. Eski GET /api/notifications
+     * sözleşmesi; yeni istemciler inbox(...) ile sayfalar.
+     */
+    @Transactional(readOnly = true)
     public List<Notification> listForUser(Long userId) {
         if (userId == null)
             return List.of();
-        UserEntity user = userRepository.findById(userId).orElse(null);
-        if (user == null)
+        return notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, Pageable.unpaged());
+    }
+
+    /** Son bildirimler (ilk sayfa); dashboard için. */
+    @Transactional(readOnly = true)
+    public List<Notification> recentForUser(Long userId) {
+        if (userId == null)
             return List.of();
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user);
+        return notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId,
+                PageRequest.of(0, DEFAULT_PAGE_SIZE));
+    }
+
+    /**
+     * Cursor tabanlı gelen kutusu, (createdAt, id) sırasıyla. cursor, bir önceki
+     * sayfanın son bildiriminin createdAt ve id değerleridir ("epochNanos_id");
+     * null ise en yeni bildirimlerden başlanır.
+     */
+    @Transactional(readOnly = true)
+    public InboxPage inbox(Long userId, String cursor, Integer size) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Bir fazla kayıt çekilir: sonraki sayfa olup olmadığını ayrı bir COUNT olmadan anlamak için
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, page);
+        } else {
+            int sep = cursor.indexOf('_');
+            OffsetDateTime createdAt;
+            Long id;
+            try {
+                long nanos = Long.parseLong(cursor.substring(0, sep));
+                createdAt = OffsetDateTime.ofInstant(Instant.ofEpochSecond(0, nanos), ZoneOffset.UTC);
+                id = Long.valueOf(cursor.substring(sep + 1));
+            } catch (RuntimeException e) {
+                throw new ValidationException("cursor", "Geçersiz cursor");
+            }
+            rows = notificationRepository.findPageAfter(userId, createdAt, id, page);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<NotificationItem> items = rows.stream()
+                .limit(limit)
+                .map(this::toItem)
+                .toList();
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationItem last = items.get(items.size() - 1);
+            Instant at = last.createdAt().toInstant();
+            nextCursor = (at.getEpochSecond() * 1_000_000_000L + at.getNano()) + "_" + last.id();
+        }
+        return new InboxPage(items, nextCursor, unreadCounter.get(userId));
+    }
+
+    public long unreadCount(Long userId) {
+        return unreadCounter.get(userId);
+    }
+
+    /** Tek UPDATE ile kullanıcının tüm okunmamış bildirimlerini okundu yapar. */
+    @Transactional
+    public int markAllRead(Long userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        unreadCounter.changed(userId);
+        return updated;
+    }
+
+    @Transactional
+    public boolean markRead(Long userId, Long notificationId) {
+        int updated = notificationRepository.markRead(notificationId, userId);
+        if (updated > 0) {
+            unreadCounter.changed(userId);
+        }
+        return updated > 0;
+    }
+
+    /** Tek UPDATE ile verilen bildirimleri (kullanıcının kendi, okunmamış olanları) okundu yapar. */
+    @Transactional
+    public int markRead(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        if (notificationIds.size() > MAX_PAGE_SIZE) {
+            throw new ValidationException("ids", "En fazla " + MAX_PAGE_SIZE + " bildirim işaretlenebilir");
+        }
+        int updated = notificationRepository.markReadIn(notificationIds, userId);
+        if (updated > 0) {
+            unreadCounter.changed(userId);
+        }
+        return updated;
     }
 
+    // Tek transaction: canlı bildirim satırları da commit sonrası toplu gider
+    @Transactional
     public int sendBroadcastNotification(String title, String message) {
         // Tüm kullanıcılara bildirim gönder
         List<UserEntity> allUsers = userRepository.findAll();
-        int count = 0;
+
+        // Veritabanına kaydet (tüm kullanıcılar için) - JDBC batch ile tek seferde
+        List<Notification> notifications = new ArrayList<>(allUsers.size());
+        for (UserEntity user : allUsers) {
+            Notification n = new Notification();
+            n.setUser(user);
+            n.setTitle(title);
+            n.setMessage(message);
+            notifications.add(n);
+        }
+        notificationRepository.saveAll(notifications);
+        unreadCounter.changedAll();
+        AfterCommit.run(() -> {
+            for (Notification n : notifications) {
+                liveUpdates.sendToUser(n.getUser().getId(), LIVE_EVENT, toItem(n));
+            }
+        });
+        for (Notification n : notifications) {
+            bus.publish("live", n.getUser().getId() + ":" + n.getId());
+        }
+
+        // Push bildirimi sadece token'ı olanlara gönder
         for (UserEntity user : allUsers) {
             try {
-                // Veritabanına kaydet (tüm kullanıcılar için)
-                Notification n = new Notification();
-                n.setUser(user);
-                n.setTitle(title);
-                n.setMessage(message);
-                notificationRepository.save(n);
-                count++;
-
-                // Push bildirimi sadece token'ı olanlara gönder
                 if (user.getPushToken() != null && !user.getPushToken().trim().isEmpty()) {
                     pushNotificationService.sendPushNotification(user.getPushToken(), title, message);
                 }
@@ -73,6 +207,20 @@ public class NotificationService {
                 System.err.println("Broadcast failed for user " + user.getId() + ": " + e.getMessage());
             }
         }
-        return count;
+        return notifications.size();
+    }
+
+    private void deliverRemote(String body) {
+        int colon = body.indexOf(':');
+        Long userId = Long.valueOf(body.substring(0, colon));
+        if (!liveUpdates.isConnected(userId)) {
+            return;
+        }
+        notificationRepository.findById(Long.valueOf(body.substring(colon + 1)))
+                .ifPresent(n -> liveUpdates.sendToUser(userId, LIVE_EVENT, toItem(n)));
+    }
+
+    private NotificationItem toItem(Notification n) {
+        return new NotificationItem(n.getId(), n.getTitle(), n.getMessage(), n.isReadFlag(), n.getCreatedAt());
     }
 }
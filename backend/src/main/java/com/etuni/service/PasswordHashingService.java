@@ -0,0 +1,119 @@
+package com.etuni.service;
+
+import com.etuni.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * BCrypt işlemleri için ayrılmış, CPU sayısı kadar thread'li havuz.
+ *
+ * Hash hesaplama istek thread'lerinde yapılmaz; giriş yağmurunda en fazla bu
+ * havuz meşgul olur, etkinlik ve yoklama API'leri etkilenmez. Kuyruk
+ * doluysa ya da iş kuyrukta etuni.password.maxQueueMs'den uzun beklediyse
+ * istek hemen 503 AUTH_BUSY ile reddedilir.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueNanos;
+    private final int strength;
+
+    public PasswordHashingService(PasswordEncoder encoder,
+            @Value("${etuni.password.threads:0}") int threads,
+            @Value("${etuni.password.queueSize:32}") int queueSize,
+            @Value("${etuni.password.maxQueueMs:1500}") long maxQueueMs,
+            @Value("${etuni.password.bcryptStrength:10}") int strength) {
+        this.encoder = encoder;
+        this.maxQueueNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueMs);
+        this.strength = strength;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("etuni-bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String hash) {
+        return run(() -> encoder.matches(rawPassword, hash));
+    }
+
+    /**
+     * Hash'in maliyet faktörü yapılandırılandan farklıysa true. Başarılı
+     * girişte parola yeni maliyetle yeniden hash'lenir.
+     */
+    public boolean needsUpgrade(String hash) {
+        // $2a$10$... biçimi
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Supplier<T> work) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                // Sıra gelene kadar istemci muhtemelen vazgeçmiştir; CPU harcamadan bırak
+                if (System.nanoTime() - enqueuedAt > maxQueueNanos) {
+                    throw new QueueTimeExceeded();
+                }
+                return work.get();
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof QueueTimeExceeded) {
+                throw busy();
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static BusinessException busy() {
+        return new BusinessException("Sunucu şu anda yoğun, lütfen birkaç saniye sonra tekrar deneyin.",
+                "AUTH_BUSY", 503);
+    }
+
+    private static final class QueueTimeExceeded extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        QueueTimeExceeded() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -6,7 +6,6 @@ import com.etuni.repository.PasswordResetTokenRepository;
 import com.etuni.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,16 +19,16 @@ public class PasswordResetService {
 
     private final PasswordResetTokenRepository tokenRepository;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwords;
     private final EmailService emailService;
 
     public PasswordResetService(PasswordResetTokenRepository tokenRepository,
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingService passwords,
             EmailService emailService) {
         this.tokenRepository = tokenRepository;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwords = passwords;
         this.emailService = emailService;
     }
 
@@ -65,7 +64,7 @@ public class PasswordResetService {
 
         // Send email
         emailService.sendPasswordResetEmail(user.getEmail(), token);
-        log.info("Password reset email sent to: {}", email);
+        log.info("Password reset email queued for: {}", email);
 
         return true;
     }
@@ -98,7 +97,7 @@ public class PasswordResetService {
         }
 
         UserEntity user = passToken.getUser();
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwords.encode(newPassword));
         userRepository.save(user);
 
         passToken.setUsed(true);
@@ -0,0 +1,59 @@
+package com.etuni.service;
+
+import com.etuni.dto.PaymentDtos.PaymentCallbackStatus;
+import com.etuni.model.PaymentCallback;
+import com.etuni.repository.PaymentCallbackRepository;
+import com.etuni.scheduler.PaymentCallbackProcessor;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ödeme callback'lerinin idempotent kaydı.
+ *
+ * Callback token ile (unique) kaydedilir ve hemen onaylanır; doğrulama ve
+ * katılım oluşturma PaymentCallbackProcessor'da yapılır. Aynı token ile gelen
+ * tekrarlar (çift callback, sayfa yenileme) sağlayıcıya gitmeden mevcut kaydı
+ * alır.
+ */
+@Service
+public class PaymentCallbackService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentCallbackService.class);
+
+    private final PaymentCallbackRepository callbackRepository;
+    private final PaymentCallbackProcessor processor;
+    private final TransactionTemplate tx;
+
+    public PaymentCallbackService(PaymentCallbackRepository callbackRepository,
+            PaymentCallbackProcessor processor, TransactionTemplate tx) {
+        this.callbackRepository = callbackRepository;
+        this.processor = processor;
+        this.tx = tx;
+    }
+
+    public PaymentCallback accept(String token, Long eventId, Long userId) {
+        Optional<PaymentCallback> existing = callbackRepository.findByToken(token);
+        if (existing.isPresent()) {
+            log.info("Duplicate payment callback for token {} ({})", token, existing.get().getStatus());
+            return existing.get();
+        }
+        PaymentCallback created;
+        try {
+            created = tx.execute(status -> callbackRepository.saveAndFlush(new PaymentCallback(token, eventId, userId)));
+        } catch (DataIntegrityViolationException e) {
+            // Aynı anda gelen ikinci callback unique kısıta takıldı
+            return callbackRepository.findByToken(token).orElseThrow(() -> e);
+        }
+        processor.kick();
+        return created;
+    }
+
+    public Optional<PaymentCallbackStatus> status(String token) {
+        return callbackRepository.findByToken(token)
+                .map(c -> new PaymentCallbackStatus(c.getToken(), c.getStatus(), c.getMessage()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.etuni.service;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Payment Service Interface for future payment provider integration (Stripe,
@@ -18,6 +19,16 @@ public interface PaymentService {
      */
     PaymentInitiationResponse initiatePayment(Long eventId, Long userId, BigDecimal amount);
 
+    /**
+     * Initiate a payment without holding the request thread while the provider
+     * responds. Providers that call a remote API override this; the default
+     * completes synchronously.
+     */
+    default CompletableFuture<PaymentInitiationResponse> initiatePaymentAsync(Long eventId, Long userId,
+            BigDecimal amount) {
+        return CompletableFuture.completedFuture(initiatePayment(eventId, userId, amount));
+    }
+
     /**
      * Verify a payment transaction
      * 
@@ -43,6 +54,12 @@ public interface PaymentService {
             String transactionId,
             boolean verified,
             String status,
-            String message) {
+            String message,
+            BigDecimal paidAmount) {
+
+        /** For providers that do not report the charged amount. */
+        public PaymentVerificationResponse(String transactionId, boolean verified, String status, String message) {
+            this(transactionId, verified, status, message, null);
+        }
     }
 }
@@ -0,0 +1,233 @@
+package com.etuni.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY üzerinden invalidation taşıyıcısı.
+ *
+ * Gönderme ve dinleme havuz dışında açılan kendi bağlantılarıyla yapılır;
+ * send commit sonrası çağrıldığından havuzdan bağlantı beklemez. Mesajlar
+ * sırayla tek bir gönderici thread'ine bırakılır. Kuyruk doluyken veya NOTIFY
+ * başarısız olduğunda mesaj atılır; gönderici ardından, başarılı olana kadar
+ * saniyede bir, tek bir boşluk işareti gönderir ve onu alan her node onGap ile
+ * tüm önbelleğini bırakır. Dinleme bağlantısı koparsa artan beklemeyle
+ * yeniden bağlanılır ve aradaki mesajlar kaçmış olabileceği için yine onGap
+ * çağrılır. NOTIFY yükü 8000 baytla sınırlıdır.
+ */
+public class PostgresNotifyTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresNotifyTransport.class);
+
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final int SEND_QUEUE = 10_000;
+    // Normal mesajlar en az bir satır içerir (bkz. InvalidationMessages), '\n'siz yük çakışmaz
+    static final String GAP_MARKER = "*gap*";
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final int pollMs;
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    private final BlockingQueue<String> outbox = new LinkedBlockingQueue<>(SEND_QUEUE);
+    // Atılan mesaj var; boşluk işareti henüz gönderilemedi
+    private volatile boolean lost;
+    private Thread sender;
+    // Sadece gönderici thread'i kullanır
+    private Connection sendConnection;
+
+    public PostgresNotifyTransport(String url, String username, String password, String channel, int pollMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid NOTIFY channel: " + channel);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.pollMs = pollMs;
+    }
+
+    @Override
+    public void send(String message) {
+        if (!outbox.offer(message)) {
+            lost = true;
+            log.warn("Cache invalidation dropped, send queue full; other nodes will drop their caches");
+        }
+    }
+
+    private void sendLoop() {
+        while (running || !outbox.isEmpty()) {
+            String message;
+            try {
+                message = outbox.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (lost) {
+                try {
+                    pgNotify(GAP_MARKER);
+                    lost = false;
+                } catch (SQLException e) {
+                    log.debug("Cache gap marker not sent yet: {}", e.getMessage());
+                }
+            }
+            if (message != null) {
+                try {
+                    pgNotify(message);
+                } catch (SQLException e) {
+                    lost = true;
+                    log.warn("Cache invalidation NOTIFY failed, other nodes will drop their caches: {}",
+                            e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Bağlantı kopmuşsa bir kez yeniden bağlanıp tekrar dener
+    private void pgNotify(String message) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (sendConnection == null) {
+                    sendConnection = DriverManager.getConnection(url, username, password);
+                }
+                // autocommit: NOTIFY hemen teslim edilir
+                try (PreparedStatement ps = sendConnection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                    ps.setString(1, channel);
+                    ps.setString(2, message);
+                    ps.execute();
+                }
+                return;
+            } catch (SQLException e) {
+                closeQuietly(sendConnection);
+                sendConnection = null;
+                if (attempt == 2) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> onMessage, Runnable onGap) {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(() -> listen(onMessage, onGap), "etuni-cache-bus");
+        listener.setDaemon(true);
+        listener.start();
+        sender = new Thread(this::sendLoop, "etuni-cache-bus-send");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        closeQuietly(listenConnection);
+        if (sender == null) {
+            return;
+        }
+        // Kuyrukta kalanlar gönderilir
+        try {
+            sender.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (sender.isAlive()) {
+            sender.interrupt();
+        } else {
+            closeQuietly(sendConnection);
+        }
+    }
+
+    @Override
+    public int maxMessageBytes() {
+        return MAX_PAYLOAD_BYTES;
+    }
+
+    private void listen(Consumer<String> onMessage, Runnable onGap) {
+        long backoff = 500;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection c = DriverManager.getConnection(url, username, password)) {
+                listenConnection = c;
+                try (Statement st = c.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                PGConnection pg = c.unwrap(PGConnection.class);
+                log.info("Listening for cache invalidations on channel {}", channel);
+                if (connectedBefore) {
+                    onGap.run();
+                }
+                connectedBefore = true;
+                backoff = 500;
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(pollMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification n : notifications) {
+                        try {
+                            if (GAP_MARKER.equals(n.getParameter())) {
+                                onGap.run();
+                                continue;
+                            }
+                            onMessage.accept(n.getParameter());
+                        } catch (RuntimeException e) {
+                            log.warn("Cache invalidation could not be applied: {}", e.getMessage());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation listener disconnected, retrying in {} ms: {}", backoff,
+                        e.getMessage());
+                connectedBefore = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection c) {
+        if (c == null) {
+            return;
+        }
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+            // closing a broken connection
+        }
+    }
+}
@@ -15,12 +15,14 @@ public class PromotionService {
     private final PromotionRequestRepository requestRepo;
     private final UserRepository userRepo;
     private final NotificationService notificationService;
+    private final EmailService emailService;
 
     public PromotionService(PromotionRequestRepository requestRepo, UserRepository userRepo,
-            NotificationService notificationService) {
+            NotificationService notificationService, EmailService emailService) {
         this.requestRepo = requestRepo;
         this.userRepo = userRepo;
         this.notificationService = notificationService;
+        this.emailService = emailService;
     }
 
     @Transactional
@@ -91,6 +93,7 @@ public class PromotionService {
         if (user != null) {
             notificationService.createForUser(user.getId(), "Organizatör Başvurusu Onaylandı",
                     "Tebrikler! Organizatör başvurunuz onaylandı.");
+            emailService.sendPromotionApprovalEmail(user.getEmail(), user.getFullName());
         }
     }
 
@@ -124,6 +127,7 @@ public class PromotionService {
         if (u != null) {
             notificationService.createForUser(u.getId(), "Organizatör Başvurusu Reddedildi",
                     "Üzgünüz, organizatör başvurunuz reddedildi.\nNot: " + (note == null ? "" : note));
+            emailService.sendPromotionRejectionEmail(u.getEmail(), u.getFullName(), note);
         }
     }
 
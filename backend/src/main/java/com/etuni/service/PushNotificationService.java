@@ -1,17 +1,25 @@
 package com.etuni.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class PushNotificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(PushNotificationService.class);
+
     private static final String EXPO_PUSH_URL = "https://exp.host/--/api/v2/push/send";
+    // Expo accepts up to 100 messages per request
+    private static final int EXPO_BATCH_SIZE = 100;
     private final RestTemplate restTemplate;
 
     public PushNotificationService() {
@@ -59,4 +67,50 @@ public class PushNotificationService {
             System.err.println("LOG_PUSH_ERROR: " + e.getMessage());
         }
     }
+
+    public record PushMessage(String pushToken, String title, String body, String type) {
+    }
+
+    /**
+     * Send many push notifications with one Expo request per 100 messages.
+     */
+    public void sendPushNotifications(List<PushMessage> messages) {
+        List<Map<String, Object>> payload = new ArrayList<>(EXPO_BATCH_SIZE);
+        for (PushMessage m : messages) {
+            if (m.pushToken() == null || m.pushToken().trim().isEmpty()) {
+                continue;
+            }
+            Map<String, Object> notification = new HashMap<>();
+            notification.put("to", m.pushToken());
+            notification.put("title", m.title());
+            notification.put("body", m.body());
+            notification.put("sound", "default");
+            notification.put("priority", "high");
+            notification.put("channelId", "default");
+            notification.put("data", Map.of("type", m.type()));
+            payload.add(notification);
+
+            if (payload.size() == EXPO_BATCH_SIZE) {
+                postBatch(payload);
+                payload = new ArrayList<>(EXPO_BATCH_SIZE);
+            }
+        }
+        if (!payload.isEmpty()) {
+            postBatch(payload);
+        }
+    }
+
+    private void postBatch(List<Map<String, Object>> batch) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("Accept", "application/json");
+            headers.set("Accept-Encoding", "gzip, deflate");
+
+            restTemplate.postForEntity(EXPO_PUSH_URL, new HttpEntity<>(batch, headers), String.class);
+            log.debug("Sent push batch of {}", batch.size());
+        } catch (Exception e) {
+            log.warn("Push batch of {} failed: {}", batch.size(), e.getMessage());
+        }
+    }
 }
@@ -5,6 +5,7 @@ import com.etuni.model.UserEntity;
 import com.etuni.repository.AttendanceRepository;
 import com.etuni.repository.EventRepository;
 import com.etuni.repository.UserRepository;
+import com.etuni.util.TagBits;
 import java.time.LocalDate;
 import java.util.*;
 import org.springframework.stereotype.Service;
@@ -32,6 +33,9 @@ public class RecommendationService {
    * - Güncellik: 0.20
    * - Popülerlik: 0.15
    * - Kategori uyumu: 0.10
+   *
+   * İlgi alanı ve kategori uyumu, kayıtta hesaplanan etiket bitset'lerinin
+   * kesişimidir (InterestTagService).
    */
   public List<ScoredEvent> recommend(Long userId) {
     UserEntity user = userRepo.findById(userId)
@@ -56,7 +60,9 @@ public class RecommendationService {
       Map<String, Double> breakdown = new LinkedHashMap<>();
 
       // 1. İlgi alanı uyumu (0.30)
-      double interestScore = matchInterests(tags, e.getTitle(), e.getDescription());
+      double interestScore = user.getInterestTagBits() != null && e.getTagBits() != null
+          ? (TagBits.intersects(user.getInterestTagBits(), e.getTagBits()) ? 1.0 : 0.0)
+          : matchInterests(tags, e.getTitle(), e.getDescription());
       breakdown.put("interestMatch", Math.round(interestScore * 100.0) / 100.0);
 
       // 2. Tür uyumu - geçmiş katılıma dayalı (0.25)
@@ -72,7 +78,9 @@ public class RecommendationService {
       breakdown.put("popularity", Math.round(popularityScore * 100.0) / 100.0);
 
       // 5. Kategori uyumu (0.10)
-      double categoryScore = matchCategory(tags, e.getCategory());
+      double categoryScore = user.getInterestTagBits() != null && e.getCategoryTagBits() != null
+          ? (TagBits.intersects(user.getInterestTagBits(), e.getCategoryTagBits()) ? 1.0 : 0.0)
+          : matchCategory(tags, e.getCategory());
       breakdown.put("categoryMatch", Math.round(categoryScore * 100.0) / 100.0);
 
       // Toplam skor hesapla
@@ -161,6 +169,7 @@ public class RecommendationService {
     return (double) count / max;
   }
 
+  // Metin eşleştirme: etiket bitset'i henüz hesaplanmamış kullanıcı/etkinlik için
   private double matchInterests(List<String> tags, String title, String desc) {
     if (tags == null || tags.isEmpty())
       return 0.0;
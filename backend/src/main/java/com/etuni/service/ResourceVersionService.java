@@ -0,0 +1,115 @@
+package com.etuni.service;
+
+import com.etuni.util.AfterCommit;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Liste uçları için sürüm damgaları (ETag / Last-Modified).
+ *
+ * Her kaynak kümesinin (bir üniversitenin etkinlikleri, kulüpleri, üniversite
+ * listesi) bir sayacı vardır; yazma işlemleri commit sonrası sayacı artırır.
+ * İstemci elindeki ETag'i gönderdiğinde sorgu çalıştırılmadan ve JSON
+ * üretilmeden 304 döner.
+ *
+ * Sayaçlar node'a özeldir; ETag açılış zamanını da içerdiği için farklı
+ * node'lardan gelen damgalar hiçbir zaman yanlışlıkla eşleşmez, en kötü
+ * durumda tam yanıt döner. Artışlar CacheInvalidationBus ile diğer node'lara
+ * da uygulanır; yoksa istemci başka node'a yazılan değişikliği 304 ile
+ * kaçırırdı.
+ */
+@Service
+public class ResourceVersionService {
+
+    public static final String UNIVERSITIES = "universities";
+
+    private final long bootMillis = System.currentTimeMillis() / 1000 * 1000;
+    private final String bootTag = Long.toString(bootMillis, 36);
+    private final Map<String, Stamp> stamps = new ConcurrentHashMap<>();
+    private final CacheInvalidationBus bus;
+
+    private record Stamp(long version, long lastModified) {
+    }
+
+    public record Version(String etag, long lastModified) {
+    }
+
+    public ResourceVersionService(CacheInvalidationBus bus) {
+        this.bus = bus;
+        bus.on("version", this::apply);
+        // Kaçan artışlar bilinmiyor: tüm sayaçlar ilerler
+        bus.onGap(() -> stamps.keySet().forEach(this::increment));
+    }
+
+    public static String eventsOf(Long universityId) {
+        return "events:" + universityId;
+    }
+
+    public static String clubsOf(Long universityId) {
+        return "clubs:" + universityId;
+    }
+
+    /** Tüm üniversitelerin etkinliklerini kapsayan sayaç (ör. hasEvents filtresi). */
+    public static String allEvents() {
+        return "events:*";
+    }
+
+    /** Commit sonrası sürümü artırır. Etkinlik anahtarları genel sayacı da artırır. */
+    public void bump(String key) {
+        AfterCommit.run(() -> apply(key));
+        bus.publish("version", key);
+    }
+
+    /** Verilen anahtarların birleşik sürümü. */
+    public Version current(String... keys) {
+        StringBuilder etag = new StringBuilder("W/\"").append(bootTag);
+        long lastModified = bootMillis;
+        for (String key : keys) {
+            Stamp s = stamps.get(key);
+            long version = s == null ? 0 : s.version();
+            etag.append('-').append(Long.toString(version, 36));
+            if (s != null) {
+                lastModified = Math.max(lastModified, s.lastModified());
+            }
+        }
+        return new Version(etag.append('"').toString(), lastModified);
+    }
+
+    public boolean checkNotModified(WebRequest request, String... keys) {
+        return checkNotModified(request, current(keys));
+    }
+
+    /**
+     * ETag ve Last-Modified başlıklarını yazar; istemcinin kopyası güncelse
+     * true döner (yanıt 304 olarak işaretlenmiştir, gövde üretilmemelidir).
+     */
+    public boolean checkNotModified(WebRequest request, Version version) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                // Spring Security'nin varsayılan no-store başlığı yerine: sakla ama her seferinde doğrula
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+            }
+        }
+        return request.checkNotModified(version.etag(), version.lastModified());
+    }
+
+    private void apply(String key) {
+        increment(key);
+        if (key.startsWith("events:") && !key.equals(allEvents())) {
+            increment(allEvents());
+        }
+    }
+
+    private void increment(String key) {
+        // HTTP tarihleri saniye hassasiyetinde
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        stamps.merge(key, new Stamp(1, now),
+                (old, x) -> new Stamp(old.version() + 1, Math.max(now, old.lastModified())));
+    }
+}
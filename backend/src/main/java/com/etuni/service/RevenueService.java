@@ -0,0 +1,159 @@
+package com.etuni.service;
+
+import com.etuni.dto.AnalyticsDtos.DailyRevenueItem;
+import com.etuni.dto.AnalyticsDtos.RevenueReport;
+import com.etuni.model.BackfillMarker;
+import com.etuni.model.Event;
+import com.etuni.model.PaymentLedgerEntry;
+import com.etuni.repository.AttendanceRepository;
+import com.etuni.repository.BackfillMarkerRepository;
+import com.etuni.repository.EventRepository;
+import com.etuni.repository.PaymentLedgerRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ödeme defteri (payment_ledger) ve gelir raporları.
+ *
+ * Ödeme tamamlanınca tahsil edilen tutar (etkinlik, üniversite, kulüp, gün)
+ * ile bir kez yazılır. Raporlar bu tablodan indeksli toplam sorgularıyla
+ * hesaplanır; katılım satırları ve etkinlikler belleğe yüklenmez.
+ */
+@Service
+public class RevenueService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueService.class);
+
+    // Tarih aralığı verilmezse tüm kayıtlar
+    private static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(9999, 12, 31);
+    private static final String LEGACY_BACKFILL = "legacy-payments";
+
+    private final PaymentLedgerRepository ledgerRepo;
+    private final EventRepository eventRepo;
+    private final AttendanceRepository attendanceRepo;
+    private final BackfillMarkerRepository markerRepo;
+    private final TransactionTemplate tx;
+
+    public RevenueService(PaymentLedgerRepository ledgerRepo, EventRepository eventRepo,
+            AttendanceRepository attendanceRepo, BackfillMarkerRepository markerRepo, TransactionTemplate tx) {
+        this.ledgerRepo = ledgerRepo;
+        this.eventRepo = eventRepo;
+        this.attendanceRepo = attendanceRepo;
+        this.markerRepo = markerRepo;
+        this.tx = tx;
+    }
+
+    /**
+     * Tamamlanan ödemeyi deftere yazar; ödemeyi tamamlayan transaction'a katılır.
+     * paidAmount sağlayıcıdan gelmediyse etkinliğin o anki fiyatı kullanılır.
+     * Aynı token ikinci kez yazılmaz.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(String token, Long eventId, Long userId, BigDecimal paidAmount) {
+        if (ledgerRepo.existsByToken(token)) {
+            return;
+        }
+        Event event = eventRepo.findById(eventId).orElseThrow(() -> new RuntimeException("EVENT_NOT_FOUND"));
+        BigDecimal amount = paidAmount != null ? paidAmount : event.getPrice();
+        if (amount == null || amount.signum() <= 0) {
+            return;
+        }
+        ledgerRepo.save(new PaymentLedgerEntry(token, eventId, event.getUniversity().getId(),
+                event.getClub() != null ? event.getClub().getId() : null, userId, amount, LocalDate.now()));
+    }
+
+    public BigDecimal totalForUniversity(Long universityId) {
+        return ledgerRepo.sumByUniversity(universityId, FIRST_DAY, LAST_DAY);
+    }
+
+    public RevenueReport universityReport(Long universityId, LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : FIRST_DAY;
+        LocalDate end = to != null ? to : LAST_DAY;
+        return report("UNIVERSITY", universityId, from, to, ledgerRepo.dailyByUniversity(universityId, start, end));
+    }
+
+    public RevenueReport clubReport(Long clubId, LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : FIRST_DAY;
+        LocalDate end = to != null ? to : LAST_DAY;
+        return report("CLUB", clubId, from, to, ledgerRepo.dailyByClub(clubId, start, end));
+    }
+
+    public RevenueReport eventReport(Long eventId, LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : FIRST_DAY;
+        LocalDate end = to != null ? to : LAST_DAY;
+        return report("EVENT", eventId, from, to, ledgerRepo.dailyByEvent(eventId, start, end));
+    }
+
+    // Günlük satırlar zaten gruplanmış gelir; toplam bunlardan çıkar
+    private RevenueReport report(String scope, Long id, LocalDate from, LocalDate to, List<Object[]> rows) {
+        List<DailyRevenueItem> daily = new ArrayList<>(rows.size());
+        BigDecimal total = BigDecimal.ZERO;
+        long payments = 0;
+        for (Object[] row : rows) {
+            BigDecimal amount = (BigDecimal) row[1];
+            long count = ((Number) row[2]).longValue();
+            daily.add(new DailyRevenueItem((LocalDate) row[0], amount, count));
+            total = total.add(amount);
+            payments += count;
+        }
+        return new RevenueReport(scope, id, from, to, total, payments, daily);
+    }
+
+    /**
+     * Deftere henüz yazılmamış eski ücretli katılımlar etkinlik fiyatıyla bir
+     * kez aktarılır. Okutulmuş biletlerin yanında ödemeyle onaylanmış ama henüz
+     * okutulmamış biletler de sayılır; bu yüzden toplamlar sadece okutulanları
+     * sayan eski raporlardan yüksek olabilir. Aynı etkinlik ve kullanıcı için
+     * kaydı olanlar ve defterin ilk gerçek ödemesinden sonraki katılımlar
+     * atlanır. Bitince BackfillMarker yazılır ve sonraki açılışlarda tarama
+     * yapılmaz. Birden çok node aynı anda aktarırsa çakışan taraf geri alınır;
+     * kayıtları diğer node yazmıştır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLegacyPayments() {
+        if (markerRepo.existsById(LEGACY_BACKFILL)) {
+            return;
+        }
+        try {
+            Integer imported = tx.execute(status -> {
+                OffsetDateTime firstRecorded = ledgerRepo.findFirstRecordedAt();
+                LocalDateTime before = firstRecorded != null
+                        ? firstRecorded.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                        : LocalDateTime.now();
+                List<PaymentLedgerEntry> entries = new ArrayList<>();
+                for (Object[] row : attendanceRepo.findLegacyPaidAttendances(before)) {
+                    LocalDateTime scannedAt = (LocalDateTime) row[6];
+                    entries.add(new PaymentLedgerEntry("LEGACY-" + row[0], (Long) row[1], (Long) row[2],
+                            (Long) row[3], (Long) row[4], (BigDecimal) row[5],
+                            scannedAt != null ? scannedAt.toLocalDate() : LocalDate.now()));
+                }
+                ledgerRepo.saveAll(entries);
+                markerRepo.save(new BackfillMarker(LEGACY_BACKFILL, OffsetDateTime.now()));
+                return entries.size();
+            });
+            if (imported != null && imported > 0) {
+                log.info("Imported {} legacy paid attendances into payment_ledger", imported);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.info("Legacy payments are being imported by another node");
+        } catch (DataAccessException e) {
+            log.warn("Legacy payment import failed, will retry on next start: {}", e.getMessage());
+        }
+    }
+}
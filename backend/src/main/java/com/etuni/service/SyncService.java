@@ -0,0 +1,142 @@
+package com.etuni.service;
+
+import com.etuni.dto.ClubDtos.ClubResponse;
+import com.etuni.dto.EventDtos.EventResponse;
+import com.etuni.dto.SyncDtos.EventSyncResponse;
+import com.etuni.dto.UserProfileDtos.AttendanceHistoryItem;
+import com.etuni.exception.BusinessException;
+import com.etuni.exception.ResourceNotFoundException;
+import com.etuni.model.Attendance;
+import com.etuni.model.ChangeLogEntry;
+import com.etuni.model.UserEntity;
+import com.etuni.repository.AttendanceRepository;
+import com.etuni.repository.ChangeLogRepository;
+import com.etuni.repository.UserRepository;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Mobil uygulama için delta senkronizasyonu (/api/sync/events).
+ *
+ * İstemci son aldığı imleci (change_log id) gönderir; yanıtta sadece o
+ * imleçten sonra değişen etkinlik, kulüp ve kendi katılımlarının güncel hali
+ * ile silinenlerin id'leri döner. Aynı varlığın birden çok değişikliği tek
+ * satıra indirgenir ve güncel durum veritabanından okunur; bu yüzden kayıtları
+ * tekrar almak zararsızdır.
+ *
+ * Sequence id'leri commit sırasıyla değil, alınma sırasıyla artar: daha küçük
+ * id'li bir transaction henüz commit edilmemiş olabilir. İmleç bu yüzden
+ * sadece settleMs'den eski kayıtlara kadar ilerler; daha yeni kayıtlar yine
+ * döner ama bir sonraki istekte tekrar gelir.
+ *
+ * İmleç yoksa, compaction ile silinen aralıkta kalmışsa veya veritabanından
+ * büyükse reset: tam liste ve yeni imleç döner.
+ */
+@Service
+public class SyncService {
+
+    static final int PAGE_SIZE = 500;
+
+    private final ChangeLogRepository changeLogRepo;
+    private final UserRepository userRepo;
+    private final AttendanceRepository attendanceRepo;
+    private final EventService eventService;
+    private final ClubService clubService;
+    private final long settleMs;
+
+    public SyncService(ChangeLogRepository changeLogRepo, UserRepository userRepo,
+            AttendanceRepository attendanceRepo, EventService eventService, ClubService clubService,
+            @Value("${etuni.sync.settleMs:30000}") long settleMs) {
+        this.changeLogRepo = changeLogRepo;
+        this.userRepo = userRepo;
+        this.attendanceRepo = attendanceRepo;
+        this.eventService = eventService;
+        this.clubService = clubService;
+        this.settleMs = settleMs;
+    }
+
+    @Transactional(readOnly = true)
+    public EventSyncResponse events(Long userId, Long since) {
+        UserEntity user = userRepo.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Kullanıcı", userId));
+        if (user.getUniversity() == null) {
+            throw new BusinessException("Önce üniversite seçmelisin.", "UNIVERSITY_REQUIRED", 400);
+        }
+        Long universityId = user.getUniversity().getId();
+        OffsetDateTime settledBefore = OffsetDateTime.now().minusNanos(settleMs * 1_000_000);
+
+        Long minId = changeLogRepo.findMinId();
+        Long maxId = changeLogRepo.findMaxId();
+        if (since == null || maxId == null || since > maxId || since < minId - 1) {
+            return snapshot(userId, universityId, settledBefore);
+        }
+
+        List<ChangeLogEntry> page = changeLogRepo.findFeed(since, universityId, userId,
+                PageRequest.of(0, PAGE_SIZE));
+        long cursor = since;
+        boolean settled = true;
+        Set<Long> eventIds = new LinkedHashSet<>();
+        Set<Long> clubIds = new LinkedHashSet<>();
+        Set<Long> attendanceIds = new LinkedHashSet<>();
+        for (ChangeLogEntry c : page) {
+            settled = settled && c.getChangedAt().isBefore(settledBefore);
+            if (settled) {
+                cursor = c.getId();
+            }
+            switch (c.getEntityType()) {
+                case ChangeLogEntry.EVENT -> eventIds.add(c.getEntityId());
+                case ChangeLogEntry.CLUB -> clubIds.add(c.getEntityId());
+                case ChangeLogEntry.ATTENDANCE -> attendanceIds.add(c.getEntityId());
+                default -> {
+                }
+            }
+        }
+        boolean hasMore = page.size() == PAGE_SIZE && settled;
+
+        // Güncel hali bu üniversitede olmayan (silinmiş, taşınmış) her şey tombstone
+        List<EventResponse> events = new ArrayList<>();
+        for (EventResponse e : eventService.getByIds(eventIds)) {
+            if (universityId.equals(e.universityId())) {
+                events.add(e);
+                eventIds.remove(e.id());
+            }
+        }
+        List<ClubResponse> clubs = new ArrayList<>();
+        for (ClubResponse c : clubService.getByIds(clubIds)) {
+            if (universityId.equals(c.universityId())) {
+                clubs.add(c);
+                clubIds.remove(c.id());
+            }
+        }
+        List<AttendanceHistoryItem> attendances = new ArrayList<>();
+        if (!attendanceIds.isEmpty()) {
+            for (Attendance a : attendanceRepo.findWithUserAndEventByIdIn(attendanceIds)) {
+                if (userId.equals(a.getUser().getId())) {
+                    attendances.add(UserProfileService.historyItem(a));
+                    attendanceIds.remove(a.getId());
+                }
+            }
+        }
+        return new EventSyncResponse(universityId, cursor, false, hasMore, events, List.copyOf(eventIds), clubs,
+                List.copyOf(clubIds), attendances, List.copyOf(attendanceIds));
+    }
+
+    // İmleç listeden önce okunur: arada commit edilen değişiklikler bir sonraki istekte tekrar gelir
+    private EventSyncResponse snapshot(Long userId, Long universityId, OffsetDateTime settledBefore) {
+        Long cursor = changeLogRepo.findMaxIdBefore(settledBefore);
+        List<AttendanceHistoryItem> attendances = attendanceRepo.findByUserIdOrderByScannedAtDesc(userId).stream()
+                .map(UserProfileService::historyItem)
+                .toList();
+        return new EventSyncResponse(universityId, cursor == null ? 0 : cursor, true, false,
+                eventService.listAllByUniversity(universityId), List.of(),
+                clubService.listByUniversity(universityId), List.of(),
+                attendances, List.of());
+    }
+}
@@ -0,0 +1,137 @@
+package com.etuni.service;
+
+import com.etuni.dto.AnalyticsDtos.TopEventItem;
+import com.etuni.model.Event;
+import com.etuni.repository.AttendanceRepository;
+import com.etuni.util.AfterCommit;
+import com.etuni.util.TrendingCounters;
+import com.etuni.util.TrendingCounters.Window;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Son hafta / ay / çeyrekte en popüler etkinlikler.
+ *
+ * Puan katılım ve check-in'lerden oluşur: katılım (ücretsiz veya ücretli) ilgiyi
+ * gösterir ve JOIN_WEIGHT, check-in gerçek katılımı gösterir ve CHECK_IN_WEIGHT
+ * kadar sayılır. Böylece henüz başlamamış etkinlikler de listeye girer.
+ *
+ * Sayaçlar bellekte tutulur (bkz. TrendingCounters) ve commit edildikten sonra
+ * artırılır; en popüler etkinlikler veritabanına gitmeden O(K) sürede okunur.
+ * Açılışta son çeyreğin katılım ve check-in'leri iki gruplu sorguyla yüklenir;
+ * okutulmuş katılımların katılma günü kaybolduğu için katılım puanı check-in
+ * gününe yazılır. Diğer node'lardaki değişiklikler CacheInvalidationBus ile
+ * anında, kaçanlar periyodik yeniden yüklemeyle gelir.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    static final int JOIN_WEIGHT = 1;
+    static final int CHECK_IN_WEIGHT = 2;
+
+    private final AttendanceRepository attendanceRepo;
+    private final CacheInvalidationBus bus;
+    private final TrendingCounters counters = new TrendingCounters(LocalDate::now);
+
+    public TrendingService(AttendanceRepository attendanceRepo, CacheInvalidationBus bus) {
+        this.attendanceRepo = attendanceRepo;
+        this.bus = bus;
+        bus.on("join", body -> apply(body, JOIN_WEIGHT));
+        bus.on("checkin", body -> apply(body, CHECK_IN_WEIGHT));
+    }
+
+    // "eventId:universityId:title"; universityId boş olabilir
+    private void apply(String body, int weight) {
+        String[] f = body.split(":", 3);
+        counters.add(Long.parseLong(f[0]), f[1].isEmpty() ? null : Long.valueOf(f[1]),
+                f[2].isEmpty() ? null : f[2], LocalDate.now(), weight);
+    }
+
+    /** "week", "month"; diğer her şey çeyrek (önceki getTopEvents ile aynı). */
+    public static Window window(String period) {
+        if ("week".equalsIgnoreCase(period)) {
+            return Window.WEEK;
+        }
+        if ("month".equalsIgnoreCase(period)) {
+            return Window.MONTH;
+        }
+        return Window.QUARTER;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${etuni.trending.resyncMs:600000}", initialDelayString = "${etuni.trending.resyncMs:600000}")
+    public void rehydrate() {
+        // En uzun çeyrek 92 gün
+        LocalDateTime since = LocalDate.now().minusDays(92).atStartOfDay();
+        List<Object[]> checkIns = attendanceRepo.countDailyCheckInsSince(since);
+        List<Object[]> joins = attendanceRepo.countDailyJoinsSince(since);
+        // Sorgu ile kilit arasında commit edilenler bir sonraki yüklemede gelir
+        synchronized (counters) {
+            counters.clear();
+            // Okutulmuş her katılım önce katılmış sayılır
+            addRows(checkIns, JOIN_WEIGHT + CHECK_IN_WEIGHT);
+            addRows(joins, JOIN_WEIGHT);
+        }
+        log.debug("Trending counters loaded: {} events", counters.size());
+    }
+
+    private void addRows(List<Object[]> rows, int weight) {
+        for (Object[] row : rows) {
+            counters.add((Long) row[0], (Long) row[1], (String) row[2], (LocalDate) row[3],
+                    ((Number) row[4]).longValue() * weight);
+        }
+    }
+
+    /** Yeni katılım kaydı (ücretsiz katılım, ödeme veya okutmayla oluşan); commit edilince sayılır. */
+    public void recordJoin(Event e) {
+        record(e, "join", JOIN_WEIGHT);
+    }
+
+    /** Check-in (verified = true) sonrası; commit edilince sayılır. */
+    public void recordCheckIn(Event e) {
+        record(e, "checkin", CHECK_IN_WEIGHT);
+    }
+
+    private void record(Event e, String kind, int weight) {
+        long eventId = e.getId();
+        Long universityId = e.getUniversity() == null ? null : e.getUniversity().getId();
+        String title = e.getTitle();
+        AfterCommit.run(() -> counters.add(eventId, universityId, title, LocalDate.now(), weight));
+        bus.publish(kind, eventId + ":" + (universityId == null ? "" : universityId) + ":"
+                + (title == null ? "" : title));
+    }
+
+    /** Başlık veya üniversite değiştiğinde. */
+    public void upsert(Event e) {
+        long eventId = e.getId();
+        Long universityId = e.getUniversity() == null ? null : e.getUniversity().getId();
+        String title = e.getTitle();
+        AfterCommit.run(() -> counters.update(eventId, universityId, title));
+    }
+
+    public void remove(Long eventId) {
+        AfterCommit.run(() -> counters.remove(eventId));
+    }
+
+    /** universityId null ise tüm üniversiteler. attendanceCount burada ağırlıklı puandır. */
+    public List<TopEventItem> top(Window window, Long universityId, int limit) {
+        return counters.top(window, universityId, limit).stream()
+                .map(e -> new TopEventItem(e.eventId(), e.title(), (int) e.count()))
+                .toList();
+    }
+
+    // Gün dönümünde pencereleri ilk okumadan önce kaydırır
+    @Scheduled(cron = "${etuni.trending.rollCron:5 0 0 * * *}")
+    public void roll() {
+        counters.roll();
+    }
+}
@@ -0,0 +1,173 @@
+package com.etuni.service;
+
+import com.etuni.dto.UniversityDtos.UniversityEventSummary;
+import com.etuni.model.Event;
+import com.etuni.repository.EventRepository;
+import com.etuni.util.AfterCommit;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Üniversite başına aktif etkinlik sayısı ve en yakın etkinlik tarihi.
+ *
+ * Açılışta tek sorguyla kurulur, sonrasında etkinlik değişikliklerinde commit
+ * sonrası güncellenir. Okumalar veritabanına gitmez; /events sayfasındaki
+ * "etkinliği olan ilk üniversite" araması ve /api/universities?hasEvents=true
+ * buradan cevaplanır.
+ */
+@Service
+public class UniversityEventIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(UniversityEventIndexService.class);
+
+    private final EventRepository eventRepo;
+
+    private record Entry(Long universityId, LocalDate eventDate) {
+    }
+
+    // Yayınlanan değişmez görüntü; en yakın tarih okuma anında bugüne göre bulunur
+    private record Published(int count, NavigableSet<LocalDate> dates) {
+    }
+
+    // Yazma tarafı (kilit altında)
+    private final Map<Long, Entry> byEvent = new HashMap<>();
+    private final Map<Long, TreeMap<LocalDate, Integer>> datesByUniversity = new HashMap<>();
+
+    // Okuma tarafı: sadece en az bir aktif etkinliği olan üniversiteler
+    private final Map<Long, Published> summaries = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> withEvents = new ConcurrentSkipListSet<>();
+
+    public UniversityEventIndexService(EventRepository eventRepo) {
+        this.eventRepo = eventRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        byEvent.clear();
+        datesByUniversity.clear();
+        for (Object[] row : eventRepo.findActiveUniversitySchedule()) {
+            Long eventId = (Long) row[0];
+            Entry entry = new Entry((Long) row[1], (LocalDate) row[2]);
+            byEvent.put(eventId, entry);
+            addDate(entry);
+        }
+        summaries.clear();
+        withEvents.clear();
+        datesByUniversity.keySet().forEach(this::publish);
+        log.info("University event index built: {} active events in {} universities", byEvent.size(),
+                withEvents.size());
+    }
+
+    /** Etkinlik oluşturma/güncelleme/taşımada; commit sonrası indeks güncellenir. */
+    public void upsert(Event e) {
+        Long id = e.getId();
+        Entry entry = "ACTIVE".equals(e.getStatus()) && e.getUniversity() != null
+                ? new Entry(e.getUniversity().getId(), e.getEventDate())
+                : null;
+        AfterCommit.run(() -> {
+            if (entry == null) {
+                unindex(id);
+            } else {
+                index(id, entry);
+            }
+        });
+    }
+
+    public void remove(Long eventId) {
+        AfterCommit.run(() -> unindex(eventId));
+    }
+
+    public boolean hasActiveEvents(Long universityId) {
+        return universityId != null && summaries.containsKey(universityId);
+    }
+
+    /** Aktif etkinliği olan en küçük id'li üniversite. */
+    public Optional<Long> firstUniversityWithEvents() {
+        return Optional.ofNullable(withEvents.ceiling(Long.MIN_VALUE));
+    }
+
+    public Set<Long> universitiesWithEvents() {
+        return Collections.unmodifiableSet(withEvents);
+    }
+
+    /** nextEventDate bugün veya sonrasıdır; geçmiş tarihli aktif etkinlikler sayılır ama tarih olarak dönmez. */
+    public UniversityEventSummary summary(Long universityId) {
+        Published p = universityId == null ? null : summaries.get(universityId);
+        if (p == null) {
+            return new UniversityEventSummary(universityId, 0, null);
+        }
+        LocalDate next = p.dates().ceiling(LocalDate.now());
+        return new UniversityEventSummary(universityId, p.count(), LocalDate.MAX.equals(next) ? null : next);
+    }
+
+    private synchronized void index(Long eventId, Entry entry) {
+        Entry old = byEvent.put(eventId, entry);
+        if (old != null) {
+            removeDate(old);
+            if (!old.universityId().equals(entry.universityId())) {
+                publish(old.universityId());
+            }
+        }
+        addDate(entry);
+        publish(entry.universityId());
+    }
+
+    private synchronized void unindex(Long eventId) {
+        Entry old = byEvent.remove(eventId);
+        if (old != null) {
+            removeDate(old);
+            publish(old.universityId());
+        }
+    }
+
+    // Caller holds the lock
+    private void addDate(Entry entry) {
+        datesByUniversity.computeIfAbsent(entry.universityId(), id -> new TreeMap<>())
+                .merge(dateKey(entry), 1, Integer::sum);
+    }
+
+    // Caller holds the lock
+    private void removeDate(Entry entry) {
+        TreeMap<LocalDate, Integer> dates = datesByUniversity.get(entry.universityId());
+        if (dates == null) {
+            return;
+        }
+        dates.computeIfPresent(dateKey(entry), (d, n) -> n > 1 ? n - 1 : null);
+        if (dates.isEmpty()) {
+            datesByUniversity.remove(entry.universityId());
+        }
+    }
+
+    // Caller holds the lock
+    private void publish(Long universityId) {
+        TreeMap<LocalDate, Integer> dates = datesByUniversity.get(universityId);
+        if (dates == null) {
+            withEvents.remove(universityId);
+            summaries.remove(universityId);
+            return;
+        }
+        int count = dates.values().stream().mapToInt(Integer::intValue).sum();
+        summaries.put(universityId, new Published(count,
+                Collections.unmodifiableNavigableSet(new TreeSet<>(dates.keySet()))));
+        withEvents.add(universityId);
+    }
+
+    // Tarihsiz etkinlikler sayılır ama "en yakın tarih" olarak görünmez
+    private static LocalDate dateKey(Entry entry) {
+        return entry.eventDate() != null ? entry.eventDate() : LocalDate.MAX;
+    }
+}
@@ -4,34 +4,59 @@ import com.etuni.dto.UniversityDtos.*;
 import com.etuni.model.University;
 import com.etuni.repository.UniversityRepository;
 import java.util.List;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UniversityService {
 
     private final UniversityRepository universityRepo;
+    private final ResourceVersionService versions;
+    private final CacheInvalidationBus bus;
 
-    public UniversityService(UniversityRepository universityRepo) {
+    public UniversityService(UniversityRepository universityRepo, ResourceVersionService versions,
+            CacheInvalidationBus bus) {
         this.universityRepo = universityRepo;
+        this.versions = versions;
+        this.bus = bus;
     }
 
+    @CacheEvict(value = "universities", allEntries = true)
+    @Transactional
     public UniversityResponse create(UniversityRequest req) {
         University uni = new University();
         uni.setName(req.name());
         uni.setCity(req.city());
         uni.setLogoUrl(req.logoUrl());
-        return toDto(universityRepo.save(uni));
+        versions.bump(ResourceVersionService.UNIVERSITIES);
+        University saved = universityRepo.save(uni);
+        bus.evictCache("universities");
+        bus.evictEntity(University.class, saved.getId());
+        return toDto(saved);
     }
 
+    /**
+     * The University entity itself is kept consistent in the Hibernate
+     * second-level cache by its READ_WRITE strategy; the DTO cache is dropped here.
+     * Other nodes drop both through the invalidation bus.
+     */
+    @CacheEvict(value = "universities", allEntries = true)
+    @Transactional
     public UniversityResponse update(Long id, UniversityRequest req) {
         University uni = universityRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("UNIVERSITY_NOT_FOUND"));
         uni.setName(req.name());
         uni.setCity(req.city());
         uni.setLogoUrl(req.logoUrl());
+        versions.bump(ResourceVersionService.UNIVERSITIES);
+        bus.evictCache("universities");
+        bus.evictEntity(University.class, id);
         return toDto(universityRepo.save(uni));
     }
 
+    @Cacheable(value = "universities", key = "'all'")
     public List<UniversityResponse> list() {
         return universityRepo.findAll().stream().map(this::toDto).toList();
     }
@@ -0,0 +1,88 @@
+package com.etuni.service;
+
+import com.etuni.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.etuni.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kullanıcı başına okunmamış bildirim sayacı.
+ * (user_id, read_flag) indeksi üzerinden COUNT ile yüklenir ve değişene kadar
+ * bellekte tutulur. Ekleme/okuma sayacı artırıp azaltmaz, commit sonrası siler;
+ * bir sonraki okuma yeniden sayar. Sayım sürerken bir silme olduysa sonuç
+ * önbelleğe yazılmaz, böylece commit'ten önce okunmuş eski değer kalamaz.
+ * Silme CacheInvalidationBus ile diğer node'lara da duyurulur; kaçan mesajlara
+ * karşı sayaçlar etuni.notifications.unreadTtlSeconds sonra düşer.
+ */
+@Service
+public class UnreadCounterService {
+
+    private final NotificationRepository notificationRepository;
+    private final CacheInvalidationBus bus;
+    private final Cache<Long, Long> counters;
+    // Her silmede artar; sayım başladığından beri değiştiyse sonuç önbelleğe yazılmaz
+    private final AtomicLong epoch = new AtomicLong();
+
+    public UnreadCounterService(NotificationRepository notificationRepository, CacheInvalidationBus bus,
+            @Value("${etuni.notifications.unreadTtlSeconds:60}") long ttlSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.bus = bus;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        // "<userId>" veya tüm kullanıcılar için "*"
+        bus.on("unread", body -> {
+            if ("*".equals(body)) {
+                invalidateAll();
+            } else {
+                invalidate(Long.valueOf(body));
+            }
+        });
+        bus.onGap(this::invalidateAll);
+    }
+
+    public long get(Long userId) {
+        if (userId == null)
+            return 0;
+        Long cached = counters.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = epoch.get();
+        long count = notificationRepository.countByUserIdAndReadFlagFalse(userId);
+        // invalidate ile aynı anahtar üzerinde sıralanır
+        counters.asMap().compute(userId, (id, current) -> current != null ? current
+                : epoch.get() == stamp ? count : null);
+        return count;
+    }
+
+    /** Kullanıcının bildirimleri eklendi veya okundu; commit sonrası yeniden sayılır. */
+    public void changed(Long userId) {
+        AfterCommit.run(() -> invalidate(userId));
+        bus.publish("unread", String.valueOf(userId));
+    }
+
+    /** Toplu gönderim: tüm sayaçlar tek mesajla düşer. */
+    public void changedAll() {
+        AfterCommit.run(this::invalidateAll);
+        bus.publish("unread", "*");
+    }
+
+    private void invalidate(Long userId) {
+        counters.asMap().compute(userId, (id, current) -> {
+            epoch.incrementAndGet();
+            return null;
+        });
+    }
+
+    private void invalidateAll() {
+        epoch.incrementAndGet();
+        counters.invalidateAll();
+    }
+}
@@ -1,5 +1,7 @@
 package com.etuni.service;
 
+import com.etuni.dto.AdminDtos.DirectoryUser;
+import com.etuni.dto.AdminDtos.UserDirectoryPage;
 import com.etuni.dto.UserProfileDtos.*;
 import com.etuni.model.Attendance;
 import com.etuni.model.University;
@@ -8,6 +10,8 @@ import com.etuni.repository.AttendanceRepository;
 import com.etuni.repository.UniversityRepository;
 import com.etuni.repository.UserRepository;
 import java.util.List;
+import java.util.Locale;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
@@ -17,12 +21,14 @@ public class UserProfileService {
     private final UserRepository userRepo;
     private final UniversityRepository universityRepo;
     private final AttendanceRepository attendanceRepo;
+    private final InterestTagService interestTags;
 
     public UserProfileService(UserRepository userRepo, UniversityRepository universityRepo,
-            AttendanceRepository attendanceRepo) {
+            AttendanceRepository attendanceRepo, InterestTagService interestTags) {
         this.userRepo = userRepo;
         this.universityRepo = universityRepo;
         this.attendanceRepo = attendanceRepo;
+        this.interestTags = interestTags;
     }
 
     @Transactional(readOnly = true)
@@ -39,6 +45,7 @@ public class UserProfileService {
 
         if (req.interests() != null) {
             user.setInterests(req.interests());
+            user.setInterestTagBits(interestTags.bitsForInterests(req.interests()));
         }
 
         if (req.preferredTimeRange() != null) {
@@ -92,6 +99,7 @@ public class UserProfileService {
         // Update interests if provided
         if (req.interests() != null) {
             user.setInterests(req.interests());
+            user.setInterestTagBits(interestTags.bitsForInterests(req.interests()));
         }
 
         // Update preferred time range if provided
@@ -110,29 +118,56 @@ public class UserProfileService {
         List<Attendance> attendances = attendanceRepo.findByUserIdOrderByScannedAtDesc(userId);
 
         List<AttendanceHistoryItem> items = attendances.stream()
-                .map(a -> new AttendanceHistoryItem(
-                        a.getId(),
-                        a.getEvent().getId(),
-                        a.getEvent().getTitle(),
-                        a.getEvent().getEventType(),
-                        a.getScannedAt(),
-                        a.isVerified(),
-                        a.getStatus(),
-                        a.getTicketCode()))
+                .map(UserProfileService::historyItem)
                 .toList();
 
         return new AttendanceHistoryResponse(items.size(), items);
     }
 
+    /** Katılım geçmişi satırı; event yüklenmiş olmalı. */
+    public static AttendanceHistoryItem historyItem(Attendance a) {
+        return new AttendanceHistoryItem(
+                a.getId(),
+                a.getEvent().getId(),
+                a.getEvent().getTitle(),
+                a.getEvent().getEventType(),
+                a.getScannedAt(),
+                a.isVerified(),
+                a.getStatus(),
+                a.getTicketCode());
+    }
+
     public long countUsers() {
         return userRepo.count();
     }
 
+    /**
+     * Admin kullanıcı rehberi. Sayfa tek sorguyla (üniversite join'li
+     * projeksiyon) okunur; toplam kullanıcı sayısı maliyeti etkilemez.
+     * after bir önceki sayfanın nextCursor değeridir.
+     */
     @Transactional(readOnly = true)
-    public List<UserProfileResponse> findAllUsers() {
-        return userRepo.findAll().stream()
-                .map(this::toDto)
-                .toList();
+    public UserDirectoryPage findUsers(String role, String status, Long universityId, String emailPrefix,
+            Long after, int size) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        String prefix = emailPrefix == null || emailPrefix.isBlank() ? null
+                : escapeLike(emailPrefix.trim().toLowerCase(Locale.ROOT)) + "%";
+        // Bir fazla okunur: sonraki sayfa olup olmadığı ek sorgu olmadan bilinir
+        List<DirectoryUser> rows = userRepo.findDirectoryPage(after == null ? 0L : after, blankToNull(role),
+                blankToNull(status), universityId, prefix, PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new UserDirectoryPage(rows, null);
+        }
+        List<DirectoryUser> page = rows.subList(0, pageSize);
+        return new UserDirectoryPage(List.copyOf(page), page.get(pageSize - 1).id());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     private UserProfileResponse toDto(UserEntity user) {
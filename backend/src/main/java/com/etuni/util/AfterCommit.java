@@ -0,0 +1,28 @@
+package com.etuni.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs side effects (in-memory counters, live pushes) only once the surrounding
+ * transaction has committed. Without an active transaction the action runs
+ * immediately.
+ */
+public final class AfterCommit {
+
+  private AfterCommit() {
+  }
+
+  public static void run(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
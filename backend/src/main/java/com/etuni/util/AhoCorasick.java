@@ -0,0 +1,171 @@
+package com.etuni.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick multi-pattern matcher compiled to a DFA.
+ *
+ * Every pattern carries an int id. A scan walks the text once and reports the
+ * id of every pattern occurrence, overlapping ones included, no matter how
+ * many patterns there are. The alphabet is the set of characters used by the
+ * patterns; any other character sends the automaton back to the root.
+ *
+ * Immutable once built and safe to share between threads.
+ */
+public final class AhoCorasick {
+
+  private static final int[] NONE = new int[0];
+
+  private final int[] asciiSymbols;
+  private final Map<Character, Integer> otherSymbols;
+  private final int width;
+  private final int[] delta;
+  private final int[][] outputs;
+
+  private AhoCorasick(int[] asciiSymbols, Map<Character, Integer> otherSymbols, int width, int[] delta,
+      int[][] outputs) {
+    this.asciiSymbols = asciiSymbols;
+    this.otherSymbols = otherSymbols;
+    this.width = width;
+    this.delta = delta;
+    this.outputs = outputs;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Passes the id of every match to the consumer, in order of match end. */
+  public void scan(CharSequence text, IntConsumer matches) {
+    int state = 0;
+    for (int i = 0, n = text.length(); i < n; i++) {
+      state = delta[state * width + symbol(text.charAt(i))];
+      for (int id : outputs[state]) {
+        matches.accept(id);
+      }
+    }
+  }
+
+  public int stateCount() {
+    return outputs.length;
+  }
+
+  private int symbol(char c) {
+    if (c < 128) {
+      return asciiSymbols[c];
+    }
+    Integer s = otherSymbols.get(c);
+    return s == null ? 0 : s;
+  }
+
+  public static final class Builder {
+
+    private final List<String> patterns = new ArrayList<>();
+    private final List<Integer> ids = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    public Builder add(String pattern, int id) {
+      if (pattern == null || pattern.isEmpty()) {
+        throw new IllegalArgumentException("Empty pattern");
+      }
+      patterns.add(pattern);
+      ids.add(id);
+      return this;
+    }
+
+    public AhoCorasick build() {
+      // Symbol 0 is every character that no pattern uses
+      int[] ascii = new int[128];
+      Map<Character, Integer> other = new HashMap<>();
+      int width = 1;
+      for (String p : patterns) {
+        for (int i = 0; i < p.length(); i++) {
+          char c = p.charAt(i);
+          if (c < 128) {
+            if (ascii[c] == 0) {
+              ascii[c] = width++;
+            }
+          } else if (!other.containsKey(c)) {
+            other.put(c, width++);
+          }
+        }
+      }
+
+      // Trie; -1 is a missing edge
+      List<int[]> edges = new ArrayList<>();
+      List<List<Integer>> out = new ArrayList<>();
+      edges.add(newRow(width));
+      out.add(new ArrayList<>());
+      for (int p = 0; p < patterns.size(); p++) {
+        String pattern = patterns.get(p);
+        int state = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+          char c = pattern.charAt(i);
+          int s = c < 128 ? ascii[c] : other.get(c);
+          int next = edges.get(state)[s];
+          if (next < 0) {
+            next = edges.size();
+            edges.get(state)[s] = next;
+            edges.add(newRow(width));
+            out.add(new ArrayList<>());
+          }
+          state = next;
+        }
+        out.get(state).add(ids.get(p));
+      }
+
+      // Breadth first: fill missing edges from the failure state and inherit its outputs
+      int states = edges.size();
+      int[] delta = new int[states * width];
+      int[] fail = new int[states];
+      Deque<Integer> queue = new ArrayDeque<>();
+      int[] root = edges.get(0);
+      for (int s = 0; s < width; s++) {
+        if (root[s] < 0) {
+          delta[s] = 0;
+        } else {
+          delta[s] = root[s];
+          fail[root[s]] = 0;
+          queue.add(root[s]);
+        }
+      }
+      while (!queue.isEmpty()) {
+        int state = queue.poll();
+        out.get(state).addAll(out.get(fail[state]));
+        int[] row = edges.get(state);
+        for (int s = 0; s < width; s++) {
+          int viaFail = delta[fail[state] * width + s];
+          if (row[s] < 0) {
+            delta[state * width + s] = viaFail;
+          } else {
+            delta[state * width + s] = row[s];
+            fail[row[s]] = viaFail;
+            queue.add(row[s]);
+          }
+        }
+      }
+
+      int[][] outputs = new int[states][];
+      for (int i = 0; i < states; i++) {
+        List<Integer> o = out.get(i);
+        outputs[i] = o.isEmpty() ? NONE : o.stream().mapToInt(Integer::intValue).toArray();
+      }
+      return new AhoCorasick(ascii, Map.copyOf(other), width, delta, outputs);
+    }
+
+    private static int[] newRow(int width) {
+      int[] row = new int[width];
+      Arrays.fill(row, -1);
+      return row;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.etuni.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal circuit breaker for calls to an external service.
+ *
+ * CLOSED: calls pass; failureThreshold consecutive failures open the circuit.
+ * OPEN: calls are rejected without touching the remote side until openMs has
+ * passed. HALF_OPEN: a single trial call is let through; success closes the
+ * circuit, failure opens it again.
+ */
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final long openMs;
+  private final LongSupplier clock;
+
+  private State state = State.CLOSED;
+  private int failures;
+  private long openedAt;
+  private boolean trialInFlight;
+
+  public CircuitBreaker(int failureThreshold, long openMs) {
+    this(failureThreshold, openMs, System::currentTimeMillis);
+  }
+
+  public CircuitBreaker(int failureThreshold, long openMs, LongSupplier clock) {
+    this.failureThreshold = failureThreshold;
+    this.openMs = openMs;
+    this.clock = clock;
+  }
+
+  /** Returns false if the call must be rejected right away. */
+  public synchronized boolean tryAcquire() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (clock.getAsLong() - openedAt < openMs) {
+          return false;
+        }
+        state = State.HALF_OPEN;
+        trialInFlight = true;
+        return true;
+      default:
+        // HALF_OPEN: only one trial at a time
+        if (trialInFlight) {
+          return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+  }
+
+  public synchronized void onSuccess() {
+    state = State.CLOSED;
+    failures = 0;
+    trialInFlight = false;
+  }
+
+  public synchronized void onFailure() {
+    trialInFlight = false;
+    failures++;
+    if (state == State.HALF_OPEN || failures >= failureThreshold) {
+      state = State.OPEN;
+      openedAt = clock.getAsLong();
+    }
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+}
@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -109,12 +110,14 @@ public class DataSeeder implements CommandLineRunner {
             List<Map<String, Object>> uniList = objectMapper.readValue(is, new com.fasterxml.jackson.core.type.TypeReference<List<Map<String, Object>>>() {
             });
 
+            List<University> universities = new ArrayList<>(uniList.size());
             for (Map<String, Object> data : uniList) {
                 University uni = new University();
                 uni.setName((String) data.get("Adı"));
                 uni.setCity((String) data.get("İli"));
-                universityRepository.save(uni);
+                universities.add(uni);
             }
+            universityRepository.saveAll(universities);
 
             logger.info("{} üniversite eklendi.", uniList.size());
 
@@ -139,6 +142,7 @@ public class DataSeeder implements CommandLineRunner {
                 String[] categories = { "Teknoloji", "Sanat", "Kariyer", "Sosyal" };
                 Random random = new Random();
 
+                List<Event> events = new ArrayList<>(50);
                 for (int i = 1; i <= 50; i++) {
                     Event e = new Event();
                     e.setUniversity(adiyamanUni);
@@ -151,9 +155,9 @@ public class DataSeeder implements CommandLineRunner {
                     e.setEventDate(LocalDate.now().plusDays(random.nextInt(30)));
                     e.setStartTime(LocalTime.of(random.nextInt(8) + 10, 0));
                     e.setStatus("ACTIVE");
-                    e.setQrPayload("E" + i + "-" + System.currentTimeMillis());
-                    eventRepository.save(e);
+                    events.add(e);
                 }
+                eventRepository.saveAll(events);
                 logger.info("50 etkinlik oluşturuldu.");
             }
             return;
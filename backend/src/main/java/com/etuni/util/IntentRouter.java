@@ -0,0 +1,183 @@
+package com.etuni.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Keyword based intent scoring for short Turkish/English questions.
+ *
+ * Every keyword of every intent goes into one AhoCorasick automaton, so a
+ * question is scanned once however many intents are registered. Each keyword
+ * hit adds its weight to its intent; the caller picks the highest score.
+ *
+ * Text and keywords are folded the same way (see fold): lower case, Turkish
+ * letters to ASCII, punctuation to single spaces. A keyword only matches at
+ * the start of a word, so "öner" matches "önerir" but not "gönder". A keyword
+ * written with a trailing space must be a whole word ("top " does not match
+ * "toplantı").
+ *
+ * Immutable once built and safe to share between threads.
+ */
+public final class IntentRouter<I> {
+
+  private final List<I> intents;
+  private final double[] weights;
+  private final int[] intentOf;
+  private final AhoCorasick automaton;
+
+  private IntentRouter(List<I> intents, double[] weights, int[] intentOf, AhoCorasick automaton) {
+    this.intents = intents;
+    this.weights = weights;
+    this.intentOf = intentOf;
+    this.automaton = automaton;
+  }
+
+  public static <I> Builder<I> builder() {
+    return new Builder<>();
+  }
+
+  public Scores<I> score(String text) {
+    double[] scores = new double[intents.size()];
+    automaton.scan(fold(text), keyword -> scores[intentOf[keyword]] += weights[keyword]);
+    return new Scores<>(intents, scores);
+  }
+
+  /**
+   * Lower case, ı/İ/ş/ğ/ü/ö/ç (and circumflex vowels) to their ASCII letter,
+   * combining marks dropped (so "i̇", what "İ".toLowerCase() gives outside
+   * the Turkish locale, stays "i"), anything else that is not a letter or
+   * digit to a single space. The result
+   * starts and ends with a space so that word starts can be matched as " x".
+   */
+  public static String fold(String text) {
+    if (text == null) {
+      return " ";
+    }
+    StringBuilder sb = new StringBuilder(text.length() + 2).append(' ');
+    for (int i = 0; i < text.length(); i++) {
+      if (Character.getType(text.charAt(i)) == Character.NON_SPACING_MARK) {
+        continue;
+      }
+      char c = foldChar(text.charAt(i));
+      if (c == ' ' && sb.charAt(sb.length() - 1) == ' ') {
+        continue;
+      }
+      sb.append(c);
+    }
+    if (sb.charAt(sb.length() - 1) != ' ') {
+      sb.append(' ');
+    }
+    return sb.toString();
+  }
+
+  private static char foldChar(char c) {
+    switch (c) {
+      case 'ı', 'İ', 'I', 'î', 'Î':
+        return 'i';
+      case 'ş', 'Ş':
+        return 's';
+      case 'ğ', 'Ğ':
+        return 'g';
+      case 'ü', 'Ü', 'û', 'Û':
+        return 'u';
+      case 'ö', 'Ö':
+        return 'o';
+      case 'ç', 'Ç':
+        return 'c';
+      case 'â', 'Â':
+        return 'a';
+      default:
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ';
+    }
+  }
+
+  /** Per-intent totals for one question. */
+  public static final class Scores<I> {
+
+    private final List<I> intents;
+    private final double[] scores;
+
+    private Scores(List<I> intents, double[] scores) {
+      this.intents = intents;
+      this.scores = scores;
+    }
+
+    public double get(I intent) {
+      int i = intents.indexOf(intent);
+      return i < 0 ? 0 : scores[i];
+    }
+
+    public boolean has(I intent) {
+      return get(intent) > 0;
+    }
+
+    /**
+     * Highest scoring intent among those accepted by the filter, or null if
+     * none of them matched. Ties go to the intent registered first.
+     */
+    public I best(Predicate<I> among) {
+      I best = null;
+      double bestScore = 0;
+      for (int i = 0; i < scores.length; i++) {
+        if (scores[i] > bestScore && among.test(intents.get(i))) {
+          best = intents.get(i);
+          bestScore = scores[i];
+        }
+      }
+      return best;
+    }
+
+    public Map<I, Double> asMap() {
+      Map<I, Double> map = new LinkedHashMap<>();
+      for (int i = 0; i < scores.length; i++) {
+        if (scores[i] > 0) {
+          map.put(intents.get(i), scores[i]);
+        }
+      }
+      return map;
+    }
+  }
+
+  public static final class Builder<I> {
+
+    private final List<I> intents = new ArrayList<>();
+    private final List<Double> weights = new ArrayList<>();
+    private final List<Integer> intentOf = new ArrayList<>();
+    private final AhoCorasick.Builder automaton = AhoCorasick.builder();
+
+    private Builder() {
+    }
+
+    /** Adds keywords to an intent; calling again for the same intent adds more. */
+    public Builder<I> intent(I intent, double weight, String... keywords) {
+      int index = intents.indexOf(intent);
+      if (index < 0) {
+        index = intents.size();
+        intents.add(intent);
+      }
+      for (String keyword : keywords) {
+        String pattern = fold(keyword);
+        if (pattern.isBlank()) {
+          throw new IllegalArgumentException("Empty keyword for " + intent);
+        }
+        // fold ends every pattern with a space; keep it only for whole-word keywords
+        if (!keyword.endsWith(" ")) {
+          pattern = pattern.substring(0, pattern.length() - 1);
+        }
+        automaton.add(pattern, weights.size());
+        weights.add(weight);
+        intentOf.add(index);
+      }
+      return this;
+    }
+
+    public IntentRouter<I> build() {
+      double[] w = weights.stream().mapToDouble(Double::doubleValue).toArray();
+      int[] owner = intentOf.stream().mapToInt(Integer::intValue).toArray();
+      return new IntentRouter<>(List.copyOf(intents), w, owner, automaton.build());
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.etuni.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Wire format of the cache invalidation bus.
+ *
+ * A message is the sending node's id followed by one invalidation per line,
+ * all separated by '\n'. Invalidations of one transaction are packed into as
+ * few messages as the transport's size limit allows (PostgreSQL NOTIFY
+ * payloads must stay under 8000 bytes). Line breaks inside an invalidation
+ * are replaced by spaces.
+ */
+public final class InvalidationMessages {
+
+  public record Message(String origin, List<String> lines) {
+  }
+
+  private InvalidationMessages() {
+  }
+
+  /** Packs lines into messages of at most maxBytes UTF-8 bytes each. */
+  public static List<String> encode(String origin, Collection<String> lines, int maxBytes) {
+    int headerBytes = utf8Length(origin);
+    List<String> out = new ArrayList<>();
+    StringBuilder current = null;
+    int currentBytes = 0;
+    for (String raw : lines) {
+      String line = raw.replace('\n', ' ').replace('\r', ' ');
+      int lineBytes = utf8Length(line) + 1;
+      if (headerBytes + lineBytes > maxBytes) {
+        throw new IllegalArgumentException("Invalidation longer than " + maxBytes + " bytes: " + line);
+      }
+      if (current != null && currentBytes + lineBytes > maxBytes) {
+        out.add(current.toString());
+        current = null;
+      }
+      if (current == null) {
+        current = new StringBuilder(origin);
+        currentBytes = headerBytes;
+      }
+      current.append('\n').append(line);
+      currentBytes += lineBytes;
+    }
+    if (current != null) {
+      out.add(current.toString());
+    }
+    return out;
+  }
+
+  public static Message decode(String payload) {
+    String[] parts = payload.split("\n");
+    List<String> lines = new ArrayList<>(parts.length - 1);
+    for (int i = 1; i < parts.length; i++) {
+      if (!parts[i].isEmpty()) {
+        lines.add(parts[i]);
+      }
+    }
+    return new Message(parts[0], lines);
+  }
+
+  private static int utf8Length(String s) {
+    return s.getBytes(StandardCharsets.UTF_8).length;
+  }
+}
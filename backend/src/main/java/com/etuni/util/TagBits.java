@@ -0,0 +1,36 @@
+package com.etuni.util;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Interest tag sets stored as little-endian bitsets (BitSet.toByteArray), one
+ * bit per interest_tags id. Matching two sets is a single AND over the bytes.
+ */
+public final class TagBits {
+
+  private TagBits() {
+  }
+
+  public static byte[] of(Collection<Integer> tagIds) {
+    BitSet bits = new BitSet();
+    for (Integer id : tagIds) {
+      bits.set(id);
+    }
+    return bits.toByteArray();
+  }
+
+  /** True if the two sets share at least one tag; null or empty never matches. */
+  public static boolean intersects(byte[] a, byte[] b) {
+    if (a == null || b == null) {
+      return false;
+    }
+    int n = Math.min(a.length, b.length);
+    for (int i = 0; i < n; i++) {
+      if ((a[i] & b[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,156 @@
+package com.etuni.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel.
+ *
+ * Level 0 has wheelSize slots of tickMs each; every higher level has slots as
+ * wide as the whole level below it and is created on demand. Scheduling and
+ * cancelling are O(1). Advancing one tick only touches the slots that expire in
+ * that tick. Entries on higher levels are cascaded down when their slot
+ * comes up.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class TimingWheel<T> {
+
+  private final long tickMs;
+  private final int wheelSize;
+  private final List<Level<T>> levels = new ArrayList<>();
+  private long currentTime;
+  private int size;
+
+  public TimingWheel(long tickMs, int wheelSize, long startMs) {
+    this.tickMs = tickMs;
+    this.wheelSize = wheelSize;
+    this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+    levels.add(new Level<>(tickMs, wheelSize));
+  }
+
+  /**
+   * Schedules item at deadlineMs. Returns null if the deadline has already
+   * passed; the caller should then fire the item right away.
+   */
+  public Timeout<T> schedule(long deadlineMs, T item) {
+    // Rounded up to a tick boundary so that nothing fires before its deadline
+    long expiration = Math.floorDiv(deadlineMs + tickMs - 1, tickMs) * tickMs;
+    Timeout<T> timeout = new Timeout<>(deadlineMs, expiration, item);
+    return insert(timeout) ? timeout : null;
+  }
+
+  /**
+   * Moves the clock forward to nowMs and passes every item that became due to
+   * the consumer, in tick order.
+   */
+  public void advance(long nowMs, Consumer<T> expired) {
+    List<Timeout<T>> drained = new ArrayList<>();
+    while (currentTime + tickMs <= nowMs) {
+      currentTime += tickMs;
+      for (Level<T> level : levels) {
+        // Tick sizes are multiples of each other: unaligned here means unaligned above
+        if (currentTime % level.tick != 0) {
+          break;
+        }
+        Deque<Timeout<T>> slot = level.slot(currentTime);
+        drained.addAll(slot);
+        slot.clear();
+      }
+      for (Timeout<T> t : drained) {
+        size--;
+        if (t.cancelled) {
+          continue;
+        }
+        if (!insert(t)) {
+          expired.accept(t.item);
+        }
+      }
+      drained.clear();
+    }
+  }
+
+  /** Entries still held by the wheel, including cancelled ones not yet purged. */
+  public int size() {
+    return size;
+  }
+
+  public long currentTime() {
+    return currentTime;
+  }
+
+  private boolean insert(Timeout<T> t) {
+    if (t.expiration < currentTime + tickMs) {
+      return false;
+    }
+    for (int i = 0;; i++) {
+      Level<T> level = level(i);
+      long levelStart = currentTime - currentTime % level.tick;
+      if (t.expiration < levelStart + level.interval) {
+        level.slot(t.expiration).add(t);
+        size++;
+        return true;
+      }
+    }
+  }
+
+  private Level<T> level(int index) {
+    while (levels.size() <= index) {
+      Level<T> top = levels.get(levels.size() - 1);
+      levels.add(new Level<>(top.interval, wheelSize));
+    }
+    return levels.get(index);
+  }
+
+  /** Handle returned by schedule; cancelled entries are dropped when their slot expires. */
+  public static final class Timeout<T> {
+    private final long deadline;
+    private final long expiration;
+    private final T item;
+    private volatile boolean cancelled;
+
+    private Timeout(long deadline, long expiration, T item) {
+      this.deadline = deadline;
+      this.expiration = expiration;
+      this.item = item;
+    }
+
+    public void cancel() {
+      cancelled = true;
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    public long deadline() {
+      return deadline;
+    }
+
+    public T item() {
+      return item;
+    }
+  }
+
+  private static final class Level<T> {
+    private final long tick;
+    private final long interval;
+    private final List<Deque<Timeout<T>>> slots;
+
+    private Level(long tick, int wheelSize) {
+      this.tick = tick;
+      this.interval = tick * wheelSize;
+      this.slots = new ArrayList<>(wheelSize);
+      for (int i = 0; i < wheelSize; i++) {
+        slots.add(new ArrayDeque<>());
+      }
+    }
+
+    private Deque<Timeout<T>> slot(long time) {
+      return slots.get((int) Math.floorMod(time / tick, (long) slots.size()));
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package com.etuni.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Sliding-window check-in counters with ranked top-K per university and
+ * globally.
+ *
+ * Each event keeps one bucket per day for the longest window. Adding a
+ * check-in bumps today's bucket and the event's running sum for every window,
+ * then re-positions the event in that window's ranking (a sorted set, so
+ * O(log n)). Reading the top K walks the first K entries of the ranking.
+ *
+ * Windows follow calendar boundaries: the week is the last 7 days including
+ * today, the month and quarter start the day after today minus 1 and 3
+ * months. When the day changes, every sum is recomputed from the buckets and
+ * events with nothing left in the quarter are dropped. That is once a day and
+ * linear in the number of tracked events.
+ *
+ * Thread-safe; all methods lock the instance.
+ */
+public class TrendingCounters {
+
+  public enum Window {
+    WEEK, MONTH, QUARTER
+  }
+
+  public record Entry(long eventId, String title, long count) {
+  }
+
+  // 92 days is the longest quarter (e.g. Jun 1 - Aug 31)
+  static final int DAYS = 93;
+
+  private static final Comparator<Rank> ORDER = Comparator.<Rank>comparingLong(Rank::count).reversed()
+      .thenComparingLong(Rank::eventId);
+
+  private record Rank(long count, long eventId) {
+  }
+
+  private static final class Counter {
+    final long eventId;
+    Long universityId;
+    String title;
+    final long[] counts = new long[DAYS];
+    final long[] days = new long[DAYS];
+    final long[] sums = new long[Window.values().length];
+
+    Counter(long eventId) {
+      this.eventId = eventId;
+      Arrays.fill(days, Long.MIN_VALUE);
+    }
+  }
+
+  private final Supplier<LocalDate> today;
+  private final Map<Long, Counter> counters = new HashMap<>();
+  private final EnumMap<Window, TreeSet<Rank>> global = newRankings();
+  private final Map<Long, EnumMap<Window, TreeSet<Rank>>> byUniversity = new HashMap<>();
+  private final long[] windowStart = new long[Window.values().length];
+  private long currentDay = Long.MIN_VALUE;
+
+  public TrendingCounters(Supplier<LocalDate> today) {
+    this.today = today;
+  }
+
+  /** Adds n check-ins on the given day; days outside the quarter are ignored. */
+  public synchronized void add(long eventId, Long universityId, String title, LocalDate day, long n) {
+    roll();
+    long d = day.toEpochDay();
+    if (n <= 0 || d > currentDay || d < windowStart[Window.QUARTER.ordinal()]) {
+      return;
+    }
+    Counter c = counters.get(eventId);
+    if (c == null) {
+      c = new Counter(eventId);
+      c.universityId = universityId;
+      counters.put(eventId, c);
+    } else {
+      unrank(c);
+      if (universityId != null) {
+        c.universityId = universityId;
+      }
+    }
+    if (title != null) {
+      c.title = title;
+    }
+    int slot = (int) Math.floorMod(d, (long) DAYS);
+    if (c.days[slot] != d) {
+      c.days[slot] = d;
+      c.counts[slot] = 0;
+    }
+    c.counts[slot] += n;
+    for (Window w : Window.values()) {
+      if (d >= windowStart[w.ordinal()]) {
+        c.sums[w.ordinal()] += n;
+      }
+    }
+    rank(c);
+  }
+
+  /** Follows a title or university change; unknown events are ignored. */
+  public synchronized void update(long eventId, Long universityId, String title) {
+    Counter c = counters.get(eventId);
+    if (c == null) {
+      return;
+    }
+    unrank(c);
+    c.universityId = universityId;
+    if (title != null) {
+      c.title = title;
+    }
+    rank(c);
+  }
+
+  public synchronized void remove(long eventId) {
+    Counter c = counters.remove(eventId);
+    if (c != null) {
+      unrank(c);
+    }
+  }
+
+  public synchronized void clear() {
+    counters.clear();
+    global.values().forEach(TreeSet::clear);
+    byUniversity.clear();
+  }
+
+  /** Top k events of the window; universityId null means all universities. */
+  public synchronized List<Entry> top(Window window, Long universityId, int k) {
+    roll();
+    EnumMap<Window, TreeSet<Rank>> rankings = universityId == null ? global : byUniversity.get(universityId);
+    if (rankings == null) {
+      return List.of();
+    }
+    List<Entry> out = new ArrayList<>(Math.min(k, rankings.get(window).size()));
+    Iterator<Rank> it = rankings.get(window).iterator();
+    while (out.size() < k && it.hasNext()) {
+      Rank r = it.next();
+      out.add(new Entry(r.eventId(), counters.get(r.eventId()).title, r.count()));
+    }
+    return out;
+  }
+
+  public synchronized long count(long eventId, Window window) {
+    roll();
+    Counter c = counters.get(eventId);
+    return c == null ? 0 : c.sums[window.ordinal()];
+  }
+
+  public synchronized int size() {
+    roll();
+    return counters.size();
+  }
+
+  /** Recomputes the windows if the day has changed since the last call. */
+  public synchronized void roll() {
+    LocalDate now = today.get();
+    long d = now.toEpochDay();
+    if (d == currentDay) {
+      return;
+    }
+    currentDay = d;
+    windowStart[Window.WEEK.ordinal()] = now.minusWeeks(1).plusDays(1).toEpochDay();
+    windowStart[Window.MONTH.ordinal()] = now.minusMonths(1).plusDays(1).toEpochDay();
+    windowStart[Window.QUARTER.ordinal()] = now.minusMonths(3).plusDays(1).toEpochDay();
+
+    global.values().forEach(TreeSet::clear);
+    byUniversity.clear();
+    Iterator<Counter> it = counters.values().iterator();
+    while (it.hasNext()) {
+      Counter c = it.next();
+      Arrays.fill(c.sums, 0);
+      for (int i = 0; i < DAYS; i++) {
+        for (Window w : Window.values()) {
+          if (c.days[i] >= windowStart[w.ordinal()] && c.days[i] <= currentDay) {
+            c.sums[w.ordinal()] += c.counts[i];
+          }
+        }
+      }
+      if (c.sums[Window.QUARTER.ordinal()] == 0) {
+        it.remove();
+      } else {
+        rank(c);
+      }
+    }
+  }
+
+  // Caller holds the lock
+  private void rank(Counter c) {
+    for (Window w : Window.values()) {
+      long sum = c.sums[w.ordinal()];
+      if (sum > 0) {
+        Rank r = new Rank(sum, c.eventId);
+        global.get(w).add(r);
+        if (c.universityId != null) {
+          byUniversity.computeIfAbsent(c.universityId, id -> newRankings()).get(w).add(r);
+        }
+      }
+    }
+  }
+
+  // Caller holds the lock
+  private void unrank(Counter c) {
+    EnumMap<Window, TreeSet<Rank>> uni = c.universityId == null ? null : byUniversity.get(c.universityId);
+    for (Window w : Window.values()) {
+      Rank r = new Rank(c.sums[w.ordinal()], c.eventId);
+      global.get(w).remove(r);
+      if (uni != null) {
+        uni.get(w).remove(r);
+      }
+    }
+    if (uni != null && uni.values().stream().allMatch(TreeSet::isEmpty)) {
+      byUniversity.remove(c.universityId);
+    }
+  }
+
+  private static EnumMap<Window, TreeSet<Rank>> newRankings() {
+    EnumMap<Window, TreeSet<Rank>> map = new EnumMap<>(Window.class);
+    for (Window w : Window.values()) {
+      map.put(w, new TreeSet<>(ORDER));
+    }
+    return map;
+  }
+}
@@ -348,10 +348,43 @@ const ScrollEffects = {
 };
 
 
+// ===== LIVE NOTIFICATIONS (SSE) =====
+const LiveNotifications = {
+    source: null,
+
+    init() {
+        const card = document.querySelector('[data-live-notifications]');
+        if (!card || !window.EventSource) return;
+
+        // jwt_token çerezi ile doğrulanır; bağlantı koparsa EventSource kendisi yeniden bağlanır
+        this.source = new EventSource('/api/notifications/stream');
+        this.source.addEventListener('notification', (e) => {
+            const item = JSON.parse(e.data);
+            Toast.show(item.title, 'info');
+            this.prepend(card, item);
+        });
+    },
+
+    prepend(card, item) {
+        const list = card.querySelector('ul');
+        const template = list && list.querySelector('li');
+        if (!template) return;
+
+        const li = template.cloneNode(true);
+        const parts = li.children;
+        parts[0].textContent = item.title;
+        parts[1].textContent = item.message;
+        if (parts[2]) parts[2].textContent = new Date(item.createdAt).toLocaleString('tr-TR');
+        list.prepend(li);
+    }
+};
+
+
 // ===== INITIALIZE =====
 document.addEventListener('DOMContentLoaded', () => {
     Theme.init();
     ScrollEffects.init();
+    LiveNotifications.init();
 
     // Initialize sortable tables
     document.querySelectorAll('.data-table').forEach(table => {
@@ -361,5 +394,5 @@ document.addEventListener('DOMContentLoaded', () => {
 
 // Export for module usage
 if (typeof module !== 'undefined' && module.exports) {
-    module.exports = { Toast, Theme, Loading, API, TableSort, FormValidator, DateUtils };
+    module.exports = { Toast, Theme, Loading, API, TableSort, FormValidator, DateUtils, LiveNotifications };
 }
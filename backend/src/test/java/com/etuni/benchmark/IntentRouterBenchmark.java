@@ -0,0 +1,108 @@
+package com.etuni.benchmark;
+
+import com.etuni.service.EventQueryBotService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bot niyet yönlendirme hızı. Eski yol, niyet sırasıyla her anahtar kelime
+ * için soruda ayrı bir String.contains taraması yapar; yeni yol derlenmiş
+ * Aho-Corasick otomatıyla soruyu tek geçişte puanlar.
+ *
+ * Varsayılan test koşusuna dahil değildir:
+ * mvn test -Dtest=IntentRouterBenchmark
+ */
+class IntentRouterBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    private static final List<String> QUESTIONS = List.of(
+            "bana etkinlik önerir misin",
+            "daha önce katıldığım etkinlikler neler",
+            "bu ay en çok katılım alan etkinlik hangisi",
+            "en çok benzer etkinlikleri göster",
+            "bugün kampüste ne var",
+            "yarın akşam konser var mı",
+            "haftasonu için bir şey var mı",
+            "bu hafta teknik etkinlik var mı",
+            "Yapay zeka ve makine öğrenmesi üzerine bir söyleşi arıyorum, yer ve saat bilgisiyle",
+            "what are the most popular events this week");
+
+    private static final String[][] LEGACY_KEYWORDS = {
+            { "öner", "öneri", "tavsiye", "recommend" },
+            { "katıldığım", "geçmiş", "daha önce", "history" },
+            { "en çok", "popüler", "revaçta", "top" },
+            { "benzer", "similar" },
+            { "bugün", "today" },
+            { "yarın", "tomorrow" },
+            { "haftasonu", "weekend" },
+            { "teknik", "technical", "yazılım", "yazilim", "tech" },
+            { "sosyal", "social", "eğlence" },
+            { "workshop", "atölye", "seminer" } };
+
+    @Test
+    @DisplayName("Niyet yönlendirme: sıralı contains vs tek geçiş otomat")
+    void routingThroughput() {
+        assertEquals(EventQueryBotService.Intent.SIMILAR,
+                EventQueryBotService.route("en çok benzer etkinlikleri göster").best(i -> true));
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += legacy(QUESTIONS.get(i % QUESTIONS.size()));
+            sink += compiled(QUESTIONS.get(i % QUESTIONS.size()));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += legacy(QUESTIONS.get(i % QUESTIONS.size()));
+        }
+        long legacyNs = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += compiled(QUESTIONS.get(i % QUESTIONS.size()));
+        }
+        long compiledNs = System.nanoTime() - start;
+
+        print("Sıralı contains (ilk eşleşen)", legacyNs);
+        print("Otomat (tüm niyetler puanlı) ", compiledNs);
+        assertTrue(sink > 0);
+    }
+
+    /** Eski answer akışı: ilk eşleşen gruptan sonra durur, filtreleri ayrıca tarar. */
+    private int legacy(String question) {
+        String q = question.toLowerCase().trim();
+        for (int group = 0; group < 7; group++) {
+            for (String kw : LEGACY_KEYWORDS[group]) {
+                if (q.contains(kw)) {
+                    return group + 1;
+                }
+            }
+        }
+        int filters = 0;
+        for (int group = 7; group < LEGACY_KEYWORDS.length; group++) {
+            for (String kw : LEGACY_KEYWORDS[group]) {
+                if (q.contains(kw)) {
+                    filters++;
+                    break;
+                }
+            }
+        }
+        return filters;
+    }
+
+    private int compiled(String question) {
+        EventQueryBotService.Intent best = EventQueryBotService.route(question.toLowerCase().trim()).best(i -> true);
+        return best == null ? 0 : best.ordinal() + 1;
+    }
+
+    private void print(String label, long ns) {
+        System.out.printf("%s: %,d ns/soru, %,.0f soru/s%n", label, ns / ITERATIONS,
+                ITERATIONS * 1_000_000_000.0 / ns);
+    }
+}
@@ -0,0 +1,113 @@
+package com.etuni.benchmark;
+
+import com.etuni.exception.BusinessException;
+import com.etuni.service.PasswordHashingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Giriş yağmuru sırasında etkinlik API gecikmesi. 200 thread'lik bir havuz
+ * Tomcat'in istek thread'lerini temsil eder; 400 giriş isteği (BCrypt, maliyet
+ * 10) kuyruğa atılırken 5 ms arayla hafif "etkinlik listesi" istekleri (2 ms
+ * I/O) gönderilir ve bunların gecikmesi ölçülür.
+ *
+ * Önce: hash istek thread'inde hesaplanır, tüm havuz CPU'ya takılır.
+ * Sonra: hash PasswordHashingService havuzunda; kuyruğa sığmayan girişler
+ * hemen 503 alır ve istek thread'leri serbest kalır.
+ *
+ * Varsayılan test koşusuna dahil değildir:
+ * mvn test -Dtest=LoginFloodBenchmark
+ */
+class LoginFloodBenchmark {
+
+    private static final int REQUEST_THREADS = 200;
+    private static final int LOGINS = 400;
+    private static final int EVENT_REQUESTS = 200;
+    private static final int STRENGTH = 10;
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(STRENGTH);
+    private final String hash = encoder.encode("parola123");
+
+    @Test
+    @DisplayName("Giriş yağmurunda etkinlik API gecikmesi: satır içi BCrypt vs ayrı havuz")
+    void eventLatencyDuringLoginFlood() throws Exception {
+        List<Long> baseline = run(null);
+        List<Long> inline = run(() -> encoder.matches("parola123", hash));
+
+        PasswordHashingService hashing = new PasswordHashingService(encoder, 0, 32, 1500, STRENGTH);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Long> offloaded;
+        try {
+            offloaded = run(() -> {
+                try {
+                    hashing.matches("parola123", hash);
+                } catch (BusinessException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        } finally {
+            hashing.shutdown();
+        }
+
+        print("Yük yok             ", baseline);
+        print("BCrypt istek thread'i", inline);
+        print("BCrypt ayrı havuz    ", offloaded);
+        System.out.printf("Ayrı havuzda 503 ile reddedilen giriş: %d / %d%n", rejected.get(), LOGINS);
+
+        assertEquals(EVENT_REQUESTS, inline.size());
+        assertEquals(EVENT_REQUESTS, offloaded.size());
+    }
+
+    /** login null ise sadece etkinlik istekleri gönderilir. Etkinlik gecikmeleri (ns) döner. */
+    private List<Long> run(Runnable login) throws Exception {
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        try {
+            if (login != null) {
+                for (int i = 0; i < LOGINS; i++) {
+                    requestThreads.submit(login);
+                }
+            }
+            List<Future<Long>> events = new ArrayList<>(EVENT_REQUESTS);
+            for (int i = 0; i < EVENT_REQUESTS; i++) {
+                long submittedAt = System.nanoTime();
+                events.add(requestThreads.submit(() -> {
+                    Thread.sleep(2);
+                    return System.nanoTime() - submittedAt;
+                }));
+                Thread.sleep(5);
+            }
+            List<Long> latencies = new ArrayList<>(EVENT_REQUESTS);
+            for (Future<Long> f : events) {
+                latencies.add(f.get());
+            }
+            return latencies;
+        } finally {
+            requestThreads.shutdown();
+            requestThreads.awaitTermination(2, TimeUnit.MINUTES);
+        }
+    }
+
+    private void print(String label, List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%s: p50 %,d ms, p99 %,d ms, max %,d ms%n", label,
+                percentile(sorted, 0.50) / 1_000_000, percentile(sorted, 0.99) / 1_000_000,
+                sorted.get(sorted.size() - 1) / 1_000_000);
+    }
+
+    private long percentile(List<Long> sorted, double p) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.round(p * (sorted.size() - 1))));
+    }
+}
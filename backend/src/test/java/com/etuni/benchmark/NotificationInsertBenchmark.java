@@ -0,0 +1,179 @@
+package com.etuni.benchmark;
+
+import com.etuni.model.Notification;
+import com.etuni.model.University;
+import com.etuni.model.UserEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 10k bildirim ekleme, Hibernate üzerinden: IDENTITY id'li bir kopya entity
+ * (satır başına bir INSERT, batch yok) ile gerçek Notification entity'si
+ * (pooled sequence + HibernateBatchConfig'teki batch ayarları). İki taraf da
+ * sendBroadcastNotification gibi tek transaction'da persist eder (saveAll).
+ * Süreye ek olarak Hibernate istatistiklerinden JDBC statement sayısı
+ * yazdırılır; asıl fark round trip sayısıdır. Bellek içi H2'de ağ gecikmesi
+ * olmadığından gerçek PostgreSQL'de süre farkı daha büyüktür.
+ *
+ * Varsayılan test koşusuna dahil değildir:
+ * mvn test -Dtest=NotificationInsertBenchmark
+ */
+class NotificationInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_ROWS = 2_000;
+    private static final int USERS = 500;
+    private static final int BATCH_SIZE = 50;
+
+    /** Önceki eşleme: GenerationType.IDENTITY, diğer kolonlar Notification ile aynı. */
+    @Entity(name = "IdentityNotification")
+    @Table(name = "notification_identity")
+    static class IdentityNotification {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        UserEntity user;
+
+        String title;
+
+        @Column(length = 2000)
+        String message;
+
+        boolean readFlag = false;
+
+        OffsetDateTime createdAt = OffsetDateTime.now();
+    }
+
+    @Test
+    @DisplayName("10k bildirim: IDENTITY vs pooled sequence + JDBC batch (Hibernate)")
+    void identityVersusPooledSequence() {
+        try (SessionFactory before = sessionFactory("notification_bench_identity", null);
+                SessionFactory after = sessionFactory("notification_bench_pooled", BATCH_SIZE)) {
+            List<Long> beforeUsers = seedUsers(before);
+            List<Long> afterUsers = seedUsers(after);
+
+            BiFunction<UserEntity, Integer, Object> identityRow = (user, i) -> {
+                IdentityNotification n = new IdentityNotification();
+                n.user = user;
+                n.title = "Duyuru";
+                n.message = message(i);
+                return n;
+            };
+            BiFunction<UserEntity, Integer, Object> pooledRow = (user, i) -> {
+                Notification n = new Notification();
+                n.setUser(user);
+                n.setTitle("Duyuru");
+                n.setMessage(message(i));
+                return n;
+            };
+
+            insert(before, beforeUsers, WARMUP_ROWS, identityRow);
+            insert(after, afterUsers, WARMUP_ROWS, pooledRow);
+
+            Result identity = insert(before, beforeUsers, ROWS, identityRow);
+            Result pooled = insert(after, afterUsers, ROWS, pooledRow);
+
+            print("IDENTITY          ", identity);
+            print("SEQUENCE + BATCH  ", pooled);
+
+            assertEquals(ROWS + WARMUP_ROWS, count(before, "IdentityNotification"));
+            assertEquals(ROWS + WARMUP_ROWS, count(after, "Notification"));
+            assertTrue(pooled.statements() < identity.statements() / 10,
+                    "batching should cut JDBC statements by more than 10x");
+        }
+    }
+
+    private SessionFactory sessionFactory(String db, Integer batchSize) {
+        Configuration cfg = new Configuration()
+                .addAnnotatedClass(University.class)
+                .addAnnotatedClass(UserEntity.class)
+                .addAnnotatedClass(Notification.class)
+                .addAnnotatedClass(IdentityNotification.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:" + db + ";DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.cache.use_second_level_cache", "false")
+                .setProperty("hibernate.generate_statistics", "true");
+        if (batchSize != null) {
+            // HibernateBatchConfig ile aynı
+            cfg.setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+                    .setProperty("hibernate.order_inserts", "true")
+                    .setProperty("hibernate.order_updates", "true")
+                    .setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        }
+        // Spring Boot'un kolon adlandırması (createdAt -> created_at); indeksler buna göre tanımlı
+        cfg.setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy());
+        return cfg.buildSessionFactory();
+    }
+
+    private List<Long> seedUsers(SessionFactory sf) {
+        return sf.fromTransaction(session -> {
+            List<Long> ids = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                UserEntity u = new UserEntity();
+                u.setFullName("Kullanıcı " + i);
+                u.setEmail("user" + i + "@bench.local");
+                u.setPasswordHash("x");
+                u.setRole("STUDENT");
+                u.setStatus("ACTIVE");
+                session.persist(u);
+                ids.add(u.getId());
+            }
+            return ids;
+        });
+    }
+
+    private Result insert(SessionFactory sf, List<Long> userIds, int rows,
+            BiFunction<UserEntity, Integer, Object> row) {
+        Statistics stats = sf.getStatistics();
+        stats.clear();
+        long start = System.nanoTime();
+        sf.inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                UserEntity user = session.getReference(UserEntity.class, userIds.get(i % userIds.size()));
+                session.persist(row.apply(user, i));
+            }
+        });
+        return new Result(System.nanoTime() - start, stats.getPrepareStatementCount());
+    }
+
+    private long count(SessionFactory sf, String entity) {
+        return sf.fromTransaction(session -> session
+                .createSelectionQuery("select count(*) from " + entity, Long.class)
+                .getSingleResult());
+    }
+
+    private static String message(int i) {
+        return "Kampüs genelinde yeni etkinlikler yayınlandı #" + i;
+    }
+
+    private static void print(String label, Result r) {
+        System.out.printf("%s: %,d rows in %,d ms (%,.0f rows/s), %,d JDBC statements%n",
+                label, ROWS, r.nanos() / 1_000_000, ROWS / (r.nanos() / 1e9), r.statements());
+    }
+
+    private record Result(long nanos, long statements) {
+    }
+}
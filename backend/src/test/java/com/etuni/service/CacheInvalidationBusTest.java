@@ -0,0 +1,162 @@
+package com.etuni.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationBusTest {
+
+    /** NOTIFY gibi: her mesaj gönderen dahil tüm dinleyicilere gider. */
+    static class LoopbackTransport implements InvalidationTransport {
+        final List<String> sent = new ArrayList<>();
+        final List<Consumer<String>> listeners = new ArrayList<>();
+        final List<Runnable> gaps = new ArrayList<>();
+
+        @Override
+        public void send(String message) {
+            sent.add(message);
+            listeners.forEach(l -> l.accept(message));
+        }
+
+        @Override
+        public void start(Consumer<String> onMessage, Runnable onGap) {
+            listeners.add(onMessage);
+            gaps.add(onGap);
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public int maxMessageBytes() {
+            return 7900;
+        }
+    }
+
+    private LoopbackTransport transport;
+    private CacheManager cacheManager;
+    private EntityManagerFactory emf;
+    private CacheInvalidationBus nodeA;
+    private CacheInvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        transport = new LoopbackTransport();
+        cacheManager = mock(CacheManager.class);
+        emf = mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS);
+        when(emf.unwrap(SessionFactory.class)).thenReturn(mock(SessionFactory.class, RETURNS_DEEP_STUBS));
+        nodeA = new CacheInvalidationBus(transport, cacheManager, emf);
+        nodeB = new CacheInvalidationBus(transport, cacheManager, emf);
+        nodeA.start();
+        nodeB.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Mesaj diğer node'da uygulanmalı, gönderen node'da atlanmalı")
+    void skipsOwnMessages() {
+        List<String> atA = new ArrayList<>();
+        List<String> atB = new ArrayList<>();
+        nodeA.on("test", atA::add);
+        nodeB.on("test", atB::add);
+
+        nodeA.publish("test", "42");
+
+        assertEquals(1, transport.sent.size());
+        assertEquals(List.of(), atA);
+        assertEquals(List.of("42"), atB);
+    }
+
+    @Test
+    @DisplayName("Transaction içindeki satırlar commit sonrası tek mesajla gitmeli")
+    void batchesUntilCommit() {
+        List<String> atB = new ArrayList<>();
+        nodeB.on("test", atB::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish("test", "1");
+        nodeA.publish("test", "2");
+        nodeA.publish("test", "1");
+        assertTrue(transport.sent.isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1, transport.sent.size());
+        assertEquals(List.of("1", "2"), atB);
+    }
+
+    @Test
+    @DisplayName("Rollback olan transaction hiçbir şey göndermemeli")
+    void rollbackSendsNothing() {
+        List<String> atB = new ArrayList<>();
+        nodeB.on("test", atB::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish("test", "1");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(transport.sent.isEmpty());
+        assertTrue(atB.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Satırlar türlerine göre handler'lara dağıtılmalı")
+    void dispatchesByKind() {
+        Cache events = mock(Cache.class);
+        when(cacheManager.getCache("events")).thenReturn(events);
+        List<String> checkins = new ArrayList<>();
+        nodeB.on("checkin", checkins::add);
+        nodeB.on("broken", body -> {
+            throw new IllegalStateException("boom");
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish("broken", "x");
+        nodeA.evictCache("events");
+        nodeA.publish("unknown", "y");
+        nodeA.publish("checkin", "7:3:Konser");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(events).clear();
+        assertEquals(List.of("7:3:Konser"), checkins);
+    }
+
+    @Test
+    @DisplayName("Mesaj kaçmışsa tüm önbellekler boşaltılıp onGap handler'ları çalışmalı")
+    void gapDropsEverything() {
+        Cache events = mock(Cache.class);
+        when(cacheManager.getCacheNames()).thenReturn(Set.of("events"));
+        when(cacheManager.getCache("events")).thenReturn(events);
+        int[] resyncs = {0};
+        nodeA.onGap(() -> resyncs[0]++);
+
+        transport.gaps.get(0).run();
+
+        verify(events).clear();
+        verify(emf.getCache()).evictAll();
+        assertEquals(1, resyncs[0]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.etuni.service;
+
+import com.etuni.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UnreadCounterServiceTest {
+
+    private NotificationRepository repo;
+    private UnreadCounterService counter;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(NotificationRepository.class);
+        // Transaction yok: publish hemen gönderir, transport boş
+        CacheInvalidationBus bus = new CacheInvalidationBus(InvalidationTransport.none(), null, null);
+        counter = new UnreadCounterService(repo, bus, 60);
+    }
+
+    @Test
+    @DisplayName("Değişiklik olana kadar sayı önbellekten dönmeli")
+    void cachesUntilChanged() {
+        when(repo.countByUserIdAndReadFlagFalse(1L)).thenReturn(3L, 4L);
+
+        assertEquals(3, counter.get(1L));
+        assertEquals(3, counter.get(1L));
+        counter.changed(1L);
+        assertEquals(4, counter.get(1L));
+        verify(repo, times(2)).countByUserIdAndReadFlagFalse(1L);
+    }
+
+    @Test
+    @DisplayName("Sayım sürerken gelen değişiklik eski sayıyı önbellekte bırakmamalı")
+    void changeDuringLoadIsNotCached() {
+        when(repo.countByUserIdAndReadFlagFalse(1L))
+                .thenAnswer(inv -> {
+                    // Sayım okundu, bu sırada yeni bildirim commit edildi
+                    counter.changed(1L);
+                    return 3L;
+                })
+                .thenReturn(4L);
+
+        assertEquals(3, counter.get(1L));
+        assertEquals(4, counter.get(1L));
+    }
+}
@@ -0,0 +1,49 @@
+package com.etuni.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickTest {
+
+    private List<Integer> scan(AhoCorasick automaton, String text) {
+        List<Integer> ids = new ArrayList<>();
+        automaton.scan(text, ids::add);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Örtüşen ve iç içe kalıpların hepsi bulunmalı")
+    void reportsOverlappingMatches() {
+        AhoCorasick automaton = AhoCorasick.builder()
+                .add("he", 1)
+                .add("she", 2)
+                .add("his", 3)
+                .add("hers", 4)
+                .build();
+
+        assertEquals(List.of(2, 1, 4), scan(automaton, "ushers"));
+        assertEquals(List.of(3), scan(automaton, "this"));
+    }
+
+    @Test
+    @DisplayName("Kalıp birden çok kez geçiyorsa her geçiş bildirilmeli")
+    void reportsEveryOccurrence() {
+        AhoCorasick automaton = AhoCorasick.builder().add("aa", 7).build();
+
+        assertEquals(List.of(7, 7, 7), scan(automaton, "aaaa"));
+    }
+
+    @Test
+    @DisplayName("Alfabede olmayan karakter otomatı köke döndürmeli")
+    void unknownCharacterResets() {
+        AhoCorasick automaton = AhoCorasick.builder().add("ab", 1).add("çö", 2).build();
+
+        assertEquals(List.of(), scan(automaton, "a-b"));
+        assertEquals(List.of(1, 2), scan(automaton, "xabéçö"));
+    }
+}
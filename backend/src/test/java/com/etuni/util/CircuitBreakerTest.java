@@ -0,0 +1,66 @@
+package com.etuni.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 30_000, now::get);
+
+    @Test
+    @DisplayName("Ardışık hatalar eşiğe ulaşınca devre açılmalı")
+    void opensAfterThreshold() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Başarılı çağrı hata sayacını sıfırlamalı")
+    void successResetsFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    @DisplayName("Süre dolunca tek deneme çağrısına izin verilmeli")
+    void halfOpenAllowsSingleTrial() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        now.addAndGet(30_000);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Deneme çağrısı başarısızsa devre yeniden açılmalı")
+    void failedTrialReopens() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        now.addAndGet(30_000);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,76 @@
+package com.etuni.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntentRouterTest {
+
+    enum Intent { RECOMMEND, TOP, SIMILAR, TECH }
+
+    private final IntentRouter<Intent> router = IntentRouter.<Intent>builder()
+            .intent(Intent.RECOMMEND, 2, "öner", "recommend")
+            .intent(Intent.TOP, 2, "en çok", "top ")
+            .intent(Intent.SIMILAR, 3, "benzer")
+            .intent(Intent.TECH, 1, "yazılım")
+            .build();
+
+    @Test
+    @DisplayName("Türkçe harfler ve noktalama katlanmalı")
+    void foldsTurkishText() {
+        assertEquals(" en cok begenilen yazilim atolyesi ", IntentRouter.fold("En ÇOK beğenilen YAZILIM atölyesi?!"));
+        assertEquals(" istanbul ", IntentRouter.fold("İstanbul"));
+        assertEquals(" ", IntentRouter.fold(null));
+    }
+
+    @Test
+    @DisplayName("Birleşik noktalı i (İ'nin Türkçe dışı küçük harfi) i olarak katlanmalı")
+    void dropsCombiningMarks() {
+        assertEquals(" gecmis teknik ", IntentRouter.fold("GEÇMİŞ TEKNİK".toLowerCase(Locale.ROOT)));
+        assertTrue(router.score("YAZILIM".toLowerCase(Locale.ROOT)).has(Intent.TECH));
+        assertTrue(router.score("ÖNERİR MİSİN").has(Intent.RECOMMEND));
+    }
+
+    @Test
+    @DisplayName("Birden çok niyet geçen soruda ağırlığı yüksek olan kazanmalı")
+    void highestWeightWins() {
+        IntentRouter.Scores<Intent> scores = router.score("En çok benzer etkinlikler");
+
+        assertEquals(2, scores.get(Intent.TOP));
+        assertEquals(3, scores.get(Intent.SIMILAR));
+        assertEquals(Intent.SIMILAR, scores.best(i -> true));
+    }
+
+    @Test
+    @DisplayName("Eşit puanda önce kaydedilen niyet kazanmalı")
+    void tieGoesToFirstRegistered() {
+        assertEquals(Intent.RECOMMEND, router.score("en çok önerilen").best(i -> true));
+    }
+
+    @Test
+    @DisplayName("Anahtar kelime sadece kelime başında eşleşmeli")
+    void matchesAtWordStart() {
+        assertTrue(router.score("bana bir şey önerir misin").has(Intent.RECOMMEND));
+        assertFalse(router.score("gönderi").has(Intent.RECOMMEND));
+        assertTrue(router.score("yazilim etkinligi").has(Intent.TECH));
+    }
+
+    @Test
+    @DisplayName("Sonunda boşluk olan anahtar kelime tam kelime olmalı")
+    void trailingSpaceMeansWholeWord() {
+        assertTrue(router.score("top 5").has(Intent.TOP));
+        assertFalse(router.score("toplantı").has(Intent.TOP));
+    }
+
+    @Test
+    @DisplayName("Filtre dışındaki niyetlerden seçim yapılabilmeli")
+    void bestHonoursFilter() {
+        IntentRouter.Scores<Intent> scores = router.score("yazılım");
+
+        assertNull(scores.best(i -> i != Intent.TECH));
+        assertEquals(Intent.TECH, scores.best(i -> true));
+    }
+}
@@ -0,0 +1,62 @@
+package com.etuni.util;
+
+import com.etuni.util.InvalidationMessages.Message;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationMessagesTest {
+
+    @Test
+    @DisplayName("Kodlanan mesaj aynı node ve satırlarla çözülmeli")
+    void roundTrip() {
+        List<String> out = InvalidationMessages.encode("node1", List.of("version events:5", "cache clubs"), 8000);
+
+        assertEquals(1, out.size());
+        Message m = InvalidationMessages.decode(out.get(0));
+        assertEquals("node1", m.origin());
+        assertEquals(List.of("version events:5", "cache clubs"), m.lines());
+    }
+
+    @Test
+    @DisplayName("Sınırı aşan satırlar birden çok mesaja bölünmeli, hiçbiri sınırı geçmemeli")
+    void splitsAtLimit() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            lines.add("checkin " + i + ":7:Şenlik " + i);
+        }
+        List<String> out = InvalidationMessages.encode("n", lines, 200);
+
+        assertTrue(out.size() > 1);
+        List<String> decoded = new ArrayList<>();
+        for (String payload : out) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= 200);
+            Message m = InvalidationMessages.decode(payload);
+            assertEquals("n", m.origin());
+            decoded.addAll(m.lines());
+        }
+        assertEquals(lines, decoded);
+    }
+
+    @Test
+    @DisplayName("Satır içindeki satır sonu mesajı bölmemeli")
+    void flattensLineBreaks() {
+        Message m = InvalidationMessages.decode(
+                InvalidationMessages.encode("n", List.of("checkin 1:2:Bahar\nŞenliği"), 8000).get(0));
+
+        assertEquals(List.of("checkin 1:2:Bahar Şenliği"), m.lines());
+    }
+
+    @Test
+    @DisplayName("Boş liste mesaj üretmemeli, tek başına sığmayan satır reddedilmeli")
+    void emptyAndOversize() {
+        assertTrue(InvalidationMessages.encode("n", List.of(), 100).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> InvalidationMessages.encode("n", List.of("x".repeat(200)), 100));
+    }
+}
@@ -0,0 +1,30 @@
+package com.etuni.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagBitsTest {
+
+    @Test
+    @DisplayName("Ortak etiket varsa kesişim bulunmalı")
+    void intersectsOnSharedTag() {
+        assertTrue(TagBits.intersects(TagBits.of(List.of(1, 70)), TagBits.of(List.of(70))));
+    }
+
+    @Test
+    @DisplayName("Farklı uzunluktaki kümelerde ortak etiket yoksa eşleşmemeli")
+    void noMatchAcrossLengths() {
+        assertFalse(TagBits.intersects(TagBits.of(List.of(3)), TagBits.of(List.of(4, 200))));
+    }
+
+    @Test
+    @DisplayName("Boş veya null küme hiçbir şeyle eşleşmemeli")
+    void emptyNeverMatches() {
+        assertFalse(TagBits.intersects(TagBits.of(List.of()), TagBits.of(List.of(0))));
+        assertFalse(TagBits.intersects(null, TagBits.of(List.of(0))));
+    }
+}
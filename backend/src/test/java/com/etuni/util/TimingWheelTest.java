@@ -0,0 +1,72 @@
+package com.etuni.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Zamanı gelmeden tetiklenmemeli, gelince bir kez tetiklenmeli")
+    void firesOnceAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 60, START);
+        wheel.schedule(START + 90 * MINUTE + 1, "reminder");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 90 * MINUTE, fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(START + 92 * MINUTE, fired::add);
+        assertEquals(List.of("reminder"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Üst seviyelerdeki kayıtlar doğru sırayla aşağı inmeli")
+    void cascadesFromHigherLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(MINUTE, 60, START);
+        // 1 saat, 1 gün ve 30 gün sonrası: üç farklı seviye
+        long[] offsets = { 30 * 24 * 60, 60, 24 * 60, 5 };
+        for (long minutes : offsets) {
+            wheel.schedule(START + minutes * MINUTE, minutes);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long t = START; t <= START + 31L * 24 * 60 * MINUTE; t += MINUTE) {
+            long now = t;
+            wheel.advance(now, minutes -> {
+                assertTrue(START + minutes * MINUTE <= now);
+                fired.add(minutes);
+            });
+        }
+        assertEquals(List.of(5L, 60L, 24L * 60, 30L * 24 * 60), fired);
+    }
+
+    @Test
+    @DisplayName("İptal edilen kayıt tetiklenmemeli")
+    void cancelledTimeoutIsDropped() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 60, START);
+        TimingWheel.Timeout<String> timeout = wheel.schedule(START + 3 * 60 * MINUTE, "cancelled");
+        wheel.schedule(START + 3 * 60 * MINUTE, "kept");
+        timeout.cancel();
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 4 * 60 * MINUTE, fired::add);
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    @DisplayName("Geçmiş zamanlı kayıt hemen tetiklenmek üzere geri verilmeli")
+    void pastDeadlineIsNotScheduled() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 60, START);
+        assertNull(wheel.schedule(START - MINUTE, "late"));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.etuni.util;
+
+import com.etuni.util.TrendingCounters.Entry;
+import com.etuni.util.TrendingCounters.Window;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingCountersTest {
+
+    private final AtomicReference<LocalDate> today = new AtomicReference<>(LocalDate.of(2026, 10, 19));
+    private final TrendingCounters counters = new TrendingCounters(today::get);
+
+    @Test
+    @DisplayName("Etkinlikler pencere içindeki check-in sayısına göre sıralanmalı")
+    void ranksByWindowCount() {
+        counters.add(1, 10L, "A", LocalDate.of(2026, 10, 19), 3);
+        counters.add(2, 10L, "B", LocalDate.of(2026, 10, 10), 5);
+        counters.add(3, 20L, "C", LocalDate.of(2026, 8, 1), 9);
+
+        assertEquals(List.of(new Entry(1, "A", 3)), counters.top(Window.WEEK, null, 10));
+        assertEquals(List.of(new Entry(2, "B", 5), new Entry(1, "A", 3)), counters.top(Window.MONTH, null, 10));
+        assertEquals(3, counters.top(Window.QUARTER, null, 10).get(0).eventId());
+        assertEquals(1, counters.top(Window.MONTH, null, 1).size());
+    }
+
+    @Test
+    @DisplayName("Üniversite sıralaması sadece o üniversitenin etkinliklerini içermeli")
+    void ranksPerUniversity() {
+        counters.add(1, 10L, "A", LocalDate.of(2026, 10, 19), 3);
+        counters.add(2, 20L, "B", LocalDate.of(2026, 10, 19), 5);
+
+        assertEquals(List.of(new Entry(1, "A", 3)), counters.top(Window.WEEK, 10L, 10));
+        assertTrue(counters.top(Window.WEEK, 30L, 10).isEmpty());
+
+        counters.update(1, 20L, "A2");
+        assertTrue(counters.top(Window.WEEK, 10L, 10).isEmpty());
+        assertEquals(List.of(new Entry(2, "B", 5), new Entry(1, "A2", 3)), counters.top(Window.WEEK, 20L, 10));
+    }
+
+    @Test
+    @DisplayName("Gün dönümünde pencereden çıkan günler düşülmeli")
+    void slidesWithTheDay() {
+        counters.add(1, 10L, "A", LocalDate.of(2026, 10, 13), 4);
+        assertEquals(4, counters.count(1, Window.WEEK));
+
+        today.set(LocalDate.of(2026, 10, 20));
+        assertEquals(0, counters.count(1, Window.WEEK));
+        assertEquals(4, counters.count(1, Window.MONTH));
+
+        today.set(LocalDate.of(2027, 1, 20));
+        assertEquals(0, counters.size());
+    }
+
+    @Test
+    @DisplayName("Silinen etkinlik sıralamadan çıkmalı")
+    void removeDropsEvent() {
+        counters.add(1, 10L, "A", LocalDate.of(2026, 10, 19), 1);
+        counters.remove(1);
+
+        assertTrue(counters.top(Window.QUARTER, null, 10).isEmpty());
+        assertTrue(counters.top(Window.QUARTER, 10L, 10).isEmpty());
+    }
+}
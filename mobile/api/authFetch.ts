@@ -42,7 +42,7 @@ export async function getToken() {
 export async function clearToken() {
   cachedToken = null;
   isInitialized = true; // Mark as initialized so it doesn't try to reload the deleted token
-  await AsyncStorage.multiRemove(["token", "universityId"]);
+  await AsyncStorage.multiRemove(["token", "universityId", "sync:events"]);
   debug("AUTH: Token cleared from memory and storage");
 }
 
@@ -105,3 +105,31 @@ export async function authFetch(path: string, options: RequestInit = {}) {
     throw error;
   }
 }
+
+// ETag cache for list endpoints: the server answers 304 without a body when
+// nothing changed, and the last body is reused.
+const conditionalCache = new Map<string, { etag: string; body: string }>();
+
+export async function conditionalFetch(path: string, authenticated = true) {
+  const cached = conditionalCache.get(path);
+  const options: RequestInit = {
+    method: "GET",
+    headers: cached ? { "If-None-Match": cached.etag } : {},
+  };
+  const res = authenticated
+    ? await authFetch(path, options)
+    : await fetch(API_URL + path, { ...options, headers: { ...BASE_HEADERS, ...(options.headers as any) } });
+
+  if (res.status === 304 && cached) {
+    debug("NOT MODIFIED:", path);
+    return new Response(cached.body, { status: 200, headers: { "Content-Type": "application/json" } });
+  }
+
+  const etag = res.headers.get("ETag");
+  if (res.ok && etag) {
+    const body = await res.text();
+    conditionalCache.set(path, { etag, body });
+    return new Response(body, { status: res.status, headers: { "Content-Type": "application/json" } });
+  }
+  return res;
+}
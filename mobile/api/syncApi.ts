@@ -0,0 +1,129 @@
+import AsyncStorage from "@react-native-async-storage/async-storage";
+import { authFetch } from "./authFetch";
+import { debug } from "../utils/logger";
+
+// Local copy of the user's university events, clubs and own attendances,
+// kept current with /api/sync/events. Only rows changed since the stored
+// cursor are downloaded; screens filter the copy instead of refetching lists.
+
+export type SyncedEvent = {
+  id: number;
+  universityId: number;
+  title: string;
+  description: string;
+  eventType: string;
+  eventDate: string;
+  startTime: string;
+  clubId?: number;
+  clubName?: string;
+  location?: string;
+  latitude?: number;
+  longitude?: number;
+  category?: string;
+  price?: number;
+  status: string;
+};
+
+export type SyncedClub = {
+  id: number;
+  universityId: number;
+  name: string;
+  description?: string;
+};
+
+export type SyncedAttendance = {
+  attendanceId: number;
+  eventId: number;
+  eventTitle: string;
+  eventType: string;
+  scannedAt: string;
+  verified: boolean;
+  status: string;
+  ticketCode: string;
+};
+
+export type SyncState = {
+  universityId: number | null;
+  cursor: number | null;
+  events: Record<number, SyncedEvent>;
+  clubs: Record<number, SyncedClub>;
+  attendances: Record<number, SyncedAttendance>;
+};
+
+// Also removed by clearToken on logout
+export const SYNC_STORAGE_KEY = "sync:events";
+// Guards against a server that keeps answering hasMore
+const MAX_PAGES = 20;
+
+let running: Promise<SyncState> | null = null;
+
+function emptyState(): SyncState {
+  return { universityId: null, cursor: null, events: {}, clubs: {}, attendances: {} };
+}
+
+async function load(): Promise<SyncState> {
+  const raw = await AsyncStorage.getItem(SYNC_STORAGE_KEY);
+  try {
+    return raw ? JSON.parse(raw) : emptyState();
+  } catch {
+    return emptyState();
+  }
+}
+
+function apply(s: SyncState, d: any): SyncState {
+  const next: SyncState = d.reset
+    ? { universityId: d.universityId, cursor: d.cursor, events: {}, clubs: {}, attendances: {} }
+    : { ...s, cursor: d.cursor, events: { ...s.events }, clubs: { ...s.clubs }, attendances: { ...s.attendances } };
+  for (const e of d.events || []) next.events[e.id] = e;
+  for (const id of d.deletedEventIds || []) delete next.events[id];
+  for (const c of d.clubs || []) next.clubs[c.id] = c;
+  for (const id of d.deletedClubIds || []) delete next.clubs[id];
+  for (const a of d.attendances || []) next.attendances[a.attendanceId] = a;
+  for (const id of d.deletedAttendanceIds || []) delete next.attendances[id];
+  return next;
+}
+
+async function run(): Promise<SyncState> {
+  let s = await load();
+  for (let page = 0; page < MAX_PAGES; page++) {
+    const path = s.cursor == null ? "/api/sync/events" : `/api/sync/events?since=${s.cursor}`;
+    const res = await authFetch(path, { method: "GET" });
+    if (!res.ok) {
+      debug("SYNC failed:", res.status);
+      break;
+    }
+    const d = (await res.json()).data;
+    if (!d.reset && d.universityId !== s.universityId) {
+      // University changed on another device; start over
+      s = emptyState();
+      continue;
+    }
+    s = apply(s, d);
+    if (!d.hasMore) break;
+  }
+  await AsyncStorage.setItem(SYNC_STORAGE_KEY, JSON.stringify(s));
+  return s;
+}
+
+// Concurrent callers share one request loop
+export function syncEvents(): Promise<SyncState> {
+  if (!running) {
+    running = run().finally(() => {
+      running = null;
+    });
+  }
+  return running;
+}
+
+// Last synced copy without a request, for a first render
+export function cachedSyncState(): Promise<SyncState> {
+  return load();
+}
+
+export function eventsOf(s: SyncState, status: string, search = ""): SyncedEvent[] {
+  const q = search.trim().toLowerCase();
+  return Object.values(s.events)
+    .filter(e => e.status === status)
+    .filter(e => !q || e.title.toLowerCase().includes(q) || (e.description || "").toLowerCase().includes(q))
+    .sort((a, b) => (a.eventDate < b.eventDate ? 1 : a.eventDate > b.eventDate ? -1 : 0));
+}
@@ -1,4 +1,4 @@
-import { API_URL } from './authFetch';
+import { conditionalFetch } from './authFetch';
 
 export interface University {
     id: number;
@@ -6,7 +6,7 @@ export interface University {
 }
 
 export const getUniversities = async (): Promise<University[]> => {
-    const res = await fetch(`${API_URL}/api/universities`);
+    const res = await conditionalFetch('/api/universities', false);
     if (!res.ok) throw new Error('Failed to fetch universities');
     const json = await res.json();
     return json.data || [];
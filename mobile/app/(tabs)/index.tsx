@@ -15,7 +15,8 @@ import {
 import { SafeAreaView } from "react-native-safe-area-context";
 import AsyncStorage from '@react-native-async-storage/async-storage';
 import { useRouter } from "expo-router";
-import { authFetch, API_URL } from "../../api/authFetch";
+import { authFetch, API_URL, conditionalFetch } from "../../api/authFetch";
+import { cachedSyncState, eventsOf, syncEvents } from "../../api/syncApi";
 import { debug } from "../../utils/logger";
 import { Ionicons } from '@expo/vector-icons';
 
@@ -61,22 +62,28 @@ export default function EventsScreen() {
   const [searchText, setSearchText] = useState("");
 
   const fetchEvents = async () => {
-    const uniId = await AsyncStorage.getItem("universityId") || "1";
     const status = showPastEvents ? "PASSIVE" : "ACTIVE";
 
-    // 1. Fetch main events
-    debug(`Fetching ${status} events for university:`, uniId);
-    let path = `/api/events/university/${uniId}?status=${status}`;
-    if (searchText) {
-      path += `&search=${encodeURIComponent(searchText)}`;
+    // 1. Main events from the synced local copy (only changes are downloaded);
+    // search filters it below
+    const cached = await cachedSyncState();
+    if (cached.universityId != null) {
+      setEvents(eventsOf(cached, status) as EventApi[]);
     }
-
-    const res = await authFetch(path, { method: "GET" });
-    if (res.ok) {
-      const json = JSON.parse(await res.text());
-      setEvents(json.data || []);
+    const synced = await syncEvents();
+    if (synced.universityId != null) {
+      setEvents(eventsOf(synced, status) as EventApi[]);
     } else {
-      debug("Failed to fetch events:", res.status);
+      // No university selected on the server yet
+      const uniId = await AsyncStorage.getItem("universityId") || "1";
+      debug(`Fetching ${status} events for university:`, uniId);
+      const res = await conditionalFetch(`/api/events/university/${uniId}?status=${status}`);
+      if (res.ok) {
+        const json = JSON.parse(await res.text());
+        setEvents(json.data || []);
+      } else {
+        debug("Failed to fetch events:", res.status);
+      }
     }
 
     // 2. Fetch recommendations (always based on active/latest)
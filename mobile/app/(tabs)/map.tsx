@@ -11,7 +11,7 @@ import {
     Platform
 } from "react-native";
 import { WebView } from 'react-native-webview';
-import { authFetch } from "../../api/authFetch";
+import { conditionalFetch } from "../../api/authFetch";
 import * as Location from "expo-location";
 import AsyncStorage from "@react-native-async-storage/async-storage";
 import { SafeAreaView } from "react-native-safe-area-context";
@@ -68,7 +68,7 @@ export default function MapScreen() {
     const loadEvents = async () => {
         try {
             const uniId = await AsyncStorage.getItem("universityId") || "1";
-            const res = await authFetch(`/api/events/university/${uniId}`, { method: "GET" });
+            const res = await conditionalFetch(`/api/events/university/${uniId}`);
             if (res.ok) {
                 const json = await res.json();
                 const allEvents = json.data || [];
@@ -10,7 +10,7 @@ import {
     View,
 } from "react-native";
 import { SafeAreaView } from "react-native-safe-area-context";
-import { authFetch, logoutFromServer } from "../../api/authFetch";
+import { authFetch, conditionalFetch, logoutFromServer } from "../../api/authFetch";
 import { debug } from "../../utils/logger";
 import { CommonActions } from "@react-navigation/native";
 
@@ -87,7 +87,7 @@ export default function ProfileScreen() {
     };
 
     const loadUniversities = async () => {
-        const res = await authFetch("/api/universities", { method: "GET" });
+        const res = await conditionalFetch("/api/universities");
         if (res.ok) {
             const data = await res.json();
             setUniversities(data.data || data || []);
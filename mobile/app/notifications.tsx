@@ -1,33 +1,83 @@
-import React, { useEffect, useState } from 'react';
-import { View, Text, StyleSheet, FlatList, ActivityIndicator, TouchableOpacity, RefreshControl } from 'react-native';
+import React, { useCallback, useEffect, useRef, useState } from 'react';
+import { View, Text, StyleSheet, FlatList, ActivityIndicator, TouchableOpacity, RefreshControl, ViewToken } from 'react-native';
 import { useRouter } from 'expo-router';
 import { Ionicons } from '@expo/vector-icons';
 import { authFetch } from '../api/authFetch';
 import { SafeAreaView } from 'react-native-safe-area-context';
 
+// Server accepts at most 100 ids per request
+const READ_BATCH = 100;
+const VIEWABILITY = { itemVisiblePercentThreshold: 60, minimumViewTime: 500 };
+
 export default function NotificationsScreen() {
     const router = useRouter();
     const [notifications, setNotifications] = useState([]);
     const [loading, setLoading] = useState(true);
     const [refreshing, setRefreshing] = useState(false);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [loadingMore, setLoadingMore] = useState(false);
 
-    const loadNotifications = async () => {
+    const loadNotifications = async (cursor: string | null = null) => {
         try {
-            const res = await authFetch('/api/notifications');
+            const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+            const res = await authFetch(`/api/notifications/inbox${query}`);
             if (res.status === 401) {
                 router.replace('/login');
                 return;
             }
             const json = await res.json();
             if (json.success) {
-                setNotifications(json.data);
+                setNotifications((prev: any) => (cursor ? [...prev, ...json.data.items] : json.data.items));
+                setNextCursor(json.data.nextCursor);
             }
         } catch (e) {
             console.error(e);
         } finally {
             setLoading(false);
             setRefreshing(false);
+            setLoadingMore(false);
+        }
+    };
+
+    // Only notifications that were actually on screen are marked read, in one request per burst
+    const pendingRead = useRef(new Set<number>());
+    const sentRead = useRef(new Set<number>());
+    const readTimer = useRef<ReturnType<typeof setTimeout> | null>(null);
+
+    const flushRead = () => {
+        readTimer.current = null;
+        const ids = Array.from(pendingRead.current);
+        pendingRead.current.clear();
+        for (let i = 0; i < ids.length; i += READ_BATCH) {
+            authFetch('/api/notifications/read', {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ ids: ids.slice(i, i + READ_BATCH) }),
+            }).catch(() => { });
+        }
+    };
+
+    const onViewableItemsChanged = useCallback(({ viewableItems }: { viewableItems: ViewToken[] }) => {
+        for (const v of viewableItems) {
+            if (v.item && !v.item.read && !sentRead.current.has(v.item.id)) {
+                sentRead.current.add(v.item.id);
+                pendingRead.current.add(v.item.id);
+            }
         }
+        if (pendingRead.current.size > 0 && !readTimer.current) {
+            readTimer.current = setTimeout(flushRead, 1000);
+        }
+    }, []);
+
+    useEffect(() => () => {
+        if (readTimer.current) clearTimeout(readTimer.current);
+        flushRead();
+    }, []);
+
+    const loadMore = () => {
+        if (!nextCursor || loadingMore) return;
+        setLoadingMore(true);
+        loadNotifications(nextCursor);
     };
 
     useEffect(() => {
@@ -76,6 +126,11 @@ export default function NotificationsScreen() {
                     renderItem={renderItem}
                     keyExtractor={(item: any) => item.id.toString()}
                     contentContainerStyle={styles.listContent}
+                    onEndReached={loadMore}
+                    onEndReachedThreshold={0.5}
+                    onViewableItemsChanged={onViewableItemsChanged}
+                    viewabilityConfig={VIEWABILITY}
+                    ListFooterComponent={loadingMore ? <ActivityIndicator color="#4f46e5" /> : null}
                     refreshControl={
                         <RefreshControl refreshing={refreshing} onRefresh={onRefresh} tintColor="#4f46e5" />
                     }
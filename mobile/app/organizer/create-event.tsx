@@ -15,7 +15,7 @@ import {
 import { WebView } from "react-native-webview";
 import { SafeAreaView } from "react-native-safe-area-context";
 import { useRouter } from "expo-router";
-import { authFetch } from "../../api/authFetch";
+import { authFetch, conditionalFetch } from "../../api/authFetch";
 import * as Location from "expo-location";
 import AsyncStorage from "@react-native-async-storage/async-storage";
 import { Ionicons } from "@expo/vector-icons";
@@ -58,7 +58,7 @@ export default function CreateEventScreen() {
         (async () => {
             try {
                 const uniId = await AsyncStorage.getItem("universityId") || "1";
-                const res = await authFetch(`/api/clubs/university/${uniId}`);
+                const res = await conditionalFetch(`/api/clubs/university/${uniId}`);
                 if (res.ok) {
                     const json = await res.json();
                     if (json.success && json.data) {